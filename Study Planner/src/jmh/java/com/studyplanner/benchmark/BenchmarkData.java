@@ -0,0 +1,78 @@
+package com.studyplanner.benchmark;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Jeux de données déterministes (graine fixe) et doublures sans Mockito :
+ * Mockito enregistre chaque invocation et fausserait le taux d'allocation mesuré.
+ */
+final class BenchmarkData {
+
+	static final long SEED = 42L;
+	static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+	private BenchmarkData() {
+	}
+
+	static User user() {
+		return User.builder().id(1L).username("bench").build();
+	}
+
+	static List<StudySession> sessions(int count) {
+		Random random = new Random(SEED);
+		User user = user();
+		List<Subject> subjects = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			subjects.add(Subject.builder().id((long) i).name("Matière " + i).user(user).build());
+		}
+		int days = Math.max(1, Math.min(count, 3 * 365));
+		List<StudySession> sessions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			sessions.add(StudySession.builder()
+					.id((long) i)
+					.user(user)
+					.subject(subjects.get(random.nextInt(subjects.size())))
+					.durationMinutes(15 + random.nextInt(166))
+					.date(END.minusDays(random.nextInt(days)))
+					.startHour(random.nextInt(24))
+					.startMinute(random.nextInt(60))
+					.build());
+		}
+		return sessions;
+	}
+
+	static List<DailyMinutes> dailyMinutes(int days, LocalDate end) {
+		Random random = new Random(SEED);
+		List<DailyMinutes> rows = new ArrayList<>(days);
+		for (int i = days - 1; i >= 0; i--) {
+			if (random.nextInt(10) < 8) {
+				rows.add(new DailyMinutes(end.minusDays(i), (long) random.nextInt(300)));
+			}
+		}
+		return rows;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> answer) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (method.getName()) {
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					default -> type.getSimpleName() + "Stub";
+				};
+			}
+			return answer.apply(method.getName(), args);
+		});
+	}
+}
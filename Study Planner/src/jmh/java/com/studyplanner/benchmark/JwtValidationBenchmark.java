@@ -0,0 +1,59 @@
+package com.studyplanner.benchmark;
+
+import com.studyplanner.security.JwtUtils;
+import com.studyplanner.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+	private JwtUtils jwtUtils;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtils = new JwtUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmark-secret");
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+		ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+		UserDetailsImpl principal = new UserDetailsImpl(1L, "bench", "bench@example.com", null,
+				List.of(new SimpleGrantedAuthority("USER")));
+		token = jwtUtils.generateJwtToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	// Ancien chemin de AuthTokenFilter : le jeton est analysé deux fois.
+	@Benchmark
+	public void validateThenGetUsername(Blackhole blackhole) {
+		blackhole.consume(jwtUtils.validateJwtToken(token));
+		blackhole.consume(jwtUtils.getUserNameFromJwtToken(token));
+	}
+
+	@Benchmark
+	public UserDetailsImpl parseOnceToPrincipal() {
+		Claims claims = jwtUtils.parseClaims(token);
+		return jwtUtils.toPrincipal(claims);
+	}
+}
@@ -0,0 +1,47 @@
+package com.studyplanner.benchmark;
+
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.utils.ProductivityAnalyzer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductivityAnalyzerBenchmark {
+
+	@Param({"10", "1000", "100000", "1000000"})
+	private int sessionCount;
+
+	private ProductivityAnalyzer analyzer;
+	private List<StudySession> sessions;
+
+	@Setup
+	public void setUp() {
+		// Registre composite vide : les métriques deviennent des no-op et seul l'analyseur est mesuré.
+		analyzer = new ProductivityAnalyzer(new CompositeMeterRegistry());
+		sessions = BenchmarkData.sessions(sessionCount);
+	}
+
+	@Benchmark
+	public ProductivityReport analyze() {
+		return analyzer.analyze(sessions);
+	}
+}
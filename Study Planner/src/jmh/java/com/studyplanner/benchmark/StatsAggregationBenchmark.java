@@ -0,0 +1,99 @@
+package com.studyplanner.benchmark;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.services.DailyTotalsService;
+import com.studyplanner.services.StatsService;
+import com.studyplanner.services.WeeklyTotalsService;
+import com.studyplanner.utils.ProductivityAnalyzer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrégations en mémoire de StatsService (remplissage des jours, regroupement par semaine)
+ * sur des lignes du rollup préchargées : la base n'intervient pas. weeklyTotals part d'un
+ * cache des semaines closes vide à chaque appel ; weeklyTotalsCached mesure le cas courant
+ * où elles viennent toutes du cache et seule la semaine en cours est recalculée.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsAggregationBenchmark {
+
+	@Param({"8", "52", "520"})
+	private int weeks;
+
+	private DailyTotalsService dailyTotalsService;
+	private StatsService statsService;
+	private User user;
+
+	/** StatsService dont le cache des semaines closes est recréé avant chaque appel. */
+	@State(Scope.Thread)
+	public static class ColdCache {
+
+		private StatsService statsService;
+
+		@Setup(Level.Invocation)
+		public void reset(StatsAggregationBenchmark benchmark) {
+			statsService = benchmark.newStatsService();
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		List<DailyMinutes> rows = BenchmarkData.dailyMinutes(weeks * 7, LocalDate.now());
+		dailyTotalsService = new DailyTotalsService(null, null, null, null) {
+			@Override
+			public List<DailyMinutes> minutesBetween(User user, LocalDate start, LocalDate end) {
+				return rows.stream()
+						.filter(row -> !row.date().isBefore(start) && !row.date().isAfter(end))
+						.toList();
+			}
+		};
+		statsService = newStatsService();
+		user = BenchmarkData.user();
+	}
+
+	// Registre propre à chaque instance : les jauges du cache ne s'accumulent pas d'un appel à l'autre.
+	private StatsService newStatsService() {
+		CompositeMeterRegistry meterRegistry = new CompositeMeterRegistry();
+		return new StatsService(BenchmarkData.stub(StudySessionRepository.class, (method, args) -> null),
+				dailyTotalsService, new WeeklyTotalsService(dailyTotalsService, 500_000, meterRegistry),
+				null, null, new ProductivityAnalyzer(meterRegistry), meterRegistry);
+	}
+
+	@Benchmark
+	public Map<String, Integer> weeklyTotals(ColdCache cold) {
+		return cold.statsService.getWeeklyTotals(user, weeks);
+	}
+
+	@Benchmark
+	public Map<String, Integer> weeklyTotalsCached() {
+		return statsService.getWeeklyTotals(user, weeks);
+	}
+
+	@Benchmark
+	public Map<String, Integer> dailyTotals() {
+		return statsService.getDailyTotals(user, weeks * 7);
+	}
+}
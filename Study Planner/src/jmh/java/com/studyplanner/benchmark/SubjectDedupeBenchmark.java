@@ -0,0 +1,70 @@
+package com.studyplanner.benchmark;
+
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SubjectRepository;
+import com.studyplanner.services.SubjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Déduplication de SubjectService.saveSubjects : la moitié des noms existe déjà
+ * (casse et espaces différents), le dépôt est une doublure qui renvoie l'entité reçue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubjectDedupeBenchmark {
+
+	@Param({"10", "100", "1000"})
+	private int nameCount;
+
+	private SubjectService subjectService;
+	private User user;
+	private List<String> names;
+
+	@Setup
+	public void setUp() {
+		user = BenchmarkData.user();
+		Random random = new Random(BenchmarkData.SEED);
+		List<Subject> existing = new ArrayList<>();
+		names = new ArrayList<>();
+		for (int i = 0; i < nameCount; i++) {
+			String name = "Matière " + i;
+			if (random.nextBoolean()) {
+				existing.add(Subject.builder().id((long) i).name(name).user(user).build());
+				names.add("  " + name.toUpperCase(Locale.ROOT) + " ");
+			} else {
+				names.add(name);
+			}
+		}
+		subjectService = new SubjectService(BenchmarkData.stub(SubjectRepository.class, (method, args) -> switch (method) {
+			case "findByUser" -> existing;
+			case "save" -> args[0];
+			default -> throw new UnsupportedOperationException(method);
+		}));
+	}
+
+	@Benchmark
+	public List<Subject> saveSubjects() {
+		return subjectService.saveSubjects(user, names);
+	}
+}
@@ -0,0 +1,54 @@
+package com.studyplanner.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String PRODUCTIVITY_REPORTS = "productivityReports";
+	public static final String USER_AUTH_STATES = "userAuthStates";
+
+	@Value("${app.cache.productivity-reports.max-size:10000}")
+	private long reportsMaxSize;
+
+	@Value("${app.cache.productivity-reports.ttl:10m}")
+	private Duration reportsTtl;
+
+	@Value("${app.cache.user-auth-states.max-size:10000}")
+	private long authStatesMaxSize;
+
+	@Value("${app.cache.user-auth-states.ttl:30s}")
+	private Duration authStatesTtl;
+
+	@Bean
+	public CacheManager cacheManager() {
+		SimpleCacheManager cacheManager = new SimpleCacheManager();
+		cacheManager.setCaches(List.of(
+				caffeineCache(PRODUCTIVITY_REPORTS, reportsMaxSize, reportsTtl),
+				caffeineCache(USER_AUTH_STATES, authStatesMaxSize, authStatesTtl)
+		));
+		return cacheManager;
+	}
+
+	// Les évictions sont différées après le commit pour ne jamais remettre en cache un état non validé.
+	private Cache caffeineCache(String name, long maxSize, Duration ttl) {
+		return new TransactionAwareCacheDecorator(new CaffeineCache(name, Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build()));
+	}
+}
@@ -0,0 +1,27 @@
+package com.studyplanner.controllers;
+
+import com.studyplanner.dto.PlatformAnalytics;
+import com.studyplanner.services.PlatformAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+	private final PlatformAnalyticsService platformAnalyticsService;
+
+	@GetMapping
+	public String analytics(Model model) {
+		PlatformAnalytics analytics = platformAnalyticsService.analytics();
+		model.addAttribute("analytics", analytics);
+		model.addAttribute("dayLabels", analytics.days().stream().map(day -> day.date().toString()).toList());
+		model.addAttribute("dayMinutes", analytics.days().stream().map(PlatformAnalytics.Day::minutesLogged).toList());
+		model.addAttribute("daySessions", analytics.days().stream().map(PlatformAnalytics.Day::sessionsCreated).toList());
+		return "admin";
+	}
+}
@@ -1,8 +1,6 @@
 package com.studyplanner.controllers;
 
-import com.studyplanner.services.StatsService;
-import com.studyplanner.services.StudySessionService;
-import com.studyplanner.services.SubjectService;
+import com.studyplanner.services.DashboardService;
 import com.studyplanner.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -11,7 +9,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 @Controller
 @RequestMapping("/dashboard")
@@ -19,23 +16,20 @@ import java.util.Map;
 public class DashboardController {
 
 	private final UserService userService;
-	private final SubjectService subjectService;
-	private final StudySessionService studySessionService;
-	private final StatsService statsService;
+	private final DashboardService dashboardService;
 
 	@GetMapping
 	public String dashboard(Model model) {
-		var user = userService.getCurrentUser();
-		model.addAttribute("subjectCount", subjectService.findForUser(user).size());
-		model.addAttribute("sessionCount", studySessionService.findForUser(user).size());
+		var view = dashboardService.loadDashboard(userService.getCurrentUser());
+		model.addAttribute("subjectCount", view.subjectCount());
+		model.addAttribute("sessionCount", view.sessionCount());
 		
-		Map<String, Integer> dailyStats = statsService.getDailyTotals(user, 7);
-		model.addAttribute("dailyStats", dailyStats);
-		model.addAttribute("dailyStatsKeys", new ArrayList<>(dailyStats.keySet()));
-		model.addAttribute("dailyStatsValues", new ArrayList<>(dailyStats.values()));
+		model.addAttribute("dailyStats", view.dailyStats());
+		model.addAttribute("dailyStatsKeys", new ArrayList<>(view.dailyStats().keySet()));
+		model.addAttribute("dailyStatsValues", new ArrayList<>(view.dailyStats().values()));
 		
-		model.addAttribute("aiReport", statsService.buildAiReport(user));
+		model.addAttribute("aiReport", view.aiReport());
+		model.addAttribute("unavailablePanels", view.unavailablePanels());
 		return "dashboard";
 	}
 }
-
@@ -1,6 +1,6 @@
 package com.studyplanner.controllers;
 
-import com.studyplanner.services.StatsService;
+import com.studyplanner.services.DashboardService;
 import com.studyplanner.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -9,32 +9,30 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 @Controller
 @RequestMapping("/stats")
 @RequiredArgsConstructor
 public class StatsController {
 
-	private final StatsService statsService;
+	private final DashboardService dashboardService;
 	private final UserService userService;
 
 	@GetMapping
 	public String stats(Model model) {
-		var user = userService.getCurrentUser();
+		var view = dashboardService.loadStatsPage(userService.getCurrentUser());
 		
-		Map<String, Integer> dailyStats = statsService.getDailyTotals(user, 7);
-		model.addAttribute("dailyStats", dailyStats);
-		model.addAttribute("dailyStatsKeys", new ArrayList<>(dailyStats.keySet()));
-		model.addAttribute("dailyStatsValues", new ArrayList<>(dailyStats.values()));
+		model.addAttribute("dailyStats", view.dailyStats());
+		model.addAttribute("dailyStatsKeys", new ArrayList<>(view.dailyStats().keySet()));
+		model.addAttribute("dailyStatsValues", new ArrayList<>(view.dailyStats().values()));
 		
-		Map<String, Integer> weeklyStats = statsService.getWeeklyTotals(user, 8);
-		model.addAttribute("weeklyStats", weeklyStats);
-		model.addAttribute("weeklyStatsKeys", new ArrayList<>(weeklyStats.keySet()));
-		model.addAttribute("weeklyStatsValues", new ArrayList<>(weeklyStats.values()));
+		model.addAttribute("weeklyStats", view.weeklyStats());
+		model.addAttribute("weeklyStatsKeys", new ArrayList<>(view.weeklyStats().keySet()));
+		model.addAttribute("weeklyStatsValues", new ArrayList<>(view.weeklyStats().values()));
 		
-		model.addAttribute("aiReport", statsService.buildAiReport(user));
+		model.addAttribute("aiReport", view.aiReport());
+		model.addAttribute("percentiles", view.percentiles());
+		model.addAttribute("unavailablePanels", view.unavailablePanels());
 		return "stats";
 	}
 }
-
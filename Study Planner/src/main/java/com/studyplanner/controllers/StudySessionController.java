@@ -1,6 +1,7 @@
 package com.studyplanner.controllers;
 
 import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.Subject;
 import com.studyplanner.models.User;
 import com.studyplanner.services.StudySessionService;
 import com.studyplanner.services.SubjectService;
@@ -33,16 +34,21 @@ public class StudySessionController {
 	private final UserService userService;
 
 	@GetMapping
-	public String listSessions(Model model) {
+	public String listSessions(@RequestParam(value = "cursor", required = false) String cursor, Model model) {
 		try {
 			var user = userService.getCurrentUser();
-			var sessions = studySessionService.findForUser(user);
-			model.addAttribute("sessions", sessions != null ? sessions : List.of());
+			var page = studySessionService.findPage(user, cursor, StudySessionService.DEFAULT_PAGE_SIZE);
+			model.addAttribute("sessions", page.items());
+			model.addAttribute("nextCursor", page.nextCursor());
+			model.addAttribute("firstPage", cursor == null || cursor.isBlank());
+			model.addAttribute("sessionCount", studySessionService.countForUser(user));
 			return "sessions";
 		} catch (Exception e) {
 			e.printStackTrace();
 			model.addAttribute("errorMessage", "Erreur lors du chargement des sessions : " + e.getMessage());
 			model.addAttribute("sessions", List.of());
+			model.addAttribute("firstPage", true);
+			model.addAttribute("sessionCount", 0);
 			return "sessions";
 		}
 	}
@@ -54,7 +60,7 @@ public class StudySessionController {
 		dto.setDate(LocalDate.now());
 		dto.setStartHour(9);
 		dto.setStartMinute(0);
-		populateSubjects(model, user, dto);
+		populateSubjects(model, subjectService.findForUser(user), dto);
 		return "add-session";
 	}
 
@@ -66,10 +72,10 @@ public class StudySessionController {
 			HttpServletRequest request,
 			@RequestParam(value = "stayOnPage", required = false) String stayOnPage) {
 		var user = userService.getCurrentUser();
-		ensureSubjectSelected(model, user, dto);
+		var subjects = ensureSubjectSelected(model, user, dto);
 		if (bindingResult.hasErrors()) {
 			// add subjects back for the form
-			populateSubjects(model, user, dto);
+			populateSubjects(model, subjects, dto);
 			// log submitted parameters to help debug why subjectId may be empty
 			var params = request.getParameterMap();
 			System.out.println("[DEBUG] createSession binding errors. Request parameters:");
@@ -78,7 +84,10 @@ public class StudySessionController {
 			return "add-session";
 		}
 		try {
-			var subject = subjectService.getOwnedSubject(user, dto.getSubjectId());
+			var subject = subjects.stream()
+					.filter(candidate -> candidate.getId().equals(dto.getSubjectId()))
+					.findFirst()
+					.orElseThrow(() -> new IllegalArgumentException("Matière introuvable"));
 			studySessionService.saveSession(user, subject, dto);
 			redirectAttributes.addFlashAttribute("successMessage", "Session enregistrée avec succès.");
 			if (stayOnPage != null) {
@@ -86,7 +95,7 @@ public class StudySessionController {
 			}
 			return "redirect:/sessions";
 		} catch (IllegalArgumentException e) {
-			populateSubjects(model, user, dto);
+			populateSubjects(model, subjects, dto);
 			model.addAttribute("errorMessage", e.getMessage());
 			return "add-session";
 		}
@@ -104,8 +113,7 @@ public class StudySessionController {
 		return "redirect:/sessions";
 	}
 
-	private void populateSubjects(Model model, User user, StudySessionDTO dto) {
-		var subjects = subjectService.findForUser(user);
+	private void populateSubjects(Model model, List<Subject> subjects, StudySessionDTO dto) {
 		if (!subjects.isEmpty() && dto.getSubjectId() == null) {
 			dto.setSubjectId(subjects.get(0).getId());
 		}
@@ -114,7 +122,7 @@ public class StudySessionController {
 		model.addAttribute("hasSubjects", !subjects.isEmpty());
 	}
 
-	private void ensureSubjectSelected(Model model, User user, StudySessionDTO dto) {
+	private List<Subject> ensureSubjectSelected(Model model, User user, StudySessionDTO dto) {
 		var subjects = subjectService.findForUser(user);
 		if (dto.getSubjectId() == null && !subjects.isEmpty()) {
 			dto.setSubjectId(subjects.get(0).getId());
@@ -124,6 +132,7 @@ public class StudySessionController {
 			model.addAttribute("hasSubjects", false);
 			throw new IllegalArgumentException("Veuillez créer une matière avant de planifier une session.");
 		}
+		return subjects;
 	}
 }
 
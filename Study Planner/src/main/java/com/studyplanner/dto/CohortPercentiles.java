@@ -0,0 +1,11 @@
+package com.studyplanner.dto;
+
+/**
+ * Position de l'utilisateur dans l'ensemble des étudiants : percentile = part (en %) des
+ * étudiants dont la valeur est strictement inférieure.
+ */
+public record CohortPercentiles(String week, Rank weeklyMinutes, Rank consistencyScore, Rank averageSessionMinutes) {
+
+	public record Rank(double value, double percentile, long cohortSize) {
+	}
+}
@@ -0,0 +1,10 @@
+package com.studyplanner.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+	public boolean hasMore() {
+		return nextCursor != null;
+	}
+}
@@ -0,0 +1,6 @@
+package com.studyplanner.dto;
+
+import java.time.LocalDate;
+
+public record DailyMinutes(LocalDate date, Long minutes) {
+}
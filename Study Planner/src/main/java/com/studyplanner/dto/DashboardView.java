@@ -0,0 +1,16 @@
+package com.studyplanner.dto;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Panneaux du tableau de bord. Un compteur vaut null lorsque son panneau
+ * n'a pas répondu à temps ; son nom figure alors dans unavailablePanels.
+ */
+public record DashboardView(
+		Long subjectCount,
+		Long sessionCount,
+		Map<String, Integer> dailyStats,
+		ProductivityReport aiReport,
+		Set<String> unavailablePanels) {
+}
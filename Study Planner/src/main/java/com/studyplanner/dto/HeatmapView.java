@@ -0,0 +1,12 @@
+package com.studyplanner.dto;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * Sessions par jour (lundi en premier) et par créneau : 24 colonnes par heure ou 96 par quart d'heure.
+ */
+public record HeatmapView(Long subjectId, int slotsPerHour, List<DayOfWeek> days, int[][] counts, int totalSessions) {
+
+	public static final List<DayOfWeek> DAYS = List.of(DayOfWeek.values());
+}
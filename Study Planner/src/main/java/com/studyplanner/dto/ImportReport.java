@@ -0,0 +1,9 @@
+package com.studyplanner.dto;
+
+import java.util.List;
+
+public record ImportReport(long totalRows, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+	public record RowError(long line, String message) {
+	}
+}
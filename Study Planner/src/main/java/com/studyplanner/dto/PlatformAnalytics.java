@@ -0,0 +1,20 @@
+package com.studyplanner.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Indicateurs d'administration ; les utilisateurs actifs sont des estimations (HyperLogLog,
+ * environ 1,6 % d'erreur). days va du plus ancien au jour courant.
+ */
+public record PlatformAnalytics(
+		long totalUsers,
+		long activeUsersToday,
+		long activeUsers7Days,
+		long activeUsers30Days,
+		double sessionsPerHourToday,
+		List<Day> days) {
+
+	public record Day(LocalDate date, long sessionsCreated, long minutesLogged, long usersRegistered, long activeUsers) {
+	}
+}
@@ -6,11 +6,13 @@ import lombok.Getter;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class ProductivityReport {
 	private int mostActiveHour;
 	private double consistencyScore;
 	private double productivityScore;
+	private int currentStreak;
+	private int longestStreak;
 	private List<String> suggestions;
 }
 
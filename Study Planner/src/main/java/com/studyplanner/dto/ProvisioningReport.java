@@ -0,0 +1,13 @@
+package com.studyplanner.dto;
+
+import java.util.List;
+
+public record ProvisioningReport(int totalRows, int created, int failed, List<RowResult> rows) {
+
+	public enum Status {
+		CREATED, INVALID, DUPLICATE, FAILED
+	}
+
+	public record RowResult(int row, String username, Status status, Long userId, String message) {
+	}
+}
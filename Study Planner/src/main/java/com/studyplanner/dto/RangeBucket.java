@@ -0,0 +1,40 @@
+package com.studyplanner.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+public enum RangeBucket {
+	DAY,
+	WEEK,
+	MONTH,
+	YEAR;
+
+	public static RangeBucket parse(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Granularité non supportée : " + value + " (day, week, month ou year)");
+		}
+	}
+
+	/** Premier jour du découpage contenant la date ; les semaines commencent le lundi (ISO). */
+	public LocalDate startOf(LocalDate date) {
+		return switch (this) {
+			case DAY -> date;
+			case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			case MONTH -> date.withDayOfMonth(1);
+			case YEAR -> date.withDayOfYear(1);
+		};
+	}
+
+	public LocalDate next(LocalDate bucketStart) {
+		return switch (this) {
+			case DAY -> bucketStart.plusDays(1);
+			case WEEK -> bucketStart.plusWeeks(1);
+			case MONTH -> bucketStart.plusMonths(1);
+			case YEAR -> bucketStart.plusYears(1);
+		};
+	}
+}
@@ -0,0 +1,14 @@
+package com.studyplanner.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Minutes d'étude sur [from, to], découpées selon la granularité demandée.
+ * Les découpages du bord sont tronqués à l'intervalle.
+ */
+public record RangeStats(LocalDate from, LocalDate to, RangeBucket bucket, long totalMinutes, List<Point> points) {
+
+	public record Point(LocalDate start, LocalDate end, long minutes) {
+	}
+}
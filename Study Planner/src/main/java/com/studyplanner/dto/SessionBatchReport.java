@@ -0,0 +1,16 @@
+package com.studyplanner.dto;
+
+import java.util.List;
+
+public record SessionBatchReport(int totalRows, int created, int duplicates, List<RowResult> rows) {
+
+	public enum Status {
+		CREATED, DUPLICATE
+	}
+
+	/**
+	 * Pour un doublon, session est la session déjà créée avec la même clé.
+	 */
+	public record RowResult(int row, String idempotencyKey, Status status, SessionView session) {
+	}
+}
@@ -0,0 +1,47 @@
+package com.studyplanner.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position opaque dans l'historique des sessions, triées par (date desc, id desc). Un id
+ * négatif désigne une session encore en attente d'écriture par son numéro de journal ;
+ * à date égale, ces sessions précèdent celles déjà en base.
+ */
+public record SessionCursor(LocalDate date, Long id) {
+
+	private static final String SEPARATOR = ":";
+
+	public static SessionCursor pending(LocalDate date, long sequence) {
+		return new SessionCursor(date, -sequence);
+	}
+
+	public boolean isPending() {
+		return id < 0;
+	}
+
+	public long pendingSequence() {
+		return -id;
+	}
+
+	public String encode() {
+		String raw = date + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static SessionCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			if (separator < 0) {
+				throw new IllegalArgumentException("Curseur de pagination invalide");
+			}
+			return new SessionCursor(LocalDate.parse(raw.substring(0, separator)),
+					Long.parseLong(raw.substring(separator + 1)));
+		} catch (DateTimeParseException | IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Curseur de pagination invalide", ex);
+		}
+	}
+}
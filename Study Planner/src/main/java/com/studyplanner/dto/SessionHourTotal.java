@@ -0,0 +1,6 @@
+package com.studyplanner.dto;
+
+import java.time.LocalDate;
+
+public record SessionHourTotal(Long userId, LocalDate date, Integer startHour, Long minutes, Long sessions) {
+}
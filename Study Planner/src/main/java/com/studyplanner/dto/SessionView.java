@@ -0,0 +1,26 @@
+package com.studyplanner.dto;
+
+import com.studyplanner.models.StudySession;
+
+import java.time.LocalDate;
+
+public record SessionView(
+		Long id,
+		LocalDate date,
+		Integer startHour,
+		Integer startMinute,
+		int durationMinutes,
+		Long subjectId,
+		String subjectName) {
+
+	public static SessionView from(StudySession session) {
+		return new SessionView(
+				session.getId(),
+				session.getDate(),
+				session.getStartHour(),
+				session.getStartMinute(),
+				session.getDurationMinutes(),
+				session.getSubject().getId(),
+				session.getSubject().getName());
+	}
+}
@@ -0,0 +1,12 @@
+package com.studyplanner.dto;
+
+import java.util.Map;
+import java.util.Set;
+
+public record StatsPageView(
+		Map<String, Integer> dailyStats,
+		Map<String, Integer> weeklyStats,
+		ProductivityReport aiReport,
+		CohortPercentiles percentiles,
+		Set<String> unavailablePanels) {
+}
@@ -0,0 +1,9 @@
+package com.studyplanner.dto;
+
+import java.time.LocalDate;
+
+/**
+ * currentStreak vaut 0 dès qu'un jour complet s'est écoulé sans session depuis lastActiveDay.
+ */
+public record StreakStats(int currentStreak, int longestStreak, LocalDate lastActiveDay) {
+}
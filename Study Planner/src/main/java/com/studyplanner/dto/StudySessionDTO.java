@@ -3,6 +3,7 @@ package com.studyplanner.dto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -27,5 +28,9 @@ public class StudySessionDTO {
 	@Min(0)
 	@Max(59)
 	private Integer startMinute;
+
+	// Générée par le client : un renvoi avec la même clé ne crée pas de seconde session.
+	@Size(max = 64)
+	private String idempotencyKey;
 }
 
@@ -0,0 +1,4 @@
+package com.studyplanner.dto;
+
+public record UserActivityTotals(Long userId, Long activeDays, Long minutes, Long squaredMinutes, Long sessions) {
+}
@@ -0,0 +1,4 @@
+package com.studyplanner.dto;
+
+public record UserIdentity(String username, String email) {
+}
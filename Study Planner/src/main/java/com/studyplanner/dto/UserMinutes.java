@@ -0,0 +1,4 @@
+package com.studyplanner.dto;
+
+public record UserMinutes(Long userId, Long minutes) {
+}
@@ -0,0 +1,66 @@
+package com.studyplanner.events;
+
+import com.studyplanner.models.StudySession;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sessions ajoutées ou supprimées pour un utilisateur, publiées dans la transaction
+ * d'écriture. Deux sortes d'abonnés :
+ * <ul>
+ *   <li>dans la transaction ({@code @EventListener}, propagation MANDATORY) : les tables
+ *   dérivées {@link com.studyplanner.services.ActivityHeatmapService} et
+ *   {@link com.studyplanner.services.StudyStreakService}, écrites et annulées avec la session ;</li>
+ *   <li>après validation ({@code @TransactionalEventListener}) : les caches et index en mémoire
+ *   {@link com.studyplanner.services.WeeklyTotalsService},
+ *   {@link com.studyplanner.services.StatsRangeService},
+ *   {@link com.studyplanner.services.CohortPercentileService} et
+ *   {@link com.studyplanner.services.PlatformAnalyticsService}, qui ne voient jamais une
+ *   écriture annulée.</li>
+ * </ul>
+ * Le cumul journalier (DailyTotalsService) n'est pas un abonné : il est mis à jour
+ * directement par l'écriture, dans la même transaction.
+ */
+public record SessionActivityEvent(Long userId, Type type, List<Activity> activities) {
+
+	public enum Type {
+		CREATED,
+		DELETED
+	}
+
+	public record Activity(LocalDate date, int durationMinutes, Integer startHour, Integer startMinute, Long subjectId) {
+
+		static Activity of(StudySession session) {
+			return new Activity(session.getDate(), session.getDurationMinutes(), session.getStartHour(),
+					session.getStartMinute(), session.getSubject().getId());
+		}
+	}
+
+	public static List<SessionActivityEvent> created(Collection<StudySession> sessions) {
+		Map<Long, List<Activity>> byUser = new LinkedHashMap<>();
+		for (StudySession session : sessions) {
+			byUser.computeIfAbsent(session.getUser().getId(), id -> new ArrayList<>())
+					.add(Activity.of(session));
+		}
+		return byUser.entrySet().stream()
+				.map(entry -> new SessionActivityEvent(entry.getKey(), Type.CREATED, List.copyOf(entry.getValue())))
+				.toList();
+	}
+
+	public static SessionActivityEvent deleted(StudySession session) {
+		return new SessionActivityEvent(session.getUser().getId(), Type.DELETED, List.of(Activity.of(session)));
+	}
+
+	public LocalDate firstDate() {
+		return activities.stream().map(Activity::date).min(LocalDate::compareTo).orElseThrow();
+	}
+
+	public LocalDate lastDate() {
+		return activities.stream().map(Activity::date).max(LocalDate::compareTo).orElseThrow();
+	}
+}
@@ -0,0 +1,48 @@
+package com.studyplanner.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_study_totals", uniqueConstraints = {
+		@UniqueConstraint(columnNames = {"user_id", "date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStudyTotal {
+
+	public static final int HOURS_PER_DAY = 24;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	@JsonIgnore
+	private User user;
+
+	@Column(nullable = false)
+	private LocalDate date;
+
+	@Column(nullable = false)
+	private int minutes;
+
+	@Column(nullable = false)
+	private int sessionCount;
+
+	@Convert(converter = HourCountsConverter.class)
+	@Column(nullable = false, length = 255)
+	@Builder.Default
+	private int[] hourCounts = new int[HOURS_PER_DAY];
+}
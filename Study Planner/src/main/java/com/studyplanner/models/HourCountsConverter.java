@@ -0,0 +1,33 @@
+package com.studyplanner.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.StringJoiner;
+
+@Converter
+public class HourCountsConverter implements AttributeConverter<int[], String> {
+
+	@Override
+	public String convertToDatabaseColumn(int[] counts) {
+		int[] values = counts == null ? new int[DailyStudyTotal.HOURS_PER_DAY] : counts;
+		StringJoiner joiner = new StringJoiner(",");
+		for (int value : values) {
+			joiner.add(Integer.toString(value));
+		}
+		return joiner.toString();
+	}
+
+	@Override
+	public int[] convertToEntityAttribute(String column) {
+		int[] counts = new int[DailyStudyTotal.HOURS_PER_DAY];
+		if (column == null || column.isBlank()) {
+			return counts;
+		}
+		String[] parts = column.split(",");
+		for (int i = 0; i < Math.min(parts.length, counts.length); i++) {
+			counts[i] = Integer.parseInt(parts[i].trim());
+		}
+		return counts;
+	}
+}
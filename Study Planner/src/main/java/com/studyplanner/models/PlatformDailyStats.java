@@ -0,0 +1,39 @@
+package com.studyplanner.models;
+
+import com.studyplanner.utils.HyperLogLog;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Point de sauvegarde quotidien des compteurs d'administration : les valeurs sont absolues
+ * pour la journée, toutes instances confondues, et activeUsers contient les registres
+ * HyperLogLog des utilisateurs actifs.
+ */
+@Entity
+@Table(name = "platform_daily_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlatformDailyStats {
+
+	@Id
+	private LocalDate date;
+
+	@Column(nullable = false)
+	private long sessionsCreated;
+
+	@Column(nullable = false)
+	private long minutesLogged;
+
+	@Column(nullable = false)
+	private long usersRegistered;
+
+	@Column(nullable = false, length = HyperLogLog.REGISTERS)
+	private byte[] activeUsers;
+}
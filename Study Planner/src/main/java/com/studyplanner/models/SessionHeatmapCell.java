@@ -0,0 +1,47 @@
+package com.studyplanner.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Compteur de sessions d'une case jour × quart d'heure pour un utilisateur et une matière.
+ * La table ne contient que les cases non vides : sa taille est bornée par
+ * 7 × 96 cases par matière, quelle que soit la longueur de l'historique.
+ */
+@Entity
+@Table(name = "session_heatmap_cells")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionHeatmapCell {
+
+	@EmbeddedId
+	private Key id;
+
+	@Column(nullable = false)
+	private int sessions;
+
+	@Embeddable
+	@Getter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+
+		@Column(name = "user_id", nullable = false)
+		private Long userId;
+
+		@Column(name = "subject_id", nullable = false)
+		private Long subjectId;
+
+		@Column(nullable = false)
+		private short cell;
+	}
+}
@@ -0,0 +1,27 @@
+package com.studyplanner.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Dernier enregistrement du journal d'écriture différée inséré en base, mis à jour dans la
+ * même transaction que les sessions : la relecture au démarrage saute tout ce qui est déjà écrit.
+ */
+@Entity
+@Table(name = "session_journal_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionJournalCheckpoint {
+
+	@Id
+	@Column(length = 64)
+	private String journalId;
+
+	@Column(nullable = false)
+	private long lastSequence;
+}
@@ -11,7 +11,12 @@ import lombok.Setter;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "study_sessions")
+@Table(name = "study_sessions", indexes = {
+		@Index(name = "idx_study_sessions_user_date_id", columnList = "user_id, date, id"),
+		@Index(name = "idx_study_sessions_subject", columnList = "subject_id"),
+		@Index(name = "idx_study_sessions_user_start_hour", columnList = "user_id, start_hour"),
+		@Index(name = StudySession.IDEMPOTENCY_KEY_INDEX, columnList = "user_id, idempotency_key", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +24,11 @@ import java.time.LocalDate;
 @Builder
 public class StudySession {
 
+	public static final String IDEMPOTENCY_KEY_INDEX = "uk_study_sessions_user_idempotency_key";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_sessions_seq")
+	@SequenceGenerator(name = "study_sessions_seq", sequenceName = "study_sessions_seq", allocationSize = 50)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -41,5 +49,8 @@ public class StudySession {
 	private Integer startHour;
 
 	private Integer startMinute;
+
+	@Column(length = 64)
+	private String idempotencyKey;
 }
 
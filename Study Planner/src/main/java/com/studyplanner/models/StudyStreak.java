@@ -0,0 +1,32 @@
+package com.studyplanner.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Série de jours d'étude consécutifs d'un utilisateur, tenue à jour à chaque écriture de session.
+ * currentStreak est la longueur de la série qui se termine au dernier jour actif.
+ */
+@Entity
+@Table(name = "study_streaks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyStreak {
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(nullable = false)
+	private int currentStreak;
+
+	@Column(nullable = false)
+	private int longestStreak;
+
+	private Long lastActiveEpochDay;
+}
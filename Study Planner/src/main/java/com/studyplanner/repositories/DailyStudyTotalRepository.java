@@ -0,0 +1,73 @@
+package com.studyplanner.repositories;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.UserActivityTotals;
+import com.studyplanner.dto.UserMinutes;
+import com.studyplanner.models.DailyStudyTotal;
+import com.studyplanner.models.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyStudyTotalRepository extends JpaRepository<DailyStudyTotal, Long> {
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	Optional<DailyStudyTotal> findByUserAndDate(User user, LocalDate date);
+
+	// Création ou cumul en une instruction : le verrou de findByUserAndDate ne couvre pas une ligne
+	// encore absente. La ligne reste verrouillée jusqu'à la fin de la transaction.
+	@Modifying
+	@Query(value = "insert into daily_study_totals (user_id, date, minutes, session_count, hour_counts) " +
+			"values (:userId, :date, :minutes, :sessions, :hourCounts) " +
+			"on duplicate key update minutes = minutes + :minutes, session_count = session_count + :sessions",
+			nativeQuery = true)
+	int upsert(@Param("userId") Long userId,
+			@Param("date") LocalDate date,
+			@Param("minutes") int minutes,
+			@Param("sessions") int sessions,
+			@Param("hourCounts") String hourCounts);
+
+	@Query(value = "select hour_counts from daily_study_totals where user_id = :userId and date = :date", nativeQuery = true)
+	String findHourCounts(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+	@Modifying
+	@Query(value = "update daily_study_totals set hour_counts = :hourCounts where user_id = :userId and date = :date",
+			nativeQuery = true)
+	int updateHourCounts(@Param("userId") Long userId,
+			@Param("date") LocalDate date,
+			@Param("hourCounts") String hourCounts);
+
+	@Query("select new com.studyplanner.dto.DailyMinutes(d.date, sum(d.minutes)) from DailyStudyTotal d " +
+			"where d.user = :user and d.date between :start and :end group by d.date order by d.date")
+	List<DailyMinutes> sumMinutesByDate(@Param("user") User user,
+			@Param("start") LocalDate start,
+			@Param("end") LocalDate end);
+
+	@Query("select new com.studyplanner.dto.DailyMinutes(d.date, sum(d.minutes)) from DailyStudyTotal d " +
+			"where d.user.id = :userId group by d.date order by d.date")
+	List<DailyMinutes> findMinutesByUserId(@Param("userId") Long userId);
+
+	@Query("select new com.studyplanner.dto.DailyMinutes(d.date, sum(d.minutes)) from DailyStudyTotal d " +
+			"where d.user.id = :userId and d.date between :start and :end group by d.date order by d.date")
+	List<DailyMinutes> findMinutesByUserIdBetween(@Param("userId") Long userId,
+			@Param("start") LocalDate start,
+			@Param("end") LocalDate end);
+
+	@Query("select max(d.date) from DailyStudyTotal d where d.user.id = :userId")
+	Optional<LocalDate> findLastDateByUserId(@Param("userId") Long userId);
+
+	@Query("select new com.studyplanner.dto.UserMinutes(d.user.id, sum(d.minutes)) from DailyStudyTotal d " +
+			"where d.date between :start and :end group by d.user.id")
+	List<UserMinutes> sumMinutesByUserBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+	// Une ligne par utilisateur : jours actifs, minutes, minutes au carré (écart type) et sessions.
+	@Query("select new com.studyplanner.dto.UserActivityTotals(d.user.id, count(d), sum(d.minutes), " +
+			"sum(cast(d.minutes as Long) * d.minutes), sum(d.sessionCount)) from DailyStudyTotal d group by d.user.id")
+	List<UserActivityTotals> findActivityTotalsByUser();
+}
@@ -0,0 +1,32 @@
+package com.studyplanner.repositories;
+
+import com.studyplanner.models.PlatformDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface PlatformDailyStatsRepository extends JpaRepository<PlatformDailyStats, LocalDate> {
+
+	List<PlatformDailyStats> findByDateGreaterThanEqual(LocalDate date);
+
+	// Ajoute les compteurs d'une instance à ceux des autres ; la ligne reste verrouillée jusqu'à la validation.
+	// Les registres HyperLogLog ne s'additionnent pas : ils ne sont écrits qu'à la création de la ligne.
+	@Modifying
+	@Query(value = "insert into platform_daily_stats (date, sessions_created, minutes_logged, users_registered, active_users) " +
+			"values (:date, :sessions, :minutes, :users, :activeUsers) on duplicate key update " +
+			"sessions_created = sessions_created + :sessions, minutes_logged = minutes_logged + :minutes, " +
+			"users_registered = users_registered + :users", nativeQuery = true)
+	int addCounters(@Param("date") LocalDate date, @Param("sessions") long sessions, @Param("minutes") long minutes,
+			@Param("users") long users, @Param("activeUsers") byte[] activeUsers);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s from PlatformDailyStats s where s.date = :date")
+	Optional<PlatformDailyStats> lockByDate(@Param("date") LocalDate date);
+}
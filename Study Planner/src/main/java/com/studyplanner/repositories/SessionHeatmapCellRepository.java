@@ -0,0 +1,36 @@
+package com.studyplanner.repositories;
+
+import com.studyplanner.models.SessionHeatmapCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SessionHeatmapCellRepository extends JpaRepository<SessionHeatmapCell, SessionHeatmapCell.Key> {
+
+	List<SessionHeatmapCell> findByIdUserId(Long userId);
+
+	List<SessionHeatmapCell> findByIdUserIdAndIdSubjectId(Long userId, Long subjectId);
+
+	// Création ou incrément en une instruction : deux premières sessions d'une même case
+	// ne se heurtent pas sur la clé primaire.
+	@Modifying
+	@Query(value = "insert into session_heatmap_cells (user_id, subject_id, cell, sessions) " +
+			"values (:userId, :subjectId, :cell, :delta) on duplicate key update sessions = sessions + :delta",
+			nativeQuery = true)
+	int upsert(@Param("userId") Long userId,
+			@Param("subjectId") Long subjectId,
+			@Param("cell") short cell,
+			@Param("delta") int delta);
+
+	// Décrément atomique côté base : aucun verrou applicatif ni lecture préalable.
+	@Modifying
+	@Query("update SessionHeatmapCell c set c.sessions = c.sessions + :delta where c.id = :id")
+	int increment(@Param("id") SessionHeatmapCell.Key id, @Param("delta") int delta);
+
+	@Modifying
+	@Query("delete from SessionHeatmapCell c where c.id = :id and c.sessions <= 0")
+	int deleteIfEmpty(@Param("id") SessionHeatmapCell.Key id);
+}
@@ -0,0 +1,7 @@
+package com.studyplanner.repositories;
+
+import com.studyplanner.models.SessionJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SessionJournalCheckpointRepository extends JpaRepository<SessionJournalCheckpoint, String> {
+}
@@ -1,17 +1,58 @@
 package com.studyplanner.repositories;
 
+import com.studyplanner.dto.SessionHourTotal;
+import com.studyplanner.dto.SessionView;
 import com.studyplanner.models.StudySession;
 import com.studyplanner.models.Subject;
 import com.studyplanner.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface StudySessionRepository extends JpaRepository<StudySession, Long> {
+	String EXPORT_FETCH_SIZE = "500";
+
 	List<StudySession> findByUser(User user);
 	List<StudySession> findByUserAndDate(User user, LocalDate date);
 	List<StudySession> findByUserAndDateBetween(User user, LocalDate start, LocalDate end);
 	List<StudySession> findBySubject(Subject subject);
-}
+	long countByUser(User user);
+
+	@Query("select new com.studyplanner.dto.SessionView(s.id, s.date, s.startHour, s.startMinute, s.durationMinutes, sub.id, sub.name) " +
+			"from StudySession s join s.subject sub where s.user = :user order by s.date desc, s.id desc")
+	List<SessionView> findLatest(@Param("user") User user, Limit limit);
+
+	@Query("select new com.studyplanner.dto.SessionView(s.id, s.date, s.startHour, s.startMinute, s.durationMinutes, sub.id, sub.name) " +
+			"from StudySession s join s.subject sub where s.user = :user " +
+			"and (s.date < :date or (s.date = :date and s.id < :id)) order by s.date desc, s.id desc")
+	List<SessionView> findOlderThan(@Param("user") User user,
+			@Param("date") LocalDate date,
+			@Param("id") Long id,
+			Limit limit);
 
+	@Query("select new com.studyplanner.dto.SessionView(s.id, s.date, s.startHour, s.startMinute, s.durationMinutes, sub.id, sub.name) " +
+			"from StudySession s join s.subject sub where s.id = :id and s.user = :user")
+	Optional<SessionView> findViewById(@Param("id") Long id, @Param("user") User user);
+
+	@Query("select s from StudySession s join fetch s.subject where s.user = :user and s.idempotencyKey in :keys")
+	List<StudySession> findByUserAndIdempotencyKeyIn(@Param("user") User user, @Param("keys") Collection<String> keys);
+
+	@Query("select new com.studyplanner.dto.SessionView(s.id, s.date, s.startHour, s.startMinute, s.durationMinutes, sub.id, sub.name) " +
+			"from StudySession s join s.subject sub where s.user = :user order by s.date, s.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	Stream<SessionView> streamViewsByUser(@Param("user") User user);
+
+	@Query("select new com.studyplanner.dto.SessionHourTotal(s.user.id, s.date, s.startHour, sum(s.durationMinutes), count(s)) " +
+			"from StudySession s group by s.user.id, s.date, s.startHour order by s.user.id, s.date")
+	Stream<SessionHourTotal> streamHourTotals();
+}
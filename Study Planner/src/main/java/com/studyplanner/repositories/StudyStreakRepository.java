@@ -0,0 +1,25 @@
+package com.studyplanner.repositories;
+
+import com.studyplanner.models.StudyStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StudyStreakRepository extends JpaRepository<StudyStreak, Long> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s from StudyStreak s where s.userId = :userId")
+	Optional<StudyStreak> lockByUserId(@Param("userId") Long userId);
+
+	// Ligne vide créée si absente, sans erreur si une transaction concurrente l'a déjà insérée.
+	// Contrairement à insert ignore, une violation de clé étrangère reste une erreur.
+	@Modifying
+	@Query(value = "insert into study_streaks (user_id, current_streak, longest_streak, last_active_epoch_day) " +
+			"values (:userId, 0, 0, null) on duplicate key update user_id = user_id", nativeQuery = true)
+	int insertIfAbsent(@Param("userId") Long userId);
+}
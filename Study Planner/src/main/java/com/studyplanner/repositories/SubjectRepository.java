@@ -4,9 +4,12 @@ import com.studyplanner.models.Subject;
 import com.studyplanner.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 	List<Subject> findByUser(User user);
+	long countByUser(User user);
+	List<Subject> findByUserAndIdIn(User user, Collection<Long> ids);
 }
 
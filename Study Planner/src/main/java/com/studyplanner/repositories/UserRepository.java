@@ -1,8 +1,13 @@
 package com.studyplanner.repositories;
 
+import com.studyplanner.dto.UserIdentity;
 import com.studyplanner.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,5 +15,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
 	boolean existsByUsername(String username);
 	boolean existsByEmail(String email);
+
+	@Query("select new com.studyplanner.dto.UserIdentity(u.username, u.email) from User u " +
+			"where u.username in :usernames or u.email in :emails")
+	List<UserIdentity> findIdentities(@Param("usernames") Collection<String> usernames,
+			@Param("emails") Collection<String> emails);
 }
 
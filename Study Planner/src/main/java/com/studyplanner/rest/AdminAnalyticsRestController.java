@@ -0,0 +1,21 @@
+package com.studyplanner.rest;
+
+import com.studyplanner.dto.PlatformAnalytics;
+import com.studyplanner.services.PlatformAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/api/analytics")
+@RequiredArgsConstructor
+public class AdminAnalyticsRestController {
+
+	private final PlatformAnalyticsService platformAnalyticsService;
+
+	@GetMapping
+	public PlatformAnalytics analytics() {
+		return platformAnalyticsService.analytics();
+	}
+}
@@ -0,0 +1,25 @@
+package com.studyplanner.rest;
+
+import com.studyplanner.dto.ProvisioningReport;
+import com.studyplanner.dto.SignupRequest;
+import com.studyplanner.services.UserProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/api/users")
+@RequiredArgsConstructor
+public class AdminUserRestController {
+
+	private final UserProvisioningService userProvisioningService;
+
+	@PostMapping("/bulk")
+	public ProvisioningReport provisionUsers(@RequestBody List<SignupRequest> requests) {
+		return userProvisioningService.provision(requests);
+	}
+}
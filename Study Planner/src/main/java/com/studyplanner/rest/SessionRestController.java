@@ -1,20 +1,34 @@
 package com.studyplanner.rest;
 
+import com.studyplanner.dto.CursorPage;
+import com.studyplanner.dto.ImportReport;
+import com.studyplanner.dto.SessionBatchReport;
+import com.studyplanner.dto.SessionView;
 import com.studyplanner.dto.StudySessionDTO;
-import com.studyplanner.models.StudySession;
+import com.studyplanner.services.SessionBatchService;
+import com.studyplanner.services.SessionExportService;
+import com.studyplanner.services.SessionImportService;
 import com.studyplanner.services.StudySessionService;
 import com.studyplanner.services.SubjectService;
 import com.studyplanner.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -23,24 +37,62 @@ import java.util.List;
 public class SessionRestController {
 
 	private final StudySessionService studySessionService;
+	private final SessionBatchService sessionBatchService;
+	private final SessionImportService sessionImportService;
+	private final SessionExportService sessionExportService;
 	private final SubjectService subjectService;
 	private final UserService userService;
 
 	@GetMapping
-	public List<StudySession> listSessions() {
-		return studySessionService.findForUser(userService.getCurrentUser());
+	public CursorPage<SessionView> listSessions(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return studySessionService.findPage(userService.getCurrentUser(), cursor, size);
 	}
 
 	@GetMapping("/{id}")
-	public StudySession getSession(@PathVariable Long id) {
-		return studySessionService.getOwnedSession(userService.getCurrentUser(), id);
+	public SessionView getSession(@PathVariable Long id) {
+		return studySessionService.getOwnedSessionView(userService.getCurrentUser(), id);
 	}
 
 	@PostMapping
-	public StudySession createSession(@Valid @RequestBody StudySessionDTO dto) {
+	public SessionView createSession(@Valid @RequestBody StudySessionDTO dto) {
 		var user = userService.getCurrentUser();
+		if (dto.getIdempotencyKey() != null) {
+			return sessionBatchService.createAll(user, List.of(dto)).rows().get(0).session();
+		}
 		var subject = subjectService.getOwnedSubject(user, dto.getSubjectId());
-		return studySessionService.saveSession(user, subject, dto);
+		return SessionView.from(studySessionService.saveSession(user, subject, dto));
+	}
+
+	@PostMapping("/batch")
+	public SessionBatchReport createSessions(@RequestBody List<StudySessionDTO> dtos) {
+		return sessionBatchService.createAll(userService.getCurrentUser(), dtos);
+	}
+
+	@PostMapping(value = "/import", consumes = "text/csv")
+	public ImportReport importCsv(HttpServletRequest request) throws IOException {
+		return sessionImportService.importCsv(userService.getCurrentUser(), request.getInputStream());
+	}
+
+	@PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ImportReport importNdjson(HttpServletRequest request) throws IOException {
+		return sessionImportService.importNdjson(userService.getCurrentUser(), request.getInputStream());
+	}
+
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportSessions(@RequestParam(defaultValue = "csv") String format) {
+		var user = userService.getCurrentUser();
+		return switch (format) {
+			case "csv" -> ResponseEntity.ok()
+					.contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sessions.csv\"")
+					.body(output -> sessionExportService.exportCsv(user, output));
+			case "ndjson" -> ResponseEntity.ok()
+					.contentType(MediaType.APPLICATION_NDJSON)
+					.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sessions.ndjson\"")
+					.body(output -> sessionExportService.exportNdjson(user, output));
+			default -> throw new IllegalArgumentException("Format d'export non supporté : " + format);
+		};
 	}
 
 	@DeleteMapping("/{id}")
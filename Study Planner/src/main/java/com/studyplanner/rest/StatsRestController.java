@@ -1,13 +1,27 @@
 package com.studyplanner.rest;
 
+import com.studyplanner.dto.CohortPercentiles;
+import com.studyplanner.dto.HeatmapView;
 import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.RangeBucket;
+import com.studyplanner.dto.RangeStats;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.services.ActivityHeatmapService;
+import com.studyplanner.services.CohortPercentileService;
+import com.studyplanner.services.StatsRangeService;
 import com.studyplanner.services.StatsService;
+import com.studyplanner.services.StudyStreakService;
 import com.studyplanner.services.UserService;
+import com.studyplanner.utils.ActivityHeatmap;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -15,7 +29,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class StatsRestController {
 
+	private static final int DEFAULT_RANGE_DAYS = 30;
+
 	private final StatsService statsService;
+	private final StatsRangeService statsRangeService;
+	private final ActivityHeatmapService activityHeatmapService;
+	private final StudyStreakService studyStreakService;
+	private final CohortPercentileService cohortPercentileService;
 	private final UserService userService;
 
 	@GetMapping("/daily")
@@ -28,9 +48,44 @@ public class StatsRestController {
 		return statsService.getWeeklyTotals(userService.getCurrentUser(), 8);
 	}
 
+	@GetMapping("/hourly")
+	public Map<Integer, Long> hourly() {
+		return statsService.getHourlyCounts(userService.getCurrentUser());
+	}
+
 	@GetMapping("/ai-report")
 	public ProductivityReport report() {
 		return statsService.buildAiReport(userService.getCurrentUser());
 	}
-}
 
+	@GetMapping("/streaks")
+	public StreakStats streaks() {
+		return studyStreakService.streaks(userService.getCurrentUser());
+	}
+
+	@GetMapping("/percentiles")
+	public CohortPercentiles percentiles() {
+		return cohortPercentileService.percentiles(userService.getCurrentUser());
+	}
+
+	@GetMapping("/range")
+	public RangeStats range(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(defaultValue = "day") String bucket) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1L);
+		return statsRangeService.range(userService.getCurrentUser(), start, end, RangeBucket.parse(bucket));
+	}
+
+	@GetMapping("/heatmap")
+	public HeatmapView heatmap(@RequestParam(required = false) Long subjectId,
+			@RequestParam(defaultValue = "hour") String resolution) {
+		int slotsPerHour = switch (resolution.toLowerCase(Locale.ROOT)) {
+			case "hour" -> 1;
+			case "quarter" -> ActivityHeatmap.QUARTERS_PER_HOUR;
+			default -> throw new IllegalArgumentException("Résolution inconnue : " + resolution + " (hour ou quarter)");
+		};
+		ActivityHeatmap heatmap = activityHeatmapService.heatmap(userService.getCurrentUser(), subjectId);
+		return new HeatmapView(subjectId, slotsPerHour, HeatmapView.DAYS, heatmap.grid(slotsPerHour), heatmap.total());
+	}
+}
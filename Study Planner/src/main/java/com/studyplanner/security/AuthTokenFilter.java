@@ -1,10 +1,13 @@
 package com.studyplanner.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,26 +16,45 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 public class AuthTokenFilter extends OncePerRequestFilter {
 
 	private final JwtUtils jwtUtils;
 	private final UserDetailsServiceImpl userDetailsService;
+	private final UserAuthStateService userAuthStateService;
+	private final MeterRegistry meterRegistry;
+	// Un timer par mode et par issue, créés une fois : le filtre s'exécute à chaque requête.
+	private final Map<String, Timer> statelessTimers;
+	private final Map<String, Timer> databaseTimers;
+
+	@Value("${app.jwt.stateless:false}")
+	private boolean stateless;
+
+	public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService,
+			UserAuthStateService userAuthStateService, MeterRegistry meterRegistry) {
+		this.jwtUtils = jwtUtils;
+		this.userDetailsService = userDetailsService;
+		this.userAuthStateService = userAuthStateService;
+		this.meterRegistry = meterRegistry;
+		this.statelessTimers = validationTimers(meterRegistry, "stateless");
+		this.databaseTimers = validationTimers(meterRegistry, "database");
+	}
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		try {
 			String jwt = parseJwt(request);
-			if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-				String username = jwtUtils.getUserNameFromJwtToken(jwt);
-				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
-				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+			if (jwt != null) {
+				UserDetails userDetails = authenticate(jwt);
+				if (userDetails != null) {
+					UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+							userDetails, null, userDetails.getAuthorities());
+					authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					SecurityContextHolder.getContext().setAuthentication(authentication);
+				}
 			}
 		} catch (Exception ex) {
 			SecurityContextHolder.clearContext();
@@ -40,6 +62,44 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	private UserDetails authenticate(String jwt) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "invalid";
+		try {
+			UserDetails userDetails = resolvePrincipal(jwtUtils.parseClaims(jwt));
+			outcome = userDetails != null ? "valid" : "rejected";
+			return userDetails;
+		} finally {
+			sample.stop((stateless ? statelessTimers : databaseTimers).get(outcome));
+		}
+	}
+
+	private static Map<String, Timer> validationTimers(MeterRegistry meterRegistry, String mode) {
+		return Map.of(
+				"valid", validationTimer(meterRegistry, mode, "valid"),
+				"rejected", validationTimer(meterRegistry, mode, "rejected"),
+				"invalid", validationTimer(meterRegistry, mode, "invalid"));
+	}
+
+	private static Timer validationTimer(MeterRegistry meterRegistry, String mode, String outcome) {
+		return Timer.builder("jwt.validation")
+				.description("Validation d'un jeton JWT et résolution du principal")
+				.tag("mode", mode)
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	private UserDetails resolvePrincipal(Claims claims) {
+		UserDetailsImpl principal = stateless ? jwtUtils.toPrincipal(claims) : null;
+		if (principal == null) {
+			return userDetailsService.loadUserByUsername(claims.getSubject());
+		}
+		// Les claims font foi, mais un compte supprimé ou modifié est rejeté dès l'expiration du cache.
+		UserAuthState state = userAuthStateService.getState(principal.getId());
+		return state != null && state.matches(principal) ? principal : null;
+	}
+
 	private String parseJwt(HttpServletRequest request) {
 		String authHeader = request.getHeader("Authorization");
 		if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -48,4 +108,3 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 		return null;
 	}
 }
-
@@ -0,0 +1,51 @@
+package com.studyplanner.security;
+
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Utilisateur authentifié de la requête en cours, résolu une seule fois.
+ * L'identifiant porté par {@link UserDetailsImpl} suffit à obtenir une référence
+ * JPA : aucune requête n'est émise tant qu'un attribut autre que l'id n'est pas lu.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUser {
+
+	private final UserRepository userRepository;
+
+	private User user;
+
+	public Long getId() {
+		return get().getId();
+	}
+
+	public User get() {
+		if (user == null) {
+			user = resolve();
+		}
+		return user;
+	}
+
+	private User resolve() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null ||
+				!authentication.isAuthenticated() ||
+				authentication instanceof AnonymousAuthenticationToken) {
+			throw new UsernameNotFoundException("Utilisateur non authentifié");
+		}
+		if (authentication.getPrincipal() instanceof UserDetailsImpl principal && principal.getId() != null) {
+			return userRepository.getReferenceById(principal.getId());
+		}
+		return userRepository.findByUsername(authentication.getName())
+				.orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
+	}
+}
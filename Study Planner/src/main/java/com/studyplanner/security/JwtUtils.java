@@ -1,69 +1,101 @@
 package com.studyplanner.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
 
+	public static final String CLAIM_USER_ID = "uid";
+	public static final String CLAIM_ROLES = "roles";
+
 	@Value("${app.jwt.secret}")
 	private String jwtSecret;
 
 	@Value("${app.jwt.expiration}")
 	private long jwtExpirationMs;
 
+	private Key signingKey;
+	private JwtParser parser;
+
+	// La clé et le parseur sont immuables et thread-safe : ils sont construits une seule fois.
+	@PostConstruct
+	void init() {
+		signingKey = Keys.hmacShaKeyFor(hashSecret(jwtSecret));
+		parser = Jwts.parserBuilder()
+				.setSigningKey(signingKey)
+				.build();
+	}
+
 	public String generateJwtToken(Authentication authentication) {
 		UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 		return Jwts.builder()
 				.setSubject(userPrincipal.getUsername())
+				.claim(CLAIM_USER_ID, userPrincipal.getId())
+				.claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+						.map(GrantedAuthority::getAuthority)
+						.toList())
 				.setIssuedAt(new Date())
 				.setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-				.signWith(key(), SignatureAlgorithm.HS256)
+				.signWith(signingKey, SignatureAlgorithm.HS256)
 				.compact();
 	}
 
 	public String getUserNameFromJwtToken(String token) {
-		return getAllClaims(token).getSubject();
+		return parseClaims(token).getSubject();
 	}
 
 	public boolean validateJwtToken(String authToken) {
 		try {
-			getAllClaims(authToken);
+			parseClaims(authToken);
 			return true;
 		} catch (Exception ex) {
 			return false;
 		}
 	}
 
-	private Claims getAllClaims(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(key())
-				.build()
-				.parseClaimsJws(token)
-				.getBody();
+	public Claims parseClaims(String token) {
+		return parser.parseClaimsJws(token).getBody();
 	}
 
-	private Key key() {
-		return Keys.hmacShaKeyFor(hashSecret(jwtSecret));
+	/**
+	 * Reconstruit le principal à partir des claims, sans accès à la base.
+	 * Retourne null pour les jetons émis avant l'ajout des claims uid/roles.
+	 */
+	public UserDetailsImpl toPrincipal(Claims claims) {
+		Long userId = claims.get(CLAIM_USER_ID, Long.class);
+		List<?> roles = claims.get(CLAIM_ROLES, List.class);
+		if (userId == null || roles == null) {
+			return null;
+		}
+		List<GrantedAuthority> authorities = roles.stream()
+				.map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+				.toList();
+		return new UserDetailsImpl(userId, claims.getSubject(), null, null, authorities);
 	}
 
 	private byte[] hashSecret(String secret) {
 		try {
 			MessageDigest digest = MessageDigest.getInstance("SHA-256");
-			return digest.digest(secret.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+			return digest.digest(secret.getBytes(StandardCharsets.UTF_8));
 		} catch (NoSuchAlgorithmException e) {
 			throw new IllegalStateException("Impossible de générer la clé JWT", e);
 		}
 	}
 }
-
@@ -0,0 +1,76 @@
+package com.studyplanner.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compte les échecs de connexion par nom d'utilisateur et par adresse IP sur une
+ * fenêtre fixe. Au-delà du seuil, la tentative est refusée avant tout calcul BCrypt.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+	private static final long MAX_TRACKED_KEYS = 100_000;
+
+	private final int maxFailuresPerUsername;
+	private final int maxFailuresPerIp;
+	private final Duration window;
+	private final Cache<String, AtomicInteger> usernameFailures;
+	private final Cache<String, AtomicInteger> ipFailures;
+	private final Counter throttledCounter;
+
+	public LoginAttemptThrottle(@Value("${app.security.login-throttle.max-failures-per-username:5}") int maxFailuresPerUsername,
+			@Value("${app.security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+			@Value("${app.security.login-throttle.window:5m}") Duration window,
+			MeterRegistry registry) {
+		this.maxFailuresPerUsername = maxFailuresPerUsername;
+		this.maxFailuresPerIp = maxFailuresPerIp;
+		this.window = window;
+		// La fenêtre part du premier échec : les compteurs sont modifiés sur place, sans réécriture.
+		this.usernameFailures = Caffeine.newBuilder().maximumSize(MAX_TRACKED_KEYS).expireAfterWrite(window).build();
+		this.ipFailures = Caffeine.newBuilder().maximumSize(MAX_TRACKED_KEYS).expireAfterWrite(window).build();
+		this.throttledCounter = Counter.builder("login.throttled")
+				.description("Tentatives de connexion refusées par la limitation")
+				.register(registry);
+	}
+
+	public void checkAllowed(String username, String ip) {
+		if (exceeded(usernameFailures, normalize(username), maxFailuresPerUsername)
+				|| exceeded(ipFailures, ip, maxFailuresPerIp)) {
+			throttledCounter.increment();
+			throw new LoginOverloadException("Trop de tentatives de connexion, veuillez réessayer plus tard.",
+					window.toSeconds());
+		}
+	}
+
+	public void recordFailure(String username, String ip) {
+		usernameFailures.get(normalize(username), key -> new AtomicInteger()).incrementAndGet();
+		if (ip != null) {
+			ipFailures.get(ip, key -> new AtomicInteger()).incrementAndGet();
+		}
+	}
+
+	public void recordSuccess(String username) {
+		usernameFailures.invalidate(normalize(username));
+	}
+
+	private static boolean exceeded(Cache<String, AtomicInteger> failures, String key, int max) {
+		if (key == null) {
+			return false;
+		}
+		AtomicInteger count = failures.getIfPresent(key);
+		return count != null && count.get() >= max;
+	}
+
+	private static String normalize(String username) {
+		return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+	}
+}
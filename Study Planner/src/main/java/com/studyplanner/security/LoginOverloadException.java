@@ -0,0 +1,20 @@
+package com.studyplanner.security;
+
+import lombok.Getter;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Tentative de connexion refusée sans calcul BCrypt : pool de hachage saturé
+ * ou trop d'échecs récents pour ce nom d'utilisateur ou cette adresse IP.
+ * Traduite en réponse HTTP 429.
+ */
+@Getter
+public class LoginOverloadException extends InternalAuthenticationServiceException {
+
+	private final long retryAfterSeconds;
+
+	public LoginOverloadException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+}
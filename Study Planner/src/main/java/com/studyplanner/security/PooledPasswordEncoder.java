@@ -0,0 +1,160 @@
+package com.studyplanner.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exécute les hachages BCrypt sur un pool borné plutôt que sur les threads Tomcat.
+ * Le thread appelant attend le résultat, mais la file bornée limite le nombre de
+ * requêtes immobilisées : au-delà, la tentative est refusée immédiatement (429)
+ * et le reste du trafic garde ses threads et son CPU.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private static final long RETRY_AFTER_SECONDS = 1;
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Timer encodeQueueTimer;
+	private final Timer matchesQueueTimer;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejectedCounter;
+
+	public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+		this.delegate = delegate;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.encodeQueueTimer = queueTimer(registry, "encode");
+		this.matchesQueueTimer = queueTimer(registry, "matches");
+		this.encodeTimer = hashTimer(registry, "encode");
+		this.matchesTimer = hashTimer(registry, "matches");
+		this.rejectedCounter = Counter.builder("password.hash.rejected")
+				.description("Hachages refusés car le pool était saturé")
+				.register(registry);
+		registry.gauge("password.hash.queue.size", executor.getQueue(), queue -> queue.size());
+		registry.gauge("password.hash.active", executor, ThreadPoolExecutor::getActiveCount);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(encodeQueueTimer, encodeTimer, () -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(matchesQueueTimer, matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Hache une liste de mots de passe en parallèle sur le pool. Le lot garde au plus
+	 * un calcul en cours par thread du pool, pour ne pas évincer les connexions de la
+	 * file ; si la file est tout de même pleine, le thread appelant calcule lui-même.
+	 */
+	public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+		Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+		List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+		try {
+			for (CharSequence rawPassword : rawPasswords) {
+				inFlight.acquire();
+				long enqueuedAt = System.nanoTime();
+				try {
+					futures.add(executor.submit(() -> {
+						try {
+							encodeQueueTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+							return encodeTimer.recordCallable(() -> delegate.encode(rawPassword));
+						} finally {
+							inFlight.release();
+						}
+					}));
+				} catch (RejectedExecutionException ex) {
+					inFlight.release();
+					futures.add(CompletableFuture.completedFuture(encodeTimer.record(() -> delegate.encode(rawPassword))));
+				}
+			}
+			List<String> hashes = new ArrayList<>(futures.size());
+			for (Future<String> future : futures) {
+				hashes.add(future.get());
+			}
+			return hashes;
+		} catch (InterruptedException ex) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hachage des mots de passe interrompu", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Échec du hachage des mots de passe", ex.getCause());
+		}
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T submit(Timer queueTimer, Timer hashTimer, Callable<T> hash) {
+		long enqueuedAt = System.nanoTime();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				queueTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+				return hashTimer.recordCallable(hash);
+			});
+		} catch (RejectedExecutionException ex) {
+			rejectedCounter.increment();
+			throw new LoginOverloadException("Trop de connexions simultanées, veuillez réessayer.", RETRY_AFTER_SECONDS);
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hachage du mot de passe interrompu", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Échec du hachage du mot de passe", ex.getCause());
+		}
+	}
+
+	private static Timer queueTimer(MeterRegistry registry, String operation) {
+		return Timer.builder("password.hash.queue")
+				.description("Temps d'attente dans la file du pool de hachage")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	private static Timer hashTimer(MeterRegistry registry, String operation) {
+		return Timer.builder("password.hash.duration")
+				.description("Durée d'un calcul BCrypt")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,47 @@
+package com.studyplanner.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ThrottledAuthenticationProvider extends DaoAuthenticationProvider {
+
+	private final LoginAttemptThrottle throttle;
+
+	public ThrottledAuthenticationProvider(UserDetailsService userDetailsService, LoginAttemptThrottle throttle) {
+		super(userDetailsService);
+		this.throttle = throttle;
+	}
+
+	@Override
+	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		String username = authentication.getName();
+		String ip = clientIp(authentication);
+		throttle.checkAllowed(username, ip);
+		try {
+			Authentication result = super.authenticate(authentication);
+			throttle.recordSuccess(username);
+			return result;
+		} catch (BadCredentialsException ex) {
+			throttle.recordFailure(username, ip);
+			throw ex;
+		}
+	}
+
+	private static String clientIp(Authentication authentication) {
+		if (authentication.getDetails() instanceof WebAuthenticationDetails details) {
+			return details.getRemoteAddress();
+		}
+		if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+			HttpServletRequest request = attributes.getRequest();
+			return request.getRemoteAddr();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,16 @@
+package com.studyplanner.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record UserAuthState(String username, Set<String> roles) {
+
+	public boolean matches(UserDetailsImpl principal) {
+		return username.equals(principal.getUsername())
+				&& roles.equals(principal.getAuthorities().stream()
+						.map(GrantedAuthority::getAuthority)
+						.collect(Collectors.toSet()));
+	}
+}
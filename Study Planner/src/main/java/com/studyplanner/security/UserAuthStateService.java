@@ -0,0 +1,30 @@
+package com.studyplanner.security;
+
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.models.Role;
+import com.studyplanner.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class UserAuthStateService {
+
+	private final UserRepository userRepository;
+
+	// Une entrée nulle est mise en cache aussi : un compte supprimé n'est pas relu à chaque requête.
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.USER_AUTH_STATES, key = "#userId")
+	public UserAuthState getState(Long userId) {
+		return userRepository.findById(userId)
+				.map(user -> new UserAuthState(user.getUsername(), user.getRoles().stream()
+						.map(Role::getName)
+						.map(Enum::name)
+						.collect(Collectors.toUnmodifiableSet())))
+				.orElse(null);
+	}
+}
@@ -4,6 +4,7 @@ import com.studyplanner.models.User;
 import com.studyplanner.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
 	private final UserRepository userRepository;
 
@@ -22,5 +23,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 				.orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
 		return UserDetailsImpl.build(user);
 	}
-}
 
+	// Appelé après une connexion réussie quand le coût BCrypt configuré a augmenté.
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		User user = userRepository.findByUsername(userDetails.getUsername())
+				.orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
+		user.setPassword(newPassword);
+		return UserDetailsImpl.build(userRepository.save(user));
+	}
+}
@@ -1,8 +1,12 @@
 package com.studyplanner.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,7 +17,11 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -23,13 +31,16 @@ public class WebSecurityConfig {
 
 	private final UserDetailsServiceImpl userDetailsService;
 	private final AuthTokenFilter authTokenFilter;
+	private final LoginAttemptThrottle loginAttemptThrottle;
 
 	@Bean
-	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider,
+			@Value("${management.server.port:-1}") int managementPort) throws Exception {
 		http
 				.csrf(csrf -> csrf
 						.ignoringRequestMatchers("/api/**")
 						.ignoringRequestMatchers("/api/auth/**")
+						.ignoringRequestMatchers("/admin/api/**")
 				)
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
 				.authorizeHttpRequests(auth -> auth
@@ -42,8 +53,13 @@ public class WebSecurityConfig {
 								"/js/**",
 								"/images/**",
 								"/swagger-ui/**",
-								"/v3/api-docs/**").permitAll()
-						.requestMatchers("/admin/**").hasAuthority("ADMIN")
+								"/v3/api-docs/**",
+								"/actuator/health").permitAll()
+						// Les métriques ne sont ouvertes que sur le port de management, non publié hors du réseau interne.
+						.requestMatchers(new AndRequestMatcher(
+								PathPatternRequestMatcher.withDefaults().matcher("/actuator/prometheus"),
+								request -> request.getLocalPort() == managementPort)).permitAll()
+						.requestMatchers("/actuator/**", "/admin/**").hasAuthority("ADMIN")
 						.requestMatchers("/dashboard", "/subjects/**", "/sessions/**", "/stats/**").hasAnyAuthority("USER", "ADMIN")
 						.requestMatchers("/api/**").authenticated()
 						.anyRequest().authenticated()
@@ -52,7 +68,7 @@ public class WebSecurityConfig {
 						.loginPage("/login")
 						.loginProcessingUrl("/login")
 						.defaultSuccessUrl("/dashboard", true)
-						.failureUrl("/login?error=true")
+						.failureHandler(loginFailureHandler())
 						.usernameParameter("username")
 						.passwordParameter("password")
 						.permitAll())
@@ -62,27 +78,44 @@ public class WebSecurityConfig {
 						.invalidateHttpSession(true)
 						.deleteCookies("JSESSIONID")
 						.permitAll())
-				.authenticationProvider(authenticationProvider());
+				.authenticationProvider(authenticationProvider);
 
 		http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
 		return http.build();
 	}
 
 	@Bean
-	public DaoAuthenticationProvider authenticationProvider() {
-		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-		provider.setPasswordEncoder(passwordEncoder());
+	public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
+		DaoAuthenticationProvider provider = new ThrottledAuthenticationProvider(userDetailsService, loginAttemptThrottle);
+		provider.setPasswordEncoder(passwordEncoder);
+		provider.setUserDetailsPasswordService(userDetailsService);
 		return provider;
 	}
 
+	private AuthenticationFailureHandler loginFailureHandler() {
+		SimpleUrlAuthenticationFailureHandler defaultHandler = new SimpleUrlAuthenticationFailureHandler("/login?error=true");
+		return (request, response, exception) -> {
+			if (exception instanceof LoginOverloadException overload) {
+				response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(overload.getRetryAfterSeconds()));
+				response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), overload.getMessage());
+				return;
+			}
+			defaultHandler.onAuthenticationFailure(request, response, exception);
+		};
+	}
+
 	@Bean
 	public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
 		return authConfig.getAuthenticationManager();
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PooledPasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+			@Value("${app.security.password-hashing.threads:0}") int threads,
+			@Value("${app.security.password-hashing.queue-capacity:100}") int queueCapacity,
+			MeterRegistry meterRegistry) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		return new PooledPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
 	}
 }
 
@@ -4,15 +4,19 @@ import com.studyplanner.dto.JwtResponse;
 import com.studyplanner.dto.LoginRequest;
 import com.studyplanner.dto.SignupRequest;
 import com.studyplanner.security.JwtUtils;
+import com.studyplanner.security.LoginOverloadException;
 import com.studyplanner.security.UserDetailsImpl;
 import com.studyplanner.services.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -44,6 +48,13 @@ public class AuthController {
 		return ResponseEntity.ok(new JwtResponse(jwt, userDetails.getUsername(), roles));
 	}
 
+	@ExceptionHandler(LoginOverloadException.class)
+	public ResponseEntity<String> handleLoginOverload(LoginOverloadException ex) {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+				.body(ex.getMessage());
+	}
+
 	@PostMapping("/register")
 	public ResponseEntity<String> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
 		userService.registerUser(signupRequest, false);
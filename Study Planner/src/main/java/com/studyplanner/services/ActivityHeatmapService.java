@@ -0,0 +1,66 @@
+package com.studyplanner.services;
+
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.SessionHeatmapCell;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SessionHeatmapCellRepository;
+import com.studyplanner.utils.ActivityHeatmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Histogramme jour × quart d'heure par utilisateur et par matière, tenu à jour dans la
+ * transaction d'écriture des sessions. La lecture parcourt au plus 672 cases par matière.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityHeatmapService {
+
+	// Ordre fixe des mises à jour : deux transactions concurrentes verrouillent les cases dans le même ordre.
+	private static final Comparator<SessionHeatmapCell.Key> KEY_ORDER =
+			Comparator.comparing(SessionHeatmapCell.Key::getSubjectId).thenComparing(SessionHeatmapCell.Key::getCell);
+
+	private final SessionHeatmapCellRepository sessionHeatmapCellRepository;
+
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onSessionActivity(SessionActivityEvent event) {
+		int sign = event.type() == SessionActivityEvent.Type.CREATED ? 1 : -1;
+		Map<SessionHeatmapCell.Key, Integer> deltas = new TreeMap<>(KEY_ORDER);
+		for (SessionActivityEvent.Activity activity : event.activities()) {
+			int cell = ActivityHeatmap.cell(activity.date(), activity.startHour(), activity.startMinute());
+			if (cell >= 0) {
+				deltas.merge(new SessionHeatmapCell.Key(event.userId(), activity.subjectId(), (short) cell), sign, Integer::sum);
+			}
+		}
+		deltas.forEach(this::apply);
+	}
+
+	private void apply(SessionHeatmapCell.Key key, int delta) {
+		if (delta > 0) {
+			sessionHeatmapCellRepository.upsert(key.getUserId(), key.getSubjectId(), key.getCell(), delta);
+		} else if (delta < 0 && sessionHeatmapCellRepository.increment(key, delta) > 0) {
+			sessionHeatmapCellRepository.deleteIfEmpty(key);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public ActivityHeatmap heatmap(User user, Long subjectId) {
+		List<SessionHeatmapCell> cells = subjectId == null
+				? sessionHeatmapCellRepository.findByIdUserId(user.getId())
+				: sessionHeatmapCellRepository.findByIdUserIdAndIdSubjectId(user.getId(), subjectId);
+		ActivityHeatmap heatmap = new ActivityHeatmap();
+		for (SessionHeatmapCell cell : cells) {
+			heatmap.add(cell.getId().getCell(), cell.getSessions());
+		}
+		return heatmap;
+	}
+}
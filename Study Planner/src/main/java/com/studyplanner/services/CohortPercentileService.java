@@ -0,0 +1,254 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.CohortPercentiles;
+import com.studyplanner.dto.UserActivityTotals;
+import com.studyplanner.dto.UserMinutes;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.utils.ProductivityAnalyzer;
+import com.studyplanner.utils.RankHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rang de chaque étudiant parmi tous les étudiants ayant au moins une session : minutes de la
+ * semaine ISO en cours, score de régularité et durée moyenne des sessions. Les distributions
+ * sont des histogrammes en mémoire sur des domaines bornés, mis à jour après chaque écriture
+ * validée et reconstruits au démarrage puis périodiquement depuis daily_study_totals, ce qui
+ * corrige aussi la régularité, recalculée seulement à la reconstruction. Les écritures validées
+ * pendant une reconstruction sont rejouées sur la nouvelle cohorte.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CohortPercentileService {
+
+	static final int MAX_WEEKLY_MINUTES = 7 * 24 * 60;
+	static final int MAX_SESSION_MINUTES = 24 * 60;
+	// Score de régularité /10 au dixième près.
+	static final int CONSISTENCY_STEPS = 100;
+
+	private final DailyStudyTotalRepository dailyStudyTotalRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final Object lock = new Object();
+	private final Object rebuildLock = new Object();
+	// null tant que la première construction n'a pas eu lieu.
+	private Cohort cohort;
+	// Non null pendant une reconstruction : événements à rejouer sur la nouvelle cohorte.
+	private List<SessionActivityEvent> replay;
+
+	public CohortPercentiles percentiles(User user) {
+		return percentiles(user, LocalDate.now());
+	}
+
+	CohortPercentiles percentiles(User user, LocalDate today) {
+		if (snapshot() == null) {
+			rebuild(today);
+		}
+		synchronized (lock) {
+			cohort.rollTo(monday(today));
+			Member member = cohort.members.get(user.getId());
+			int weekly = member == null ? 0 : member.weekMinutes;
+			int average = member == null ? 0 : member.averageSessionMinutes();
+			// Régularité de la dernière reconstruction ; un nouvel étudiant est classé à la suivante.
+			int consistency = member == null ? 0 : Math.max(0, member.consistency);
+			return new CohortPercentiles(
+					WeeklyTotalsService.label(WeeklyTotalsService.isoWeekKey(cohort.week)),
+					rank(weekly, weekly, cohort.weeklyMinutes),
+					rank(consistency * 10.0 / CONSISTENCY_STEPS, consistency, cohort.consistency),
+					rank(average, average, cohort.sessionMinutes));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSessionActivity(SessionActivityEvent event) {
+		onSessionActivity(event, LocalDate.now());
+	}
+
+	void onSessionActivity(SessionActivityEvent event, LocalDate today) {
+		synchronized (lock) {
+			if (replay != null) {
+				replay.add(event);
+			}
+			// Avant la première construction, la lecture en base inclura cette écriture.
+			if (cohort != null) {
+				cohort.rollTo(monday(today));
+				cohort.apply(event);
+			}
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		rebuild(LocalDate.now());
+	}
+
+	@Scheduled(cron = "${app.stats.cohort.rebuild-cron:0 0 * * * *}")
+	public void scheduledRebuild() {
+		rebuild(LocalDate.now());
+	}
+
+	public void rebuild(LocalDate today) {
+		synchronized (rebuildLock) {
+			LocalDate week = monday(today);
+			synchronized (lock) {
+				replay = new ArrayList<>();
+			}
+			Cohort rebuilt;
+			try {
+				// Un seul instantané pour les deux lectures : une écriture validée après son début
+				// n'y figure pas et sera rejouée.
+				TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+				transactionTemplate.setReadOnly(true);
+				transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+				rebuilt = transactionTemplate.execute(status -> Cohort.of(week,
+						dailyStudyTotalRepository.findActivityTotalsByUser(),
+						dailyStudyTotalRepository.sumMinutesByUserBetween(week, week.plusDays(6))));
+			} catch (RuntimeException ex) {
+				synchronized (lock) {
+					replay = null;
+				}
+				throw ex;
+			}
+			int replayed;
+			synchronized (lock) {
+				replay.forEach(rebuilt::apply);
+				replayed = replay.size();
+				replay = null;
+				cohort = rebuilt;
+			}
+			log.info("Percentiles de cohorte reconstruits : {} étudiant(s), {} écriture(s) rejouée(s)",
+					rebuilt.members.size(), replayed);
+		}
+	}
+
+	private Cohort snapshot() {
+		synchronized (lock) {
+			return cohort;
+		}
+	}
+
+	private static CohortPercentiles.Rank rank(double value, int bucket, RankHistogram histogram) {
+		return new CohortPercentiles.Rank(value, Math.round(histogram.percentileOf(bucket) * 10) / 10.0, histogram.total());
+	}
+
+	static int consistencyStep(double score) {
+		return (int) Math.round(score * CONSISTENCY_STEPS / 10);
+	}
+
+	private static LocalDate monday(LocalDate date) {
+		return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+	}
+
+	private static final class Member {
+		private int weekMinutes;
+		private long minutes;
+		private long sessions;
+		private int consistency = -1;
+
+		private int averageSessionMinutes() {
+			return sessions == 0 ? 0 : (int) Math.round((double) minutes / sessions);
+		}
+	}
+
+	private static final class Cohort {
+		private final Map<Long, Member> members = new HashMap<>();
+		private final RankHistogram sessionMinutes = new RankHistogram(MAX_SESSION_MINUTES);
+		private final RankHistogram consistency = new RankHistogram(CONSISTENCY_STEPS);
+		private RankHistogram weeklyMinutes = new RankHistogram(MAX_WEEKLY_MINUTES);
+		private LocalDate week;
+
+		private Cohort(LocalDate week) {
+			this.week = week;
+		}
+
+		private static Cohort of(LocalDate week, List<UserActivityTotals> totals, List<UserMinutes> weekly) {
+			Cohort cohort = new Cohort(week);
+			for (UserActivityTotals row : totals) {
+				Member member = new Member();
+				member.minutes = row.minutes();
+				member.sessions = row.sessions();
+				// Écart type de population depuis les sommes, comme ProductivityAccumulator sur les jours actifs.
+				double mean = (double) row.minutes() / row.activeDays();
+				double variance = Math.max(0, (double) row.squaredMinutes() / row.activeDays() - mean * mean);
+				member.consistency = consistencyStep(ProductivityAnalyzer.consistencyScore(mean, Math.sqrt(variance)));
+				cohort.members.put(row.userId(), member);
+			}
+			for (UserMinutes row : weekly) {
+				Member member = cohort.members.get(row.userId());
+				if (member != null) {
+					member.weekMinutes = row.minutes().intValue();
+				}
+			}
+			cohort.members.values().forEach(member -> {
+				cohort.list(member);
+				cohort.consistency.add(member.consistency);
+			});
+			return cohort;
+		}
+
+		// Nouvelle semaine : tout le monde repart de zéro minute.
+		private void rollTo(LocalDate monday) {
+			if (monday.equals(week)) {
+				return;
+			}
+			week = monday;
+			weeklyMinutes = new RankHistogram(MAX_WEEKLY_MINUTES);
+			members.values().forEach(member -> member.weekMinutes = 0);
+			weeklyMinutes.add(0, members.size());
+		}
+
+		private void apply(SessionActivityEvent event) {
+			Member member = members.get(event.userId());
+			if (member == null) {
+				member = new Member();
+			} else {
+				unlist(member);
+			}
+			int sign = event.type() == SessionActivityEvent.Type.CREATED ? 1 : -1;
+			LocalDate weekEnd = week.plusDays(6);
+			for (SessionActivityEvent.Activity activity : event.activities()) {
+				member.minutes += sign * activity.durationMinutes();
+				member.sessions += sign;
+				if (!activity.date().isBefore(week) && !activity.date().isAfter(weekEnd)) {
+					member.weekMinutes = Math.max(0, member.weekMinutes + sign * activity.durationMinutes());
+				}
+			}
+			if (member.sessions <= 0) {
+				if (members.remove(event.userId()) != null && member.consistency >= 0) {
+					consistency.remove(member.consistency);
+				}
+				return;
+			}
+			members.put(event.userId(), member);
+			list(member);
+		}
+
+		private void list(Member member) {
+			weeklyMinutes.add(member.weekMinutes);
+			sessionMinutes.add(member.averageSessionMinutes());
+		}
+
+		private void unlist(Member member) {
+			weeklyMinutes.remove(member.weekMinutes);
+			sessionMinutes.remove(member.averageSessionMinutes());
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.studyplanner.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstruit la table daily_study_totals à partir de study_sessions
+ * lorsque l'application est lancée avec l'option --rebuild-daily-totals.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyTotalsRebuildRunner implements ApplicationRunner {
+
+	static final String REBUILD_OPTION = "rebuild-daily-totals";
+
+	private final DailyTotalsService dailyTotalsService;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (args.containsOption(REBUILD_OPTION)) {
+			dailyTotalsService.rebuild();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.SessionHourTotal;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.DailyStudyTotal;
+import com.studyplanner.models.HourCountsConverter;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.repositories.StudySessionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyTotalsService {
+
+	private static final int REBUILD_FLUSH_SIZE = 500;
+	private static final HourCountsConverter HOUR_COUNTS = new HourCountsConverter();
+	// Ordre fixe des upserts : deux lots concurrents verrouillent les journées dans le même ordre.
+	private static final Comparator<DayKey> DAY_ORDER = Comparator.comparing(DayKey::userId).thenComparing(DayKey::date);
+
+	private final DailyStudyTotalRepository dailyStudyTotalRepository;
+	private final StudySessionRepository studySessionRepository;
+	private final EntityManager entityManager;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public List<DailyMinutes> minutesBetween(User user, LocalDate start, LocalDate end) {
+		return dailyStudyTotalRepository.sumMinutesByDate(user, start, end);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordSession(StudySession session) {
+		recordSessions(List.of(session));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordSessions(Collection<StudySession> sessions) {
+		Map<DayKey, DailyStudyTotal> increments = new TreeMap<>(DAY_ORDER);
+		for (StudySession session : sessions) {
+			DailyStudyTotal increment = increments.computeIfAbsent(
+					new DayKey(session.getUser().getId(), session.getDate()),
+					key -> DailyStudyTotal.builder().user(session.getUser()).date(session.getDate()).build());
+			increment.setMinutes(increment.getMinutes() + session.getDurationMinutes());
+			increment.setSessionCount(increment.getSessionCount() + 1);
+			if (isValidHour(session.getStartHour())) {
+				increment.getHourCounts()[session.getStartHour()]++;
+			}
+		}
+		increments.values().forEach(this::apply);
+		SessionActivityEvent.created(sessions).forEach(eventPublisher::publishEvent);
+	}
+
+	private void apply(DailyStudyTotal increment) {
+		Long userId = increment.getUser().getId();
+		dailyStudyTotalRepository.upsert(userId, increment.getDate(), increment.getMinutes(),
+				increment.getSessionCount(), HOUR_COUNTS.convertToDatabaseColumn(new int[DailyStudyTotal.HOURS_PER_DAY]));
+		if (Arrays.stream(increment.getHourCounts()).allMatch(count -> count == 0)) {
+			return;
+		}
+		// La ligne est verrouillée par l'upsert : lecture et réécriture des heures sans concurrence.
+		int[] counts = HOUR_COUNTS.convertToEntityAttribute(dailyStudyTotalRepository.findHourCounts(userId, increment.getDate()));
+		for (int hour = 0; hour < DailyStudyTotal.HOURS_PER_DAY; hour++) {
+			counts[hour] += increment.getHourCounts()[hour];
+		}
+		dailyStudyTotalRepository.updateHourCounts(userId, increment.getDate(), HOUR_COUNTS.convertToDatabaseColumn(counts));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void removeSession(StudySession session) {
+		dailyStudyTotalRepository.findByUserAndDate(session.getUser(), session.getDate()).ifPresent(total -> {
+			if (total.getSessionCount() <= 1) {
+				dailyStudyTotalRepository.delete(total);
+				return;
+			}
+			total.setMinutes(Math.max(0, total.getMinutes() - session.getDurationMinutes()));
+			total.setSessionCount(total.getSessionCount() - 1);
+			if (isValidHour(session.getStartHour())) {
+				int[] counts = total.getHourCounts();
+				counts[session.getStartHour()] = Math.max(0, counts[session.getStartHour()] - 1);
+			}
+			dailyStudyTotalRepository.save(total);
+		});
+		eventPublisher.publishEvent(SessionActivityEvent.deleted(session));
+	}
+
+	@Transactional
+	public long rebuild() {
+		dailyStudyTotalRepository.deleteAllInBatch();
+		long written = 0;
+		try (Stream<SessionHourTotal> rows = studySessionRepository.streamHourTotals()) {
+			DailyStudyTotal current = null;
+			Iterator<SessionHourTotal> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				SessionHourTotal row = iterator.next();
+				if (current == null
+						|| !Objects.equals(current.getUser().getId(), row.userId())
+						|| !current.getDate().equals(row.date())) {
+					if (current != null) {
+						written = persist(current, written);
+					}
+					current = DailyStudyTotal.builder()
+							.user(entityManager.getReference(User.class, row.userId()))
+							.date(row.date())
+							.build();
+				}
+				current.setMinutes(current.getMinutes() + row.minutes().intValue());
+				current.setSessionCount(current.getSessionCount() + row.sessions().intValue());
+				if (isValidHour(row.startHour())) {
+					current.getHourCounts()[row.startHour()] += row.sessions().intValue();
+				}
+			}
+			if (current != null) {
+				written = persist(current, written);
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+		log.info("Rollup daily_study_totals reconstruit : {} ligne(s)", written);
+		return written;
+	}
+
+	private long persist(DailyStudyTotal total, long written) {
+		entityManager.persist(total);
+		long count = written + 1;
+		if (count % REBUILD_FLUSH_SIZE == 0) {
+			entityManager.flush();
+			entityManager.clear();
+		}
+		return count;
+	}
+
+	private record DayKey(Long userId, LocalDate date) {
+	}
+
+	private boolean isValidHour(Integer hour) {
+		return hour != null && hour >= 0 && hour < DailyStudyTotal.HOURS_PER_DAY;
+	}
+}
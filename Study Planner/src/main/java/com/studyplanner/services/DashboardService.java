@@ -0,0 +1,197 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.CohortPercentiles;
+import com.studyplanner.dto.DashboardView;
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.StatsPageView;
+import com.studyplanner.models.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Charge en parallèle les panneaux indépendants du tableau de bord et de la page de
+ * statistiques : la page attend le panneau le plus lent et non la somme des panneaux.
+ * L'utilisateur est résolu par l'appelant, sur le thread de la requête, avant la
+ * répartition. Un panneau en échec ou hors délai est remplacé par une valeur de repli ;
+ * celui hors délai est en outre annulé. Quand app.dashboard.max-concurrency panneaux sont
+ * déjà en cours, les suivants sont remplacés aussitôt : l'appelant n'attend jamais une place.
+ */
+@Slf4j
+@Service
+public class DashboardService implements DisposableBean {
+
+	static final String SUBJECTS = "subjects";
+	static final String SESSIONS = "sessions";
+	static final String DAILY = "daily";
+	static final String WEEKLY = "weekly";
+	static final String REPORT = "report";
+	static final String PERCENTILES = "percentiles";
+
+	private static final int DASHBOARD_DAYS = 7;
+	private static final int STATS_WEEKS = 8;
+
+	private final SubjectService subjectService;
+	private final StudySessionService studySessionService;
+	private final StatsService statsService;
+	private final CohortPercentileService cohortPercentileService;
+	private final Duration panelTimeout;
+	private final AsyncTaskExecutor rawExecutor;
+	private final AsyncTaskExecutor executor;
+	private final Semaphore permits;
+	private final MeterRegistry registry;
+
+	public DashboardService(SubjectService subjectService,
+			StudySessionService studySessionService,
+			StatsService statsService,
+			CohortPercentileService cohortPercentileService,
+			@Value("${app.dashboard.max-concurrency:32}") int maxConcurrency,
+			@Value("${app.dashboard.panel-timeout:2s}") Duration panelTimeout,
+			MeterRegistry registry) {
+		this.subjectService = subjectService;
+		this.studySessionService = studySessionService;
+		this.statsService = statsService;
+		this.cohortPercentileService = cohortPercentileService;
+		this.panelTimeout = panelTimeout;
+		this.rawExecutor = createExecutor(maxConcurrency);
+		this.executor = new DelegatingSecurityContextAsyncTaskExecutor(rawExecutor);
+		this.permits = new Semaphore(maxConcurrency);
+		this.registry = registry;
+	}
+
+	public DashboardView loadDashboard(User user) {
+		Set<String> unavailable = ConcurrentHashMap.newKeySet();
+		CompletableFuture<Long> subjects = panel(SUBJECTS, () -> subjectService.countForUser(user), null, unavailable);
+		CompletableFuture<Long> sessions = panel(SESSIONS, () -> studySessionService.countForUser(user), null, unavailable);
+		CompletableFuture<Map<String, Integer>> daily = panel(DAILY,
+				() -> statsService.getDailyTotals(user, DASHBOARD_DAYS), Map.of(), unavailable);
+		CompletableFuture<ProductivityReport> report = panel(REPORT,
+				() -> statsService.buildAiReport(user), unavailableReport(), unavailable);
+		CompletableFuture.allOf(subjects, sessions, daily, report).join();
+		return new DashboardView(subjects.join(), sessions.join(), daily.join(), report.join(),
+				new TreeSet<>(unavailable));
+	}
+
+	public StatsPageView loadStatsPage(User user) {
+		Set<String> unavailable = ConcurrentHashMap.newKeySet();
+		CompletableFuture<Map<String, Integer>> daily = panel(DAILY,
+				() -> statsService.getDailyTotals(user, DASHBOARD_DAYS), Map.of(), unavailable);
+		CompletableFuture<Map<String, Integer>> weekly = panel(WEEKLY,
+				() -> statsService.getWeeklyTotals(user, STATS_WEEKS), Map.of(), unavailable);
+		CompletableFuture<ProductivityReport> report = panel(REPORT,
+				() -> statsService.buildAiReport(user), unavailableReport(), unavailable);
+		CompletableFuture<CohortPercentiles> percentiles = panel(PERCENTILES,
+				() -> cohortPercentileService.percentiles(user), null, unavailable);
+		CompletableFuture.allOf(daily, weekly, report, percentiles).join();
+		return new StatsPageView(daily.join(), weekly.join(), report.join(), percentiles.join(),
+				new TreeSet<>(unavailable));
+	}
+
+	private <T> CompletableFuture<T> panel(String name, Supplier<T> loader, T fallback, Set<String> unavailable) {
+		// Sans place libre, le panneau est remplacé tout de suite : attendre ici précéderait le délai du panneau.
+		if (!permits.tryAcquire()) {
+			log.warn("Panneau {} ignoré : limite de concurrence atteinte", name);
+			degraded(name, "saturated", unavailable);
+			return CompletableFuture.completedFuture(fallback);
+		}
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Future<?> task;
+		try {
+			task = executor.submit(() -> {
+				try {
+					result.complete(loader.get());
+				} catch (Throwable ex) {
+					result.completeExceptionally(ex);
+				} finally {
+					// Rendue quand la tâche s'arrête réellement, pas quand son délai expire.
+					permits.release();
+				}
+			});
+		} catch (RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+		return result
+				.orTimeout(panelTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.exceptionally(ex -> {
+					Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+					boolean timedOut = cause instanceof TimeoutException;
+					if (timedOut) {
+						// orTimeout ne fait que compléter le future : la tâche est interrompue pour
+						// rendre son thread et sa place dans la limite de concurrence.
+						task.cancel(true);
+						log.warn("Panneau {} abandonné après {} ms", name, panelTimeout.toMillis());
+					} else {
+						log.warn("Échec du panneau {}", name, cause);
+					}
+					degraded(name, timedOut ? "timeout" : "error", unavailable);
+					return fallback;
+				});
+	}
+
+	private void degraded(String name, String reason, Set<String> unavailable) {
+		Counter.builder("dashboard.panel.degraded")
+				.description("Panneaux remplacés par leur valeur de repli")
+				.tag("panel", name)
+				.tag("reason", reason)
+				.register(registry)
+				.increment();
+		unavailable.add(name);
+	}
+
+	private static ProductivityReport unavailableReport() {
+		return ProductivityReport.builder()
+				.suggestions(List.of("Analyse momentanément indisponible, réessayez dans quelques instants."))
+				.build();
+	}
+
+	// Threads virtuels à partir de Java 21, sinon pool d'autant de threads que de places :
+	// la limite est tenue par les permis, ni la file ni l'appelant ne servent en temps normal.
+	private static AsyncTaskExecutor createExecutor(int maxConcurrency) {
+		if (Runtime.version().feature() >= 21) {
+			SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("dashboard-panel-");
+			virtualExecutor.setVirtualThreads(true);
+			return virtualExecutor;
+		}
+		ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+		pool.setThreadNamePrefix("dashboard-panel-");
+		pool.setCorePoolSize(maxConcurrency);
+		pool.setMaxPoolSize(maxConcurrency);
+		pool.setQueueCapacity(maxConcurrency * 4);
+		pool.setAllowCoreThreadTimeOut(true);
+		pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		pool.initialize();
+		return pool;
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (rawExecutor instanceof DisposableBean disposable) {
+			disposable.destroy();
+		} else if (rawExecutor instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+}
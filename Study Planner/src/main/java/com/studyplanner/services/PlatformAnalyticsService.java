@@ -0,0 +1,215 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.PlatformAnalytics;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.PlatformDailyStats;
+import com.studyplanner.repositories.PlatformDailyStatsRepository;
+import com.studyplanner.repositories.UserRepository;
+import com.studyplanner.utils.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'administration tenus en mémoire par les chemins d'écriture (LongAdder pour
+ * les totaux, HyperLogLog par jour pour les utilisateurs actifs) et sauvegardés
+ * périodiquement dans platform_daily_stats. La lecture ne touche jamais la base ; seuls
+ * les 30 derniers jours sont gardés en mémoire et rechargés au démarrage.
+ * <p>
+ * Plusieurs instances partagent la table : chacune y ajoute ce qu'elle a compté depuis sa
+ * dernière sauvegarde et fusionne ses registres HyperLogLog avec ceux déjà en base, sous
+ * verrou de ligne. L'activité des autres instances apparaît au démarrage et à chaque
+ * sauvegarde d'un jour modifié localement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformAnalyticsService {
+
+	static final int RETAINED_DAYS = 30;
+	private static final int WEEK_DAYS = 7;
+
+	private final PlatformDailyStatsRepository platformDailyStatsRepository;
+	private final UserRepository userRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final ConcurrentMap<LocalDate, DayCounters> days = new ConcurrentHashMap<>();
+	private final LongAdder totalUsers = new LongAdder();
+	// Tant que l'historique n'est pas rechargé, les totaux lus en base ne sont pas encore la référence.
+	private volatile boolean loaded;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		load(LocalDate.now());
+	}
+
+	void load(LocalDate today) {
+		totalUsers.add(userRepository.count());
+		List<PlatformDailyStats> rows = platformDailyStatsRepository.findByDateGreaterThanEqual(today.minusDays(RETAINED_DAYS - 1L));
+		// Les écritures arrivées avant le chargement restent à sauvegarder et s'ajoutent aux valeurs en base.
+		rows.forEach(row -> counters(row.getDate()).restore(row));
+		loaded = true;
+		log.info("Compteurs d'administration rechargés : {} jour(s)", rows.size());
+	}
+
+	public void usersRegistered(int count) {
+		usersRegistered(count, LocalDate.now());
+	}
+
+	void usersRegistered(int count, LocalDate today) {
+		totalUsers.add(count);
+		DayCounters counters = counters(today);
+		counters.unsavedUsers.add(count);
+		counters.dirty.set(true);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSessionActivity(SessionActivityEvent event) {
+		onSessionActivity(event, LocalDate.now());
+	}
+
+	void onSessionActivity(SessionActivityEvent event, LocalDate today) {
+		DayCounters counters = counters(today);
+		counters.activeUsers.add(event.userId());
+		if (event.type() == SessionActivityEvent.Type.CREATED) {
+			counters.unsavedSessions.add(event.activities().size());
+			event.activities().forEach(activity -> counters.unsavedMinutes.add(activity.durationMinutes()));
+		}
+		counters.dirty.set(true);
+	}
+
+	public PlatformAnalytics analytics() {
+		return analytics(LocalDateTime.now());
+	}
+
+	PlatformAnalytics analytics(LocalDateTime now) {
+		LocalDate today = now.toLocalDate();
+		HyperLogLog week = new HyperLogLog();
+		HyperLogLog month = new HyperLogLog();
+		List<PlatformAnalytics.Day> history = new ArrayList<>(RETAINED_DAYS);
+		for (int offset = RETAINED_DAYS - 1; offset >= 0; offset--) {
+			LocalDate date = today.minusDays(offset);
+			DayCounters counters = days.get(date);
+			if (counters == null) {
+				history.add(new PlatformAnalytics.Day(date, 0, 0, 0, 0));
+				continue;
+			}
+			month.merge(counters.activeUsers);
+			if (offset < WEEK_DAYS) {
+				week.merge(counters.activeUsers);
+			}
+			history.add(new PlatformAnalytics.Day(date, counters.sessionsCreated(), counters.minutesLogged(),
+					counters.usersRegistered(), counters.activeUsers.estimate()));
+		}
+		PlatformAnalytics.Day current = history.get(history.size() - 1);
+		double elapsedHours = Math.max(1.0, now.getHour() + now.getMinute() / 60.0);
+		return new PlatformAnalytics(totalUsers.sum(), current.activeUsers(), week.estimate(), month.estimate(),
+				Math.round(current.sessionsCreated() / elapsedHours * 10) / 10.0, history);
+	}
+
+	@Scheduled(cron = "${app.admin.analytics.checkpoint-cron:0 * * * * *}")
+	public void checkpoint() {
+		checkpoint(LocalDate.now());
+	}
+
+	@PreDestroy
+	public void checkpointOnShutdown() {
+		checkpoint();
+	}
+
+	void checkpoint(LocalDate today) {
+		if (!loaded) {
+			return;
+		}
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		for (Map.Entry<LocalDate, DayCounters> day : days.entrySet()) {
+			DayCounters counters = day.getValue();
+			if (!counters.dirty.getAndSet(false)) {
+				continue;
+			}
+			try {
+				save(transactionTemplate, day.getKey(), counters);
+			} catch (RuntimeException ex) {
+				counters.dirty.set(true);
+				throw ex;
+			}
+		}
+		days.keySet().removeIf(date -> date.isBefore(today.minusDays(RETAINED_DAYS - 1L)));
+	}
+
+	private void save(TransactionTemplate transactionTemplate, LocalDate date, DayCounters counters) {
+		long sessions = counters.unsavedSessions.sum();
+		long minutes = counters.unsavedMinutes.sum();
+		long users = counters.unsavedUsers.sum();
+		PlatformDailyStats row = transactionTemplate.execute(status -> {
+			platformDailyStatsRepository.addCounters(date, sessions, minutes, users, counters.activeUsers.toBytes());
+			PlatformDailyStats locked = platformDailyStatsRepository.lockByDate(date).orElseThrow();
+			counters.activeUsers.merge(HyperLogLog.fromBytes(locked.getActiveUsers()));
+			locked.setActiveUsers(counters.activeUsers.toBytes());
+			return locked;
+		});
+		// Seul ce qui vient d'être ajouté en base est retiré : les écritures concurrentes restent à sauvegarder.
+		counters.saved(row, sessions, minutes, users);
+	}
+
+	private DayCounters counters(LocalDate date) {
+		return days.computeIfAbsent(date, key -> new DayCounters());
+	}
+
+	/**
+	 * Totaux d'un jour : ceux lus en base (toutes instances confondues) plus ce que cette
+	 * instance a compté depuis sa dernière sauvegarde.
+	 */
+	private static final class DayCounters {
+		private final LongAdder unsavedSessions = new LongAdder();
+		private final LongAdder unsavedMinutes = new LongAdder();
+		private final LongAdder unsavedUsers = new LongAdder();
+		private final HyperLogLog activeUsers = new HyperLogLog();
+		private final AtomicBoolean dirty = new AtomicBoolean();
+		private volatile long savedSessions;
+		private volatile long savedMinutes;
+		private volatile long savedUsers;
+
+		private long sessionsCreated() {
+			return savedSessions + unsavedSessions.sum();
+		}
+
+		private long minutesLogged() {
+			return savedMinutes + unsavedMinutes.sum();
+		}
+
+		private long usersRegistered() {
+			return savedUsers + unsavedUsers.sum();
+		}
+
+		private void restore(PlatformDailyStats row) {
+			savedSessions = row.getSessionsCreated();
+			savedMinutes = row.getMinutesLogged();
+			savedUsers = row.getUsersRegistered();
+			activeUsers.merge(HyperLogLog.fromBytes(row.getActiveUsers()));
+		}
+
+		private void saved(PlatformDailyStats row, long sessions, long minutes, long users) {
+			restore(row);
+			unsavedSessions.add(-sessions);
+			unsavedMinutes.add(-minutes);
+			unsavedUsers.add(-users);
+		}
+	}
+}
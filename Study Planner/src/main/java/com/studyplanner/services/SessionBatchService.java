@@ -0,0 +1,226 @@
+package com.studyplanner.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.SessionBatchReport;
+import com.studyplanner.dto.SessionBatchReport.RowResult;
+import com.studyplanner.dto.SessionBatchReport.Status;
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Création idempotente de sessions par lot : une clé déjà utilisée par l'utilisateur renvoie
+ * la session existante au lieu d'en créer une autre. Les clés récentes sont servies depuis la
+ * mémoire, les autres par une seule requête ; l'index unique (user_id, idempotency_key) tranche
+ * entre deux requêtes concurrentes.
+ */
+@Service
+public class SessionBatchService {
+
+	private record RecentKey(long userId, String idempotencyKey) {
+	}
+
+	private final SubjectRepository subjectRepository;
+	private final StudySessionRepository studySessionRepository;
+	private final StudySessionBatchWriter batchWriter;
+	private final PlatformTransactionManager transactionManager;
+	private final Validator validator;
+	private final int maxSize;
+	private final Cache<RecentKey, SessionView> recentKeys;
+
+	public SessionBatchService(SubjectRepository subjectRepository,
+			StudySessionRepository studySessionRepository,
+			StudySessionBatchWriter batchWriter,
+			PlatformTransactionManager transactionManager,
+			Validator validator,
+			@Value("${app.sessions.batch-max-size:500}") int maxSize,
+			@Value("${app.sessions.idempotency-cache.max-size:100000}") long maxRecentKeys,
+			@Value("${app.sessions.idempotency-cache.ttl:10m}") Duration recentKeyTtl) {
+		this.subjectRepository = subjectRepository;
+		this.studySessionRepository = studySessionRepository;
+		this.batchWriter = batchWriter;
+		this.transactionManager = transactionManager;
+		this.validator = validator;
+		this.maxSize = maxSize;
+		this.recentKeys = Caffeine.newBuilder()
+				.maximumSize(maxRecentKeys)
+				.expireAfterWrite(recentKeyTtl)
+				.build();
+	}
+
+	@CacheEvict(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
+	public SessionBatchReport createAll(User user, List<StudySessionDTO> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new IllegalArgumentException("La requête ne contient aucune session");
+		}
+		if (requests.size() > maxSize) {
+			throw new IllegalArgumentException("Trop de sessions dans la requête (maximum " + maxSize + ")");
+		}
+		for (int i = 0; i < requests.size(); i++) {
+			String problem = validate(requests.get(i));
+			if (problem != null) {
+				throw new IllegalArgumentException("Session " + (i + 1) + " invalide : " + problem);
+			}
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		SessionBatchReport report;
+		try {
+			report = transactionTemplate.execute(status -> insertNew(user, requests));
+		} catch (DataIntegrityViolationException | ConstraintViolationException ex) {
+			if (!violatesIdempotencyKey(ex)) {
+				throw ex;
+			}
+			// Une requête concurrente a validé une des clés entre la lecture et l'insertion :
+			// au second essai, elle est lue comme doublon. Le flush du lot n'est pas traduit par Spring.
+			report = transactionTemplate.execute(status -> insertNew(user, requests));
+		}
+		for (RowResult row : report.rows()) {
+			recentKeys.put(new RecentKey(user.getId(), row.idempotencyKey()), row.session());
+		}
+		return report;
+	}
+
+	/**
+	 * Oublie la clé d'une session supprimée : la renvoyer recrée la session au lieu de rendre
+	 * un doublon. La clé est aussi retirée à la validation, au cas où une requête concurrente
+	 * l'aurait remise en mémoire en lisant la session pas encore supprimée.
+	 */
+	public void forget(User user, String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return;
+		}
+		RecentKey key = new RecentKey(user.getId(), idempotencyKey);
+		recentKeys.invalidate(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					recentKeys.invalidate(key);
+				}
+			});
+		}
+	}
+
+	private SessionBatchReport insertNew(User user, List<StudySessionDTO> requests) {
+		Map<String, SessionView> existing = new HashMap<>();
+		Set<String> unknownKeys = new LinkedHashSet<>();
+		for (StudySessionDTO request : requests) {
+			SessionView recent = recentKeys.getIfPresent(new RecentKey(user.getId(), request.getIdempotencyKey()));
+			if (recent != null) {
+				existing.put(request.getIdempotencyKey(), recent);
+			} else {
+				unknownKeys.add(request.getIdempotencyKey());
+			}
+		}
+		if (!unknownKeys.isEmpty()) {
+			studySessionRepository.findByUserAndIdempotencyKeyIn(user, unknownKeys)
+					.forEach(session -> existing.put(session.getIdempotencyKey(), SessionView.from(session)));
+		}
+
+		// Une seule requête vérifie l'appartenance de toutes les matières du lot.
+		Set<Long> subjectIds = requests.stream()
+				.filter(request -> !existing.containsKey(request.getIdempotencyKey()))
+				.map(StudySessionDTO::getSubjectId)
+				.collect(Collectors.toSet());
+		Map<Long, Subject> subjects = subjectIds.isEmpty() ? Map.of() : subjectRepository.findByUserAndIdIn(user, subjectIds)
+				.stream()
+				.collect(Collectors.toMap(Subject::getId, Function.identity()));
+
+		Map<String, StudySession> created = new LinkedHashMap<>();
+		for (StudySessionDTO request : requests) {
+			if (existing.containsKey(request.getIdempotencyKey()) || created.containsKey(request.getIdempotencyKey())) {
+				continue;
+			}
+			Subject subject = subjects.get(request.getSubjectId());
+			if (subject == null) {
+				throw new IllegalArgumentException("Matière introuvable : " + request.getSubjectId());
+			}
+			created.put(request.getIdempotencyKey(), StudySession.builder()
+					.user(user)
+					.subject(subject)
+					.durationMinutes(request.getDurationMinutes())
+					.date(request.getDate())
+					.startHour(request.getStartHour())
+					.startMinute(request.getStartMinute())
+					.idempotencyKey(request.getIdempotencyKey())
+					.build());
+		}
+		batchWriter.insertAll(new ArrayList<>(created.values()));
+
+		List<RowResult> rows = new ArrayList<>(requests.size());
+		Set<String> reported = new HashSet<>();
+		for (int i = 0; i < requests.size(); i++) {
+			String key = requests.get(i).getIdempotencyKey();
+			StudySession session = created.get(key);
+			if (session != null && reported.add(key)) {
+				rows.add(new RowResult(i + 1, key, Status.CREATED, SessionView.from(session)));
+			} else {
+				SessionView view = session != null ? SessionView.from(session) : existing.get(key);
+				rows.add(new RowResult(i + 1, key, Status.DUPLICATE, view));
+			}
+		}
+		return new SessionBatchReport(rows.size(), created.size(), rows.size() - created.size(), rows);
+	}
+
+	// Seule la course sur une clé d'idempotence se résout en relisant ; toute autre violation est une vraie erreur.
+	private static boolean violatesIdempotencyKey(RuntimeException ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			String name = cause instanceof ConstraintViolationException violation ? violation.getConstraintName() : null;
+			String text = name != null ? name : cause.getMessage();
+			if (text != null && text.toLowerCase(Locale.ROOT).contains(StudySession.IDEMPOTENCY_KEY_INDEX)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String validate(StudySessionDTO request) {
+		if (request == null) {
+			return "ligne vide";
+		}
+		if (request.getIdempotencyKey() == null || request.getIdempotencyKey().isBlank()) {
+			return "clé d'idempotence manquante";
+		}
+		if (request.getSubjectId() == null) {
+			return "matière manquante";
+		}
+		var violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+	}
+}
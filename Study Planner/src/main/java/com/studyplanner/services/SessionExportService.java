@@ -0,0 +1,103 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class SessionExportService {
+
+	static final String CSV_HEADER = "subjectId,date,durationMinutes,startHour,startMinute,id,subjectName";
+
+	private final StudySessionRepository studySessionRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final ObjectMapper objectMapper;
+
+	public void exportCsv(User user, OutputStream output) throws IOException {
+		Writer writer = writer(output);
+		writer.write(CSV_HEADER);
+		writer.write('\n');
+		export(user, writer, view -> {
+			writer.write(String.valueOf(view.subjectId()));
+			writer.write(',');
+			writer.write(String.valueOf(view.date()));
+			writer.write(',');
+			writer.write(Integer.toString(view.durationMinutes()));
+			writer.write(',');
+			writer.write(view.startHour() == null ? "" : view.startHour().toString());
+			writer.write(',');
+			writer.write(view.startMinute() == null ? "" : view.startMinute().toString());
+			writer.write(',');
+			writer.write(String.valueOf(view.id()));
+			writer.write(',');
+			writer.write(csvCell(view.subjectName()));
+			writer.write('\n');
+		});
+	}
+
+	public void exportNdjson(User user, OutputStream output) throws IOException {
+		Writer writer = writer(output);
+		ObjectWriter viewWriter = objectMapper.writerFor(SessionView.class);
+		export(user, writer, view -> {
+			writer.write(viewWriter.writeValueAsString(view));
+			writer.write('\n');
+		});
+	}
+
+	private void export(User user, Writer writer, RowWriter rowWriter) throws IOException {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+		try {
+			// Les lignes sont des projections non gérées : rien ne s'accumule dans le contexte de persistance.
+			transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<SessionView> views = studySessionRepository.streamViewsByUser(user)) {
+					views.forEach(view -> {
+						try {
+							rowWriter.write(view);
+						} catch (IOException ex) {
+							throw new UncheckedIOException(ex);
+						}
+					});
+				}
+			});
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		writer.flush();
+	}
+
+	private static Writer writer(OutputStream output) {
+		return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+	}
+
+	static String csvCell(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	@FunctionalInterface
+	private interface RowWriter {
+		void write(SessionView view) throws IOException;
+	}
+}
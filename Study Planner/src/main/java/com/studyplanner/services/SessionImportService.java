@@ -0,0 +1,304 @@
+package com.studyplanner.services;
+
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.ImportReport;
+import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SubjectRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionImportService {
+
+	static final int MAX_REPORTED_ERRORS = 1000;
+	private static final List<String> DEFAULT_COLUMNS =
+			List.of("subjectid", "date", "durationminutes", "starthour", "startminute");
+
+	private final SubjectRepository subjectRepository;
+	private final StudySessionBatchWriter batchWriter;
+	private final PlatformTransactionManager transactionManager;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+
+	@Value("${app.sessions.import-chunk-size:1000}")
+	private int chunkSize;
+
+	@CacheEvict(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
+	public ImportReport importCsv(User user, InputStream input) throws IOException {
+		ImportRun run = new ImportRun(user);
+		try (BufferedReader reader = reader(input)) {
+			Map<String, Integer> columns = null;
+			String line;
+			long lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					if (columns == null) {
+						columns = detectColumns(line);
+						if (columns.containsKey("header")) {
+							columns.remove("header");
+							continue;
+						}
+					}
+					run.accept(lineNumber, parseCsv(line, columns));
+				} catch (IllegalArgumentException | DateTimeParseException ex) {
+					run.reject(lineNumber, "Ligne CSV invalide : " + ex.getMessage());
+				}
+			}
+		}
+		return run.finish();
+	}
+
+	@CacheEvict(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
+	public ImportReport importNdjson(User user, InputStream input) throws IOException {
+		ImportRun run = new ImportRun(user);
+		ObjectReader dtoReader = objectMapper.readerFor(StudySessionDTO.class);
+		try (BufferedReader reader = reader(input)) {
+			String line;
+			long lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					run.accept(lineNumber, dtoReader.readValue(line));
+				} catch (JacksonException ex) {
+					run.reject(lineNumber, "JSON invalide : " + ex.getOriginalMessage());
+				}
+			}
+		}
+		return run.finish();
+	}
+
+	private BufferedReader reader(InputStream input) {
+		return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+	}
+
+	private Map<String, Integer> detectColumns(String firstLine) {
+		List<String> cells = splitCsv(firstLine);
+		Map<String, Integer> columns = new HashMap<>();
+		boolean header = !cells.isEmpty() && DEFAULT_COLUMNS.contains(normalize(cells.get(0)));
+		for (int i = 0; i < (header ? cells.size() : DEFAULT_COLUMNS.size()); i++) {
+			columns.put(header ? normalize(cells.get(i)) : DEFAULT_COLUMNS.get(i), i);
+		}
+		if (header) {
+			columns.put("header", -1);
+		}
+		return columns;
+	}
+
+	private StudySessionDTO parseCsv(String line, Map<String, Integer> columns) {
+		List<String> cells = splitCsv(line);
+		Function<String, String> cell = name -> {
+			Integer index = columns.get(name);
+			if (index == null || index >= cells.size()) {
+				return null;
+			}
+			String value = cells.get(index).trim();
+			return value.isEmpty() ? null : value;
+		};
+		StudySessionDTO dto = new StudySessionDTO();
+		dto.setSubjectId(parseLong(cell.apply("subjectid")));
+		String date = cell.apply("date");
+		dto.setDate(date == null ? null : LocalDate.parse(date));
+		Integer duration = parseInt(cell.apply("durationminutes"));
+		dto.setDurationMinutes(duration == null ? 0 : duration);
+		dto.setStartHour(parseInt(cell.apply("starthour")));
+		dto.setStartMinute(parseInt(cell.apply("startminute")));
+		return dto;
+	}
+
+	/**
+	 * Découpe une ligne CSV (RFC 4180) : un champ entre guillemets peut contenir des virgules
+	 * et des guillemets doublés. Le fichier étant lu ligne à ligne, un champ ne peut pas
+	 * contenir de saut de ligne ; un guillemet non fermé rend la ligne invalide.
+	 */
+	static List<String> splitCsv(String line) {
+		List<String> cells = new ArrayList<>();
+		StringBuilder cell = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					cell.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					cell.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			} else {
+				cell.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("guillemet non fermé");
+		}
+		cells.add(cell.toString());
+		return cells;
+	}
+
+	private static Long parseLong(String value) {
+		return value == null ? null : Long.valueOf(value);
+	}
+
+	private static Integer parseInt(String value) {
+		return value == null ? null : Integer.valueOf(value);
+	}
+
+	private static String normalize(String value) {
+		return value.trim().toLowerCase(Locale.ROOT).replace("_", "");
+	}
+
+	private final class ImportRun {
+
+		private final User user;
+		private final Map<Long, Subject> ownedSubjects;
+		private final TransactionTemplate transactionTemplate;
+		private final List<StudySession> pending = new ArrayList<>();
+		private final List<Long> pendingLines = new ArrayList<>();
+		private final List<ImportReport.RowError> errors = new ArrayList<>();
+		private long totalRows;
+		private long imported;
+		private long failed;
+
+		private ImportRun(User user) {
+			this.user = user;
+			// Une seule requête résout l'appartenance de toutes les matières du fichier.
+			this.ownedSubjects = subjectRepository.findByUser(user).stream()
+					.collect(Collectors.toMap(Subject::getId, Function.identity()));
+			this.transactionTemplate = new TransactionTemplate(transactionManager);
+		}
+
+		private void accept(long line, StudySessionDTO dto) {
+			totalRows++;
+			String problem = validate(dto);
+			if (problem != null) {
+				recordError(line, problem);
+				return;
+			}
+			pending.add(StudySession.builder()
+					.user(user)
+					.subject(ownedSubjects.get(dto.getSubjectId()))
+					.durationMinutes(dto.getDurationMinutes())
+					.date(dto.getDate())
+					.startHour(dto.getStartHour())
+					.startMinute(dto.getStartMinute())
+					.build());
+			pendingLines.add(line);
+			if (pending.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		private void reject(long line, String message) {
+			totalRows++;
+			recordError(line, message);
+		}
+
+		private String validate(StudySessionDTO dto) {
+			if (dto == null) {
+				return "Ligne vide";
+			}
+			var violations = validator.validate(dto);
+			if (!violations.isEmpty()) {
+				return violations.stream()
+						.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+						.sorted()
+						.collect(Collectors.joining(", "));
+			}
+			if (dto.getSubjectId() == null || !ownedSubjects.containsKey(dto.getSubjectId())) {
+				return "Matière introuvable : " + dto.getSubjectId();
+			}
+			if (dto.getStartHour() != null && (dto.getStartHour() < 0 || dto.getStartHour() > 23)) {
+				return "startHour doit être compris entre 0 et 23";
+			}
+			return null;
+		}
+
+		private void flush() {
+			if (pending.isEmpty()) {
+				return;
+			}
+			List<StudySession> chunk = new ArrayList<>(pending);
+			List<Long> lines = new ArrayList<>(pendingLines);
+			pending.clear();
+			pendingLines.clear();
+			try {
+				transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(chunk));
+				imported += chunk.size();
+			} catch (RuntimeException ex) {
+				// Les lignes du lot annulé sont reprises une à une pour n'écarter que celles en échec.
+				log.warn("Échec de l'insertion d'un lot de {} session(s) importée(s), reprise ligne par ligne",
+						chunk.size(), ex);
+				for (int i = 0; i < chunk.size(); i++) {
+					insertOne(lines.get(i), chunk.get(i));
+				}
+			}
+		}
+
+		private void insertOne(long line, StudySession session) {
+			// L'identifiant attribué pendant le lot annulé n'existe pas en base.
+			session.setId(null);
+			try {
+				transactionTemplate.executeWithoutResult(status -> batchWriter.insertAll(List.of(session)));
+				imported++;
+			} catch (RuntimeException ex) {
+				// Le détail (SQL, contrainte) reste dans les journaux, pas dans le rapport.
+				log.warn("Échec de l'insertion de la session importée ligne {}", line, ex);
+				recordError(line, "Échec de l'insertion de la session");
+			}
+		}
+
+		private void recordError(long line, String message) {
+			failed++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(new ImportReport.RowError(line, message));
+			}
+		}
+
+		private ImportReport finish() {
+			flush();
+			return new ImportReport(totalRows, imported, failed, List.copyOf(errors), failed > errors.size());
+		}
+	}
+}
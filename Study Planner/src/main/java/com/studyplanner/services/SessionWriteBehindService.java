@@ -0,0 +1,342 @@
+package com.studyplanner.services;
+
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.models.SessionJournalCheckpoint;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SessionJournalCheckpointRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import com.studyplanner.utils.AppendOnlyJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Écriture différée des sessions (app.sessions.write-behind.enabled) : une session est ajoutée
+ * au journal local et acquittée après le fsync, puis insérée en base par lots. Le numéro du
+ * dernier enregistrement inséré est stocké dans la même transaction, si bien qu'un journal
+ * rejoué au démarrage n'insère jamais deux fois la même session.
+ * <p>
+ * Tant qu'elle n'est pas en base, une session n'est visible de son auteur que dans la liste
+ * et le nombre de ses sessions (pendingSessions(), pendingCount()). Les statistiques, le
+ * rapport, le tableau de bord, la heatmap, les séries et l'export ne la comptent qu'après le
+ * vidage suivant (app.sessions.write-behind.flush-interval, 1 s par défaut).
+ * <p>
+ * Tout ce que la base impose est vérifié avant l'acquittement : une session acceptée ne peut
+ * plus être refusée que par une défaillance imprévue. Elle est alors isolée par dichotomie puis
+ * écartée, journalisée et comptée, pour ne pas bloquer celles qui la suivent.
+ */
+@Slf4j
+@Service
+public class SessionWriteBehindService {
+
+	public record PendingSession(long sequence, SessionView view) {
+	}
+
+	record JournaledSession(long userId, SessionView view) {
+	}
+
+	private static final Comparator<PendingSession> NEWEST_FIRST = Comparator
+			.comparing((PendingSession pending) -> pending.view().date())
+			.thenComparingLong(PendingSession::sequence)
+			.reversed();
+
+	// Bornes du type DATE de MySQL.
+	private static final int MIN_YEAR = 1000;
+	private static final int MAX_YEAR = 9999;
+
+	private final SubjectRepository subjectRepository;
+	private final SessionJournalCheckpointRepository checkpointRepository;
+	private final StudySessionBatchWriter batchWriter;
+	private final TransactionTemplate transactionTemplate;
+	private final CacheManager cacheManager;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final Path directory;
+	private final String journalId;
+	private final int batchSize;
+	private final Counter deadLetters;
+
+	private final ConcurrentSkipListMap<Long, JournaledSession> pending = new ConcurrentSkipListMap<>();
+	// Écriture dans le journal et ajout en attente sont atomiques vis-à-vis de roll().
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final Object flushLock = new Object();
+	private AppendOnlyJournal journal;
+	private volatile boolean active;
+
+	public SessionWriteBehindService(SubjectRepository subjectRepository,
+			SessionJournalCheckpointRepository checkpointRepository,
+			StudySessionBatchWriter batchWriter,
+			PlatformTransactionManager transactionManager,
+			CacheManager cacheManager,
+			ObjectMapper objectMapper,
+			MeterRegistry meterRegistry,
+			@Value("${app.sessions.write-behind.enabled:false}") boolean enabled,
+			@Value("${app.sessions.write-behind.directory:data/session-journal}") Path directory,
+			@Value("${app.sessions.write-behind.journal-id:default}") String journalId,
+			@Value("${app.sessions.write-behind.batch-size:1000}") int batchSize) {
+		this.subjectRepository = subjectRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.batchWriter = batchWriter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.cacheManager = cacheManager;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.directory = directory;
+		this.journalId = journalId;
+		this.batchSize = batchSize;
+		this.deadLetters = Counter.builder("sessions.write_behind.dead_letters")
+				.description("Sessions différées écartées car refusées par la base")
+				.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() throws IOException {
+		if (!enabled) {
+			return;
+		}
+		long lastInserted = checkpointRepository.findById(journalId)
+				.map(SessionJournalCheckpoint::getLastSequence)
+				.orElse(0L);
+		AppendOnlyJournal opened = new AppendOnlyJournal(directory);
+		List<Map.Entry<Long, JournaledSession>> replay = opened.recover(lastInserted).stream()
+				.map(entry -> Map.entry(entry.sequence(), objectMapper.readValue(entry.payload(), JournaledSession.class)))
+				.toList();
+		// Rejoué avant toute écriture différée : en cas d'échec, le démarrage échoue et le journal reste intact.
+		insert(replay);
+		opened.deleteClosedSegments();
+		appendLock.lock();
+		try {
+			journal = opened;
+			active = true;
+		} finally {
+			appendLock.unlock();
+		}
+		log.info("Écriture différée des sessions active ({}) : {} session(s) rejouée(s)", directory, replay.size());
+	}
+
+	/**
+	 * Ajoute la session au journal et attend qu'elle soit sur disque. Retourne false si
+	 * l'écriture différée est inactive : la session doit alors être écrite directement.
+	 */
+	public boolean append(StudySession session) {
+		if (!active) {
+			return false;
+		}
+		validate(session);
+		JournaledSession journaled = new JournaledSession(session.getUser().getId(), SessionView.from(session));
+		String payload = objectMapper.writeValueAsString(journaled);
+		long sequence;
+		appendLock.lock();
+		try {
+			if (!active) {
+				return false;
+			}
+			sequence = journal.write(payload);
+			pending.put(sequence, journaled);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Écriture du journal des sessions impossible", ex);
+		} finally {
+			appendLock.unlock();
+		}
+		try {
+			journal.sync(sequence);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Écriture du journal des sessions impossible", ex);
+		}
+		return true;
+	}
+
+	// Une session acquittée n'est plus rejetée : elle doit donc satisfaire ici les contraintes de la base.
+	private static void validate(StudySession session) {
+		if (session.getUser() == null || session.getUser().getId() == null) {
+			throw new IllegalArgumentException("Utilisateur manquant");
+		}
+		Subject subject = session.getSubject();
+		if (subject == null || subject.getId() == null || subject.getUser() == null
+				|| !session.getUser().getId().equals(subject.getUser().getId())) {
+			throw new IllegalArgumentException("Matière introuvable");
+		}
+		if (session.getDate() == null || session.getDate().getYear() < MIN_YEAR || session.getDate().getYear() > MAX_YEAR) {
+			throw new IllegalArgumentException("Date de session invalide");
+		}
+		if (session.getDurationMinutes() < 1) {
+			throw new IllegalArgumentException("durationMinutes doit être positif");
+		}
+		if (session.getStartHour() != null && (session.getStartHour() < 0 || session.getStartHour() > 23)) {
+			throw new IllegalArgumentException("startHour doit être compris entre 0 et 23");
+		}
+		if (session.getStartMinute() != null && (session.getStartMinute() < 0 || session.getStartMinute() > 59)) {
+			throw new IllegalArgumentException("startMinute doit être compris entre 0 et 59");
+		}
+	}
+
+	public List<PendingSession> pendingSessions(User user) {
+		if (pending.isEmpty()) {
+			return List.of();
+		}
+		return pending.entrySet().stream()
+				.filter(entry -> entry.getValue().userId() == user.getId())
+				.map(entry -> new PendingSession(entry.getKey(), entry.getValue().view()))
+				.sorted(NEWEST_FIRST)
+				.toList();
+	}
+
+	public long pendingCount(User user) {
+		if (pending.isEmpty()) {
+			return 0;
+		}
+		return pending.values().stream().filter(journaled -> journaled.userId() == user.getId()).count();
+	}
+
+	@Scheduled(fixedDelayString = "${app.sessions.write-behind.flush-interval:1s}")
+	public void flush() {
+		if (active) {
+			drain();
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws IOException {
+		if (journal == null) {
+			return;
+		}
+		appendLock.lock();
+		try {
+			active = false;
+		} finally {
+			appendLock.unlock();
+		}
+		try {
+			drain();
+		} catch (RuntimeException ex) {
+			log.warn("{} session(s) restent dans le journal et seront rejouées au démarrage", pending.size(), ex);
+		}
+		journal.close();
+	}
+
+	private void drain() {
+		synchronized (flushLock) {
+			try {
+				long through;
+				appendLock.lock();
+				try {
+					through = journal.roll();
+				} finally {
+					appendLock.unlock();
+				}
+				insert(new ArrayList<>(pending.headMap(through, true).entrySet()));
+				// Tout ce que contiennent les segments fermés est désormais en base.
+				journal.deleteClosedSegments();
+			} catch (IOException ex) {
+				throw new UncheckedIOException("Vidage du journal des sessions impossible", ex);
+			}
+		}
+	}
+
+	private void insert(List<Map.Entry<Long, JournaledSession>> sessions) {
+		for (int start = 0; start < sessions.size(); start += batchSize) {
+			insertIsolatingRejected(sessions.subList(start, Math.min(start + batchSize, sessions.size())));
+		}
+	}
+
+	// Un lot refusé pour ses données est coupé en deux jusqu'à isoler les sessions fautives ;
+	// toute autre erreur (base indisponible) remonte et laisse le lot en attente.
+	private void insertIsolatingRejected(List<Map.Entry<Long, JournaledSession>> chunk) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> insertChunk(chunk));
+		} catch (RuntimeException ex) {
+			if (!isRejectedData(ex)) {
+				throw ex;
+			}
+			if (chunk.size() > 1) {
+				insertIsolatingRejected(chunk.subList(0, chunk.size() / 2));
+				insertIsolatingRejected(chunk.subList(chunk.size() / 2, chunk.size()));
+				return;
+			}
+			deadLetter(chunk.get(0), ex);
+		}
+		chunk.forEach(entry -> pending.remove(entry.getKey()));
+		Cache reports = cacheManager.getCache(CacheConfig.PRODUCTIVITY_REPORTS);
+		if (reports != null) {
+			chunk.stream().map(entry -> entry.getValue().userId()).distinct().forEach(reports::evict);
+		}
+	}
+
+	private void deadLetter(Map.Entry<Long, JournaledSession> entry, RuntimeException cause) {
+		log.error("Session en attente n°{} écartée, refusée par la base : {}", entry.getKey(),
+				objectMapper.writeValueAsString(entry.getValue()), cause);
+		deadLetters.increment();
+		// Le point de reprise dépasse la session écartée : le journal ne la rejouera pas.
+		transactionTemplate.executeWithoutResult(status ->
+				checkpointRepository.save(new SessionJournalCheckpoint(journalId, entry.getKey())));
+	}
+
+	private static boolean isRejectedData(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataIntegrityViolationException
+					|| cause instanceof ConstraintViolationException
+					|| cause instanceof DataException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void insertChunk(List<Map.Entry<Long, JournaledSession>> chunk) {
+		// Une seule requête pour les matières du lot ; celles supprimées entre-temps emportent leurs sessions.
+		Map<Long, Subject> subjects = subjectRepository.findAllById(chunk.stream()
+						.map(entry -> entry.getValue().view().subjectId())
+						.distinct()
+						.toList())
+				.stream()
+				.collect(Collectors.toMap(Subject::getId, Function.identity()));
+		List<StudySession> sessions = new ArrayList<>(chunk.size());
+		for (Map.Entry<Long, JournaledSession> entry : chunk) {
+			SessionView view = entry.getValue().view();
+			Subject subject = subjects.get(view.subjectId());
+			if (subject == null || subject.getUser().getId() != entry.getValue().userId()) {
+				log.warn("Session en attente n°{} ignorée : matière {} introuvable", entry.getKey(), view.subjectId());
+				continue;
+			}
+			sessions.add(StudySession.builder()
+					.user(subject.getUser())
+					.subject(subject)
+					.durationMinutes(view.durationMinutes())
+					.date(view.date())
+					.startHour(view.startHour())
+					.startMinute(view.startMinute())
+					.build());
+		}
+		batchWriter.insertAll(sessions);
+		checkpointRepository.save(new SessionJournalCheckpoint(journalId, chunk.get(chunk.size() - 1).getKey()));
+	}
+}
@@ -0,0 +1,86 @@
+package com.studyplanner.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyplanner.dto.RangeBucket;
+import com.studyplanner.dto.RangeStats;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.utils.PrefixSumSeries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistiques sur un intervalle quelconque à partir d'un index de minutes cumulées par
+ * utilisateur, construit depuis le rollup daily_study_totals au premier accès. Une somme
+ * coûte O(1) et une série découpée O(nombre de points), sans relire les sessions.
+ */
+@Service
+public class StatsRangeService {
+
+	static final int MAX_POINTS = 3_660;
+
+	private final DailyStudyTotalRepository dailyStudyTotalRepository;
+	private final Cache<Long, PrefixSumSeries> series;
+
+	public StatsRangeService(DailyStudyTotalRepository dailyStudyTotalRepository,
+			@Value("${app.stats.range-index.max-days:5000000}") long maxIndexedDays,
+			@Value("${app.stats.range-index.expire-after-access:30m}") Duration expireAfterAccess) {
+		this.dailyStudyTotalRepository = dailyStudyTotalRepository;
+		// Pondéré par le nombre de jours indexés : la mémoire reste bornée quel que soit l'historique.
+		this.series = Caffeine.newBuilder()
+				.maximumWeight(maxIndexedDays)
+				.weigher((Long userId, PrefixSumSeries value) -> Math.max(1, value.days()))
+				.expireAfterAccess(expireAfterAccess)
+				.build();
+	}
+
+	public long totalMinutes(User user, LocalDate from, LocalDate to) {
+		return seriesFor(user.getId()).sum(from.toEpochDay(), to.toEpochDay());
+	}
+
+	public RangeStats range(User user, LocalDate from, LocalDate to, RangeBucket bucket) {
+		if (from.isAfter(to)) {
+			throw new IllegalArgumentException("La date de début doit précéder la date de fin");
+		}
+		PrefixSumSeries userSeries = seriesFor(user.getId());
+		List<RangeStats.Point> points = new ArrayList<>();
+		for (LocalDate start = bucket.startOf(from); !start.isAfter(to); start = bucket.next(start)) {
+			if (points.size() == MAX_POINTS) {
+				throw new IllegalArgumentException("Intervalle trop long pour cette granularité (maximum "
+						+ MAX_POINTS + " points)");
+			}
+			LocalDate pointStart = start.isBefore(from) ? from : start;
+			LocalDate bucketEnd = bucket.next(start).minusDays(1);
+			LocalDate pointEnd = bucketEnd.isAfter(to) ? to : bucketEnd;
+			points.add(new RangeStats.Point(pointStart, pointEnd,
+					userSeries.sum(pointStart.toEpochDay(), pointEnd.toEpochDay())));
+		}
+		return new RangeStats(from, to, bucket, userSeries.sum(from.toEpochDay(), to.toEpochDay()), points);
+	}
+
+	/**
+	 * Relit, après validation, les jours touchés par l'écriture et remplace leurs valeurs dans
+	 * la série en cache. La relecture a lieu sous le verrou de l'entrée : un chargement concurrent
+	 * et plusieurs écritures successives convergent vers l'état validé, sans double comptage.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSessionActivity(SessionActivityEvent event) {
+		LocalDate start = event.firstDate();
+		LocalDate end = event.lastDate();
+		series.asMap().computeIfPresent(event.userId(), (userId, current) -> current.withRange(
+				start.toEpochDay(), end.toEpochDay(),
+				dailyStudyTotalRepository.findMinutesByUserIdBetween(userId, start, end)));
+	}
+
+	private PrefixSumSeries seriesFor(Long userId) {
+		return series.get(userId, id -> PrefixSumSeries.of(dailyStudyTotalRepository.findMinutesByUserId(id)));
+	}
+}
@@ -1,36 +1,67 @@
 package com.studyplanner.services;
 
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.DailyMinutes;
 import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.StreakStats;
 import com.studyplanner.models.StudySession;
 import com.studyplanner.models.User;
 import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.utils.ActivityHeatmap;
 import com.studyplanner.utils.ProductivityAnalyzer;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.temporal.WeekFields;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class StatsService {
 
+	private static final int HOURS_PER_DAY = 24;
+
 	private final StudySessionRepository studySessionRepository;
+	private final DailyTotalsService dailyTotalsService;
+	private final WeeklyTotalsService weeklyTotalsService;
+	private final ActivityHeatmapService activityHeatmapService;
+	private final StudyStreakService studyStreakService;
 	private final ProductivityAnalyzer productivityAnalyzer;
+	private final Timer dailyTimer;
+	private final Timer weeklyTimer;
+	private final Timer reportTimer;
+
+	public StatsService(StudySessionRepository studySessionRepository,
+			DailyTotalsService dailyTotalsService,
+			WeeklyTotalsService weeklyTotalsService,
+			ActivityHeatmapService activityHeatmapService,
+			StudyStreakService studyStreakService,
+			ProductivityAnalyzer productivityAnalyzer,
+			MeterRegistry meterRegistry) {
+		this.studySessionRepository = studySessionRepository;
+		this.dailyTotalsService = dailyTotalsService;
+		this.weeklyTotalsService = weeklyTotalsService;
+		this.activityHeatmapService = activityHeatmapService;
+		this.studyStreakService = studyStreakService;
+		this.productivityAnalyzer = productivityAnalyzer;
+		this.dailyTimer = timer(meterRegistry, "daily");
+		this.weeklyTimer = timer(meterRegistry, "weekly");
+		this.reportTimer = timer(meterRegistry, "report");
+	}
 
 	public Map<String, Integer> getDailyTotals(User user, int days) {
+		return dailyTimer.record(() -> computeDailyTotals(user, days));
+	}
+
+	private Map<String, Integer> computeDailyTotals(User user, int days) {
 		LocalDate end = LocalDate.now();
 		LocalDate start = end.minusDays(days - 1L);
-		List<StudySession> sessions = studySessionRepository.findByUserAndDateBetween(user, start, end);
-
-		Map<LocalDate, Integer> totals = sessions.stream()
-				.collect(Collectors.groupingBy(StudySession::getDate,
-						Collectors.summingInt(StudySession::getDurationMinutes)));
+		Map<LocalDate, Integer> totals = dailyTotalsService.minutesBetween(user, start, end).stream()
+				.collect(Collectors.toMap(DailyMinutes::date, row -> row.minutes().intValue(), Integer::sum));
 
 		Map<String, Integer> ordered = new LinkedHashMap<>();
 		for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
@@ -40,31 +71,41 @@ public class StatsService {
 	}
 
 	public Map<String, Integer> getWeeklyTotals(User user, int weeks) {
-		LocalDate end = LocalDate.now();
-		LocalDate start = end.minusWeeks(weeks - 1L);
-		List<StudySession> sessions = studySessionRepository.findByUserAndDateBetween(user, start, end);
-		WeekFields wf = WeekFields.of(Locale.getDefault());
-
-		Map<String, Integer> weeklyTotals = sessions.stream()
-				.collect(Collectors.groupingBy(session -> {
-					LocalDate date = session.getDate();
-					int weekNumber = date.get(wf.weekOfWeekBasedYear());
-					return date.getYear() + "-W" + weekNumber;
-				}, Collectors.summingInt(StudySession::getDurationMinutes)));
+		return weeklyTimer.record(() -> weeklyTotalsService.weeklyTotals(user, weeks));
+	}
 
-		return weeklyTotals.entrySet().stream()
-				.sorted(Map.Entry.comparingByKey())
-				.collect(Collectors.toMap(
-						Map.Entry::getKey,
-						Map.Entry::getValue,
-						(a, b) -> a,
-						LinkedHashMap::new
-				));
+	public Map<Integer, Long> getHourlyCounts(User user) {
+		int[] totals = activityHeatmapService.heatmap(user, null).hourTotals();
+		Map<Integer, Long> counts = new LinkedHashMap<>();
+		for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+			counts.put(hour, (long) totals[hour]);
+		}
+		return counts;
 	}
 
+	@Cacheable(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
 	public ProductivityReport buildAiReport(User user) {
-		List<StudySession> sessions = studySessionRepository.findByUser(user);
-		return productivityAnalyzer.analyze(sessions);
+		// Mesuré à l'intérieur du cache : seuls les calculs réels (cache manqué) sont chronométrés.
+		return reportTimer.record(() -> {
+			List<StudySession> sessions = studySessionRepository.findByUser(user);
+			ProductivityReport report = productivityAnalyzer.analyze(sessions);
+			ActivityHeatmap heatmap = activityHeatmapService.heatmap(user, null);
+			StreakStats streaks = studyStreakService.streaks(user);
+			ProductivityReport.ProductivityReportBuilder builder = report.toBuilder()
+					.currentStreak(streaks.currentStreak())
+					.longestStreak(streaks.longestStreak());
+			if (!heatmap.isEmpty()) {
+				builder.mostActiveHour(heatmap.mostActiveHour());
+			}
+			return builder.build();
+		});
 	}
-}
 
+	private static Timer timer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("stats.query")
+				.description("Durée de calcul des statistiques")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,46 @@
+package com.studyplanner.services;
+
+import com.studyplanner.models.StudySession;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Insère des sessions par lots JDBC dans la transaction courante et met à jour
+ * le rollup journalier une seule fois par (utilisateur, jour).
+ */
+@Component
+@RequiredArgsConstructor
+public class StudySessionBatchWriter {
+
+	private final EntityManager entityManager;
+	private final DailyTotalsService dailyTotalsService;
+
+	@Value("${app.sessions.jdbc-batch-size:500}")
+	private int batchSize;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public List<StudySession> insertAll(List<StudySession> sessions) {
+		if (sessions.isEmpty()) {
+			return sessions;
+		}
+		entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+		for (int i = 0; i < sessions.size(); i++) {
+			entityManager.persist(sessions.get(i));
+			if ((i + 1) % batchSize == 0) {
+				entityManager.flush();
+			}
+		}
+		entityManager.flush();
+		dailyTotalsService.recordSessions(sessions);
+		entityManager.flush();
+		entityManager.clear();
+		return sessions;
+	}
+}
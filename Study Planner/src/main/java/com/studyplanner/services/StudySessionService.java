@@ -1,30 +1,99 @@
 package com.studyplanner.services;
 
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.CursorPage;
+import com.studyplanner.dto.SessionCursor;
+import com.studyplanner.dto.SessionView;
 import com.studyplanner.dto.StudySessionDTO;
 import com.studyplanner.models.StudySession;
 import com.studyplanner.models.Subject;
 import com.studyplanner.models.User;
 import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.services.SessionWriteBehindService.PendingSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class StudySessionService {
 
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+
 	private final StudySessionRepository studySessionRepository;
+	private final DailyTotalsService dailyTotalsService;
+	private final SessionWriteBehindService sessionWriteBehindService;
+	private final SessionBatchService sessionBatchService;
+	private final PlatformTransactionManager transactionManager;
 
-	public List<StudySession> findForUser(User user) {
-		return studySessionRepository.findByUser(user)
-				.stream()
-				.sorted(Comparator.comparing(StudySession::getDate).reversed())
+	public CursorPage<SessionView> findPage(User user, String cursor, Integer size) {
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+		Limit limit = Limit.of(pageSize + 1);
+		SessionCursor position = cursor == null || cursor.isBlank() ? null : SessionCursor.decode(cursor);
+		// Lues avant la base : une session insérée entre-temps peut apparaître deux fois, jamais disparaître.
+		List<PendingSession> pending = sessionWriteBehindService.pendingSessions(user).stream()
+				.filter(candidate -> position == null || isAfter(candidate, position))
 				.toList();
+		List<SessionView> rows;
+		if (position == null) {
+			rows = studySessionRepository.findLatest(user, limit);
+		} else {
+			// Les sessions en attente précèdent celles de la base à date égale.
+			long id = position.isPending() ? Long.MAX_VALUE : position.id();
+			rows = studySessionRepository.findOlderThan(user, position.date(), id, limit);
+		}
+
+		List<SessionView> items = new ArrayList<>(pageSize + 1);
+		SessionCursor last = null;
+		int nextPending = 0;
+		int nextRow = 0;
+		while (items.size() <= pageSize && (nextPending < pending.size() || nextRow < rows.size())) {
+			boolean takePending = nextRow == rows.size() || (nextPending < pending.size()
+					&& !pending.get(nextPending).view().date().isBefore(rows.get(nextRow).date()));
+			SessionCursor current;
+			if (takePending) {
+				PendingSession candidate = pending.get(nextPending++);
+				items.add(candidate.view());
+				current = SessionCursor.pending(candidate.view().date(), candidate.sequence());
+			} else {
+				SessionView row = rows.get(nextRow++);
+				items.add(row);
+				current = new SessionCursor(row.date(), row.id());
+			}
+			if (items.size() == pageSize) {
+				last = current;
+			}
+		}
+		if (items.size() <= pageSize) {
+			return new CursorPage<>(items, null);
+		}
+		return new CursorPage<>(items.subList(0, pageSize), last.encode());
 	}
 
+	private static boolean isAfter(PendingSession candidate, SessionCursor position) {
+		LocalDate date = candidate.view().date();
+		return date.isBefore(position.date())
+				|| (date.equals(position.date()) && position.isPending() && candidate.sequence() < position.pendingSequence());
+	}
+
+	public long countForUser(User user) {
+		return studySessionRepository.countByUser(user) + sessionWriteBehindService.pendingCount(user);
+	}
+
+	/**
+	 * Avec l'écriture différée active, la session est seulement journalisée et revient sans
+	 * identifiant ; elle est insérée en base par le prochain vidage du journal.
+	 */
+	@CacheEvict(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
 	public StudySession saveSession(User user, Subject subject, StudySessionDTO dto) {
 		StudySession session = StudySession.builder()
 				.user(user)
@@ -34,7 +103,14 @@ public class StudySessionService {
 				.startHour(dto.getStartHour())
 				.startMinute(dto.getStartMinute())
 				.build();
-		return studySessionRepository.save(session);
+		if (sessionWriteBehindService.append(session)) {
+			return session;
+		}
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			StudySession saved = studySessionRepository.save(session);
+			dailyTotalsService.recordSession(saved);
+			return saved;
+		});
 	}
 
 	public StudySession getOwnedSession(User user, Long id) {
@@ -43,8 +119,18 @@ public class StudySessionService {
 				.orElseThrow(() -> new IllegalArgumentException("Session introuvable"));
 	}
 
+	public SessionView getOwnedSessionView(User user, Long id) {
+		return studySessionRepository.findViewById(id, user)
+				.orElseThrow(() -> new IllegalArgumentException("Session introuvable"));
+	}
+
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.PRODUCTIVITY_REPORTS, key = "#user.id")
 	public void deleteSession(User user, Long id) {
-		studySessionRepository.delete(getOwnedSession(user, id));
+		StudySession session = getOwnedSession(user, id);
+		studySessionRepository.delete(session);
+		dailyTotalsService.removeSession(session);
+		sessionBatchService.forget(user, session.getIdempotencyKey());
 	}
 
 	public List<StudySession> findBetween(User user, LocalDate start, LocalDate end) {
@@ -0,0 +1,184 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.StudyStreak;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.repositories.StudyStreakRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Séries de jours consécutifs maintenues dans la transaction d'écriture des sessions.
+ * Un jour est actif tant qu'il a une ligne dans daily_study_totals ; le rollup est déjà à jour
+ * quand l'événement est reçu. Ajouter ou retirer le dernier jour actif est en O(1) ; un jour
+ * ancien ne fait relire que les jours voisins, et l'historique complet n'est relu que si
+ * la plus longue série est coupée.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudyStreakService {
+
+	private static final int NEIGHBORHOOD_WINDOW = 32;
+	private static final int MAX_NEIGHBORHOOD_WINDOW = 1024;
+
+	private final StudyStreakRepository studyStreakRepository;
+	private final DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	@Transactional(readOnly = true)
+	public StreakStats streaks(User user) {
+		return streaks(user, LocalDate.now());
+	}
+
+	@Transactional(readOnly = true)
+	public StreakStats streaks(User user, LocalDate today) {
+		StudyStreak streak = studyStreakRepository.findById(user.getId())
+				.orElseGet(() -> rebuild(user.getId()));
+		if (streak.getLastActiveEpochDay() == null) {
+			return new StreakStats(0, streak.getLongestStreak(), null);
+		}
+		LocalDate lastActiveDay = LocalDate.ofEpochDay(streak.getLastActiveEpochDay());
+		int current = lastActiveDay.isBefore(today.minusDays(1)) ? 0 : streak.getCurrentStreak();
+		return new StreakStats(current, streak.getLongestStreak(), lastActiveDay);
+	}
+
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onSessionActivity(SessionActivityEvent event) {
+		// La ligne existe avant d'être verrouillée : deux premières écritures concurrentes
+		// se sérialisent sur le verrou au lieu de se heurter sur la clé primaire.
+		studyStreakRepository.insertIfAbsent(event.userId());
+		StudyStreak streak = studyStreakRepository.lockByUserId(event.userId()).orElseThrow();
+		if (streak.getLastActiveEpochDay() == null) {
+			// Ligne neuve ou sans jour actif : l'état est calculé d'un coup, ce jour compris.
+			StudyStreak rebuilt = rebuild(event.userId());
+			streak.setCurrentStreak(rebuilt.getCurrentStreak());
+			streak.setLongestStreak(rebuilt.getLongestStreak());
+			streak.setLastActiveEpochDay(rebuilt.getLastActiveEpochDay());
+			return;
+		}
+		SortedSet<LocalDate> days = new TreeSet<>();
+		event.activities().forEach(activity -> days.add(activity.date()));
+		for (LocalDate day : days) {
+			if (event.type() == SessionActivityEvent.Type.CREATED) {
+				dayAdded(streak, day);
+			} else {
+				dayRemoved(streak, day);
+			}
+		}
+	}
+
+	private void dayAdded(StudyStreak streak, LocalDate day) {
+		long epochDay = day.toEpochDay();
+		Long last = streak.getLastActiveEpochDay();
+		if (last != null && epochDay == last) {
+			return;
+		}
+		if (last == null || epochDay > last) {
+			// Les jours sont traités dans l'ordre : la veille n'est active que si c'était le dernier jour actif.
+			streak.setCurrentStreak(last != null && epochDay == last + 1 ? streak.getCurrentStreak() + 1 : 1);
+			streak.setLastActiveEpochDay(epochDay);
+			streak.setLongestStreak(Math.max(streak.getLongestStreak(), streak.getCurrentStreak()));
+			return;
+		}
+		// Jour ancien : il peut prolonger ou fusionner deux séries autour de lui.
+		long start = epochDay - contiguousDays(streak.getUserId(), day.minusDays(1), -1);
+		long end = epochDay + contiguousDays(streak.getUserId(), day.plusDays(1), 1);
+		streak.setLongestStreak(Math.max(streak.getLongestStreak(), (int) (end - start + 1)));
+		if (end >= last) {
+			streak.setCurrentStreak((int) (last - start + 1));
+		}
+	}
+
+	private void dayRemoved(StudyStreak streak, LocalDate day) {
+		Long userId = streak.getUserId();
+		Long last = streak.getLastActiveEpochDay();
+		long epochDay = day.toEpochDay();
+		if (last == null || epochDay > last || !dailyStudyTotalRepository.findMinutesByUserIdBetween(userId, day, day).isEmpty()) {
+			return;
+		}
+		// Dans la série courante, les voisins se déduisent de l'état sans relire le rollup.
+		boolean inCurrentRun = epochDay > last - streak.getCurrentStreak();
+		int after = inCurrentRun ? (int) (last - epochDay) : contiguousDays(userId, day.plusDays(1), 1);
+		int before = inCurrentRun
+				? streak.getCurrentStreak() - after - 1
+				: contiguousDays(userId, day.minusDays(1), -1);
+		boolean longestCut = before + 1 + after >= streak.getLongestStreak();
+
+		if (epochDay == last && before > 0) {
+			streak.setLastActiveEpochDay(epochDay - 1);
+			streak.setCurrentStreak(before);
+		} else if (epochDay == last) {
+			LocalDate previous = dailyStudyTotalRepository.findLastDateByUserId(userId).orElse(null);
+			streak.setLastActiveEpochDay(previous == null ? null : previous.toEpochDay());
+			streak.setCurrentStreak(previous == null ? 0 : contiguousDays(userId, previous, -1));
+		} else if (inCurrentRun) {
+			streak.setCurrentStreak(after);
+		}
+		if (longestCut) {
+			streak.setLongestStreak(longestRun(dailyStudyTotalRepository.findMinutesByUserId(userId)));
+		}
+	}
+
+	/** Nombre de jours actifs consécutifs à partir de from (inclus), vers le passé (step = -1) ou le futur (step = 1). */
+	private int contiguousDays(Long userId, LocalDate from, int step) {
+		int count = 0;
+		int window = NEIGHBORHOOD_WINDOW;
+		LocalDate next = from;
+		while (true) {
+			LocalDate start = step < 0 ? next.minusDays(window - 1L) : next;
+			LocalDate end = step < 0 ? next : next.plusDays(window - 1L);
+			Set<LocalDate> active = new HashSet<>();
+			dailyStudyTotalRepository.findMinutesByUserIdBetween(userId, start, end)
+					.forEach(row -> active.add(row.date()));
+			int found = 0;
+			while (found < window && active.contains(next)) {
+				next = next.plusDays(step);
+				found++;
+			}
+			count += found;
+			if (found < window) {
+				return count;
+			}
+			window = Math.min(window * 2, MAX_NEIGHBORHOOD_WINDOW);
+		}
+	}
+
+	private StudyStreak rebuild(Long userId) {
+		List<DailyMinutes> days = dailyStudyTotalRepository.findMinutesByUserId(userId);
+		if (days.isEmpty()) {
+			return new StudyStreak(userId, 0, 0, null);
+		}
+		long last = days.get(days.size() - 1).date().toEpochDay();
+		int current = 1;
+		for (int i = days.size() - 2; i >= 0 && days.get(i).date().toEpochDay() == last - current; i--) {
+			current++;
+		}
+		return new StudyStreak(userId, current, longestRun(days), last);
+	}
+
+	static int longestRun(List<DailyMinutes> days) {
+		int longest = 0;
+		int run = 0;
+		long previous = Long.MIN_VALUE;
+		for (DailyMinutes day : days) {
+			long epochDay = day.date().toEpochDay();
+			run = epochDay == previous + 1 ? run + 1 : 1;
+			longest = Math.max(longest, run);
+			previous = epochDay;
+		}
+		return longest;
+	}
+}
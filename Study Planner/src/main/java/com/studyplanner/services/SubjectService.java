@@ -22,6 +22,10 @@ public class SubjectService {
 		return subjectRepository.findByUser(user);
 	}
 
+	public long countForUser(User user) {
+		return subjectRepository.countByUser(user);
+	}
+
 	public Subject saveSubject(User user, Subject subject) {
 		subject.setUser(user);
 		return subjectRepository.save(subject);
@@ -0,0 +1,198 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.ProvisioningReport;
+import com.studyplanner.dto.ProvisioningReport.RowResult;
+import com.studyplanner.dto.ProvisioningReport.Status;
+import com.studyplanner.dto.SignupRequest;
+import com.studyplanner.dto.UserIdentity;
+import com.studyplanner.models.ERole;
+import com.studyplanner.models.Role;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.RoleRepository;
+import com.studyplanner.repositories.UserRepository;
+import com.studyplanner.security.PooledPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+	private final UserRepository userRepository;
+	private final RoleRepository roleRepository;
+	private final PooledPasswordEncoder passwordEncoder;
+	private final PlatformTransactionManager transactionManager;
+	private final EntityManager entityManager;
+	private final Validator validator;
+	private final PlatformAnalyticsService platformAnalyticsService;
+
+	@Value("${app.users.bulk-max-rows:10000}")
+	private int maxRows;
+
+	@Value("${app.users.jdbc-batch-size:500}")
+	private int batchSize;
+
+	public ProvisioningReport provision(List<SignupRequest> requests) {
+		if (requests.size() > maxRows) {
+			throw new IllegalArgumentException("Trop de comptes dans la requête (maximum " + maxRows + ")");
+		}
+		RowResult[] results = new RowResult[requests.size()];
+		List<Integer> accepted = rejectInvalidAndDuplicates(requests, results);
+
+		Role userRole = roleRepository.findByName(ERole.USER)
+				.orElseThrow(() -> new IllegalStateException("Rôle USER introuvable"));
+		List<String> hashes = passwordEncoder.encodeAll(accepted.stream()
+				.map(index -> requests.get(index).getPassword())
+				.toList());
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		for (int start = 0; start < accepted.size(); start += batchSize) {
+			List<Integer> chunk = accepted.subList(start, Math.min(start + batchSize, accepted.size()));
+			List<User> users = new ArrayList<>(chunk.size());
+			for (int i = 0; i < chunk.size(); i++) {
+				users.add(newUser(requests.get(chunk.get(i)), hashes.get(start + i), userRole));
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> insertAll(users));
+				platformAnalyticsService.usersRegistered(users.size());
+				for (int i = 0; i < chunk.size(); i++) {
+					results[chunk.get(i)] = created(chunk.get(i), users.get(i));
+				}
+			} catch (RuntimeException ex) {
+				// Un compte créé entre la vérification et l'insertion fait échouer tout le lot :
+				// les lignes sont reprises une à une pour n'écarter que celle en collision.
+				log.warn("Échec de l'insertion d'un lot de {} compte(s), reprise ligne par ligne", chunk.size(), ex);
+				int inserted = 0;
+				for (int i = 0; i < chunk.size(); i++) {
+					results[chunk.get(i)] = insertOne(transactionTemplate, chunk.get(i), requests.get(chunk.get(i)),
+							hashes.get(start + i), userRole);
+					inserted += results[chunk.get(i)].status() == Status.CREATED ? 1 : 0;
+				}
+				if (inserted > 0) {
+					platformAnalyticsService.usersRegistered(inserted);
+				}
+			}
+		}
+
+		List<RowResult> rows = List.of(results);
+		int created = (int) rows.stream().filter(row -> row.status() == Status.CREATED).count();
+		return new ProvisioningReport(rows.size(), created, rows.size() - created, rows);
+	}
+
+	private List<Integer> rejectInvalidAndDuplicates(List<SignupRequest> requests, RowResult[] results) {
+		List<Integer> valid = new ArrayList<>();
+		Set<String> batchUsernames = new HashSet<>();
+		Set<String> batchEmails = new HashSet<>();
+		for (int i = 0; i < requests.size(); i++) {
+			SignupRequest request = requests.get(i);
+			String problem = validate(request);
+			if (problem != null) {
+				results[i] = new RowResult(i + 1, request == null ? null : request.getUsername(), Status.INVALID, null, problem);
+			} else if (!batchUsernames.add(normalize(request.getUsername()))) {
+				results[i] = duplicate(i, request, "Nom d'utilisateur en double dans la requête");
+			} else if (!batchEmails.add(normalize(request.getEmail()))) {
+				results[i] = duplicate(i, request, "Email en double dans la requête");
+			} else {
+				valid.add(i);
+			}
+		}
+		if (valid.isEmpty()) {
+			return valid;
+		}
+
+		// Une seule requête ensembliste pour tous les doublons déjà présents en base.
+		List<UserIdentity> existing = userRepository.findIdentities(
+				valid.stream().map(i -> requests.get(i).getUsername().trim()).toList(),
+				valid.stream().map(i -> requests.get(i).getEmail().trim()).toList());
+		Set<String> takenUsernames = existing.stream().map(identity -> normalize(identity.username())).collect(Collectors.toSet());
+		Set<String> takenEmails = existing.stream().map(identity -> normalize(identity.email())).collect(Collectors.toSet());
+
+		List<Integer> accepted = new ArrayList<>(valid.size());
+		for (Integer i : valid) {
+			SignupRequest request = requests.get(i);
+			if (takenUsernames.contains(normalize(request.getUsername()))) {
+				results[i] = duplicate(i, request, "Le nom d'utilisateur est déjà utilisé.");
+			} else if (takenEmails.contains(normalize(request.getEmail()))) {
+				results[i] = duplicate(i, request, "L'email est déjà utilisé.");
+			} else {
+				accepted.add(i);
+			}
+		}
+		return accepted;
+	}
+
+	private String validate(SignupRequest request) {
+		if (request == null) {
+			return "Ligne vide";
+		}
+		var violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+	}
+
+	private RowResult insertOne(TransactionTemplate transactionTemplate, int index, SignupRequest request, String hash,
+			Role userRole) {
+		// Nouvelle entité : celle du lot annulé a déjà reçu un identifiant.
+		User user = newUser(request, hash, userRole);
+		try {
+			transactionTemplate.executeWithoutResult(status -> insertAll(List.of(user)));
+			return created(index, user);
+		} catch (DataIntegrityViolationException | ConstraintViolationException ex) {
+			return duplicate(index, request, "Le nom d'utilisateur ou l'email est déjà utilisé.");
+		} catch (RuntimeException ex) {
+			// Le détail (SQL, contrainte) reste dans les journaux, pas dans la réponse.
+			log.warn("Échec de l'insertion du compte ligne {}", index + 1, ex);
+			return new RowResult(index + 1, request.getUsername(), Status.FAILED, null, "Échec de l'insertion du compte");
+		}
+	}
+
+	private void insertAll(List<User> users) {
+		entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+		users.forEach(entityManager::persist);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private static User newUser(SignupRequest request, String hash, Role userRole) {
+		return User.builder()
+				.username(request.getUsername().trim())
+				.email(request.getEmail().trim())
+				.password(hash)
+				.roles(new HashSet<>(Set.of(userRole)))
+				.build();
+	}
+
+	private static RowResult created(int index, User user) {
+		return new RowResult(index + 1, user.getUsername(), Status.CREATED, user.getId(), null);
+	}
+
+	private static RowResult duplicate(int index, SignupRequest request, String message) {
+		return new RowResult(index + 1, request.getUsername(), Status.DUPLICATE, null, message);
+	}
+
+	private static String normalize(String value) {
+		return value.trim().toLowerCase(Locale.ROOT);
+	}
+}
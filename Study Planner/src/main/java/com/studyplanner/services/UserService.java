@@ -6,12 +6,9 @@ import com.studyplanner.models.Role;
 import com.studyplanner.models.User;
 import com.studyplanner.repositories.RoleRepository;
 import com.studyplanner.repositories.UserRepository;
+import com.studyplanner.security.CurrentUser;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +23,8 @@ public class UserService {
 	private final UserRepository userRepository;
 	private final RoleRepository roleRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final CurrentUser currentUser;
+	private final PlatformAnalyticsService platformAnalyticsService;
 
 	@PostConstruct
 	public void initRoles() {
@@ -71,6 +70,7 @@ public class UserService {
 		System.out.println("[DEBUG] >>> Début de la sauvegarde en MySQL...");
 		try {
 			User savedUser = userRepository.save(user);
+			platformAnalyticsService.usersRegistered(1);
 			System.out.println("[DEBUG] ✓✓✓ Utilisateur SAUVEGARDÉ avec succès! ✓✓✓");
 			System.out.println("[DEBUG] ID MySQL: " + savedUser.getId());
 			System.out.println("[DEBUG] Username: " + savedUser.getUsername());
@@ -110,14 +110,6 @@ public class UserService {
 	}
 
 	public User getCurrentUser() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null ||
-				!authentication.isAuthenticated() ||
-				authentication instanceof AnonymousAuthenticationToken) {
-			throw new UsernameNotFoundException("Utilisateur non authentifié");
-		}
-		return userRepository.findByUsername(authentication.getName())
-				.orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
+		return currentUser.get();
 	}
 }
-
@@ -0,0 +1,129 @@
+package com.studyplanner.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Totaux hebdomadaires en semaines ISO (lundi, semaine 1 contenant le premier jeudi),
+ * identiques sur tous les nœuds quelle que soit la locale. Une semaine close ne change
+ * que si une écriture la touche : elle est conservée sans expiration et invalidée par
+ * les écritures validées. Seule la semaine en cours est recalculée à chaque appel.
+ */
+@Service
+public class WeeklyTotalsService {
+
+	private static final int GENERATION_STRIPES = 64;
+
+	private final DailyTotalsService dailyTotalsService;
+	private final Cache<WeekKey, Integer> closedWeeks;
+	// Compteurs d'écritures validées par groupe d'utilisateurs : un chargement concurrent
+	// d'une écriture n'est pas mis en cache, faute de savoir s'il l'a vue.
+	private final AtomicLongArray writeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+	public WeeklyTotalsService(DailyTotalsService dailyTotalsService,
+			@Value("${app.stats.closed-weeks.max-size:500000}") long maxSize,
+			MeterRegistry registry) {
+		this.dailyTotalsService = dailyTotalsService;
+		this.closedWeeks = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, closedWeeks, "closedWeeks");
+	}
+
+	record WeekKey(long userId, int isoWeek) {
+	}
+
+	/** Clé numérique d'une semaine ISO : 202503 pour la semaine 3 de l'année ISO 2025. */
+	static int isoWeekKey(LocalDate date) {
+		return date.get(IsoFields.WEEK_BASED_YEAR) * 100 + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+	}
+
+	static String label(int isoWeek) {
+		return "%d-W%02d".formatted(isoWeek / 100, isoWeek % 100);
+	}
+
+	public Map<String, Integer> weeklyTotals(User user, int weeks) {
+		return weeklyTotals(user, weeks, LocalDate.now());
+	}
+
+	Map<String, Integer> weeklyTotals(User user, int weeks, LocalDate today) {
+		LocalDate currentWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		Map<LocalDate, Integer> totals = new HashMap<>();
+		List<LocalDate> missing = new ArrayList<>();
+		for (LocalDate monday = currentWeek.minusWeeks(weeks - 1L); monday.isBefore(currentWeek); monday = monday.plusWeeks(1)) {
+			Integer cached = closedWeeks.getIfPresent(new WeekKey(user.getId(), isoWeekKey(monday)));
+			if (cached != null) {
+				totals.put(monday, cached);
+			} else {
+				missing.add(monday);
+			}
+		}
+		if (!missing.isEmpty()) {
+			totals.putAll(loadClosedWeeks(user, missing));
+		}
+		totals.put(currentWeek, minutesByWeek(user, currentWeek, today).getOrDefault(currentWeek, 0));
+
+		Map<String, Integer> ordered = new LinkedHashMap<>();
+		for (LocalDate monday = currentWeek.minusWeeks(weeks - 1L); !monday.isAfter(currentWeek); monday = monday.plusWeeks(1)) {
+			ordered.put(label(isoWeekKey(monday)), totals.get(monday));
+		}
+		return ordered;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onSessionActivity(SessionActivityEvent event) {
+		writeGenerations.incrementAndGet(stripe(event.userId()));
+		event.activities().stream()
+				.map(activity -> isoWeekKey(activity.date()))
+				.distinct()
+				.forEach(isoWeek -> closedWeeks.invalidate(new WeekKey(event.userId(), isoWeek)));
+	}
+
+	// Une seule lecture du rollup couvre toutes les semaines manquantes, même non contiguës.
+	private Map<LocalDate, Integer> loadClosedWeeks(User user, List<LocalDate> mondays) {
+		int stripe = stripe(user.getId());
+		long generation = writeGenerations.get(stripe);
+		Map<LocalDate, Integer> byWeek = minutesByWeek(user, mondays.get(0), mondays.get(mondays.size() - 1).plusDays(6));
+		Map<LocalDate, Integer> loaded = new HashMap<>();
+		for (LocalDate monday : mondays) {
+			int minutes = byWeek.getOrDefault(monday, 0);
+			loaded.put(monday, minutes);
+			closedWeeks.asMap().compute(new WeekKey(user.getId(), isoWeekKey(monday)),
+					(key, existing) -> writeGenerations.get(stripe) == generation ? Integer.valueOf(minutes) : existing);
+		}
+		return loaded;
+	}
+
+	private Map<LocalDate, Integer> minutesByWeek(User user, LocalDate start, LocalDate end) {
+		Map<LocalDate, Integer> byWeek = new HashMap<>();
+		for (DailyMinutes row : dailyTotalsService.minutesBetween(user, start, end)) {
+			byWeek.merge(row.date().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+					row.minutes().intValue(), Integer::sum);
+		}
+		return byWeek;
+	}
+
+	private static int stripe(Long userId) {
+		return (int) Math.floorMod(userId, (long) GENERATION_STRIPES);
+	}
+}
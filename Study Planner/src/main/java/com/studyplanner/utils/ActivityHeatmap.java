@@ -0,0 +1,72 @@
+package com.studyplanner.utils;
+
+import java.time.LocalDate;
+
+/**
+ * Histogramme jour de semaine × quart d'heure stocké dans un tableau primitif de taille fixe
+ * (lundi = 0, cases de 15 minutes). Les vues par heure et les totaux horaires en sont dérivés.
+ */
+public final class ActivityHeatmap {
+
+	public static final int DAYS = 7;
+	public static final int HOURS = 24;
+	public static final int QUARTERS_PER_HOUR = 4;
+	public static final int SLOTS_PER_DAY = HOURS * QUARTERS_PER_HOUR;
+	public static final int CELLS = DAYS * SLOTS_PER_DAY;
+
+	private final int[] counts = new int[CELLS];
+
+	/** Case d'une session, ou -1 si l'heure de début est absente ou invalide. */
+	public static int cell(LocalDate date, Integer startHour, Integer startMinute) {
+		if (startHour == null || startHour < 0 || startHour >= HOURS) {
+			return -1;
+		}
+		int minute = startMinute == null ? 0 : Math.max(0, Math.min(59, startMinute));
+		return (date.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY + startHour * QUARTERS_PER_HOUR + minute / 15;
+	}
+
+	public void add(int cell, int sessions) {
+		counts[cell] += sessions;
+	}
+
+	/** Sessions par jour et par créneau ; slotsPerHour vaut 1 (heures) ou 4 (quarts d'heure). */
+	public int[][] grid(int slotsPerHour) {
+		int[][] grid = new int[DAYS][HOURS * slotsPerHour];
+		int merge = QUARTERS_PER_HOUR / slotsPerHour;
+		for (int cell = 0; cell < CELLS; cell++) {
+			grid[cell / SLOTS_PER_DAY][(cell % SLOTS_PER_DAY) / merge] += counts[cell];
+		}
+		return grid;
+	}
+
+	public int[] hourTotals() {
+		int[] totals = new int[HOURS];
+		for (int cell = 0; cell < CELLS; cell++) {
+			totals[(cell % SLOTS_PER_DAY) / QUARTERS_PER_HOUR] += counts[cell];
+		}
+		return totals;
+	}
+
+	public int mostActiveHour() {
+		int[] totals = hourTotals();
+		int best = 0;
+		for (int hour = 1; hour < HOURS; hour++) {
+			if (totals[hour] > totals[best]) {
+				best = hour;
+			}
+		}
+		return best;
+	}
+
+	public int total() {
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	public boolean isEmpty() {
+		return total() == 0;
+	}
+}
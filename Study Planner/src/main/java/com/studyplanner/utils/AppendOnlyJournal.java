@@ -0,0 +1,209 @@
+package com.studyplanner.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal local en ajout seul, découpé en segments « segment-N.log » d'une ligne
+ * « numéro\tcontenu » par enregistrement. write() numérote et écrit sans attendre le disque,
+ * sync() attend le fsync : les écrivains concurrents partagent le même fsync (group commit).
+ * Une ligne incomplète en fin de segment (arrêt brutal avant le fsync) est ignorée à la relecture.
+ */
+public final class AppendOnlyJournal implements Closeable {
+
+	public record Entry(long sequence, String payload) {
+	}
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private final Path directory;
+	private final Object syncLock = new Object();
+	private final List<Path> closedSegments = new ArrayList<>();
+	private FileChannel segment;
+	private long segmentIndex;
+	private boolean segmentEmpty;
+	private long lastWritten;
+	private volatile long lastSynced;
+
+	public AppendOnlyJournal(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Relit les segments existants et ouvre un nouveau segment pour les écritures. Seuls les
+	 * enregistrements postérieurs à afterSequence sont rendus ; la numérotation reprend après
+	 * le plus grand numéro connu.
+	 */
+	public synchronized List<Entry> recover(long afterSequence) throws IOException {
+		if (segment != null) {
+			throw new IllegalStateException("Journal déjà ouvert");
+		}
+		Files.createDirectories(directory);
+		List<Entry> entries = new ArrayList<>();
+		lastWritten = afterSequence;
+		for (Path path : existingSegments()) {
+			for (Entry entry : read(path)) {
+				lastWritten = Math.max(lastWritten, entry.sequence());
+				if (entry.sequence() > afterSequence) {
+					entries.add(entry);
+				}
+			}
+			closedSegments.add(path);
+			segmentIndex = Math.max(segmentIndex, indexOf(path));
+		}
+		lastSynced = lastWritten;
+		openSegment();
+		return entries;
+	}
+
+	public synchronized long write(String payload) throws IOException {
+		if (segment == null) {
+			throw new IllegalStateException("Journal fermé");
+		}
+		if (payload.indexOf('\n') >= 0) {
+			throw new IllegalArgumentException("Un enregistrement ne peut pas contenir de saut de ligne");
+		}
+		long sequence = lastWritten + 1;
+		ByteBuffer line = ByteBuffer.wrap((sequence + "\t" + payload + "\n").getBytes(StandardCharsets.UTF_8));
+		while (line.hasRemaining()) {
+			segment.write(line);
+		}
+		lastWritten = sequence;
+		segmentEmpty = false;
+		return sequence;
+	}
+
+	public void sync(long sequence) throws IOException {
+		if (lastSynced >= sequence) {
+			return;
+		}
+		synchronized (syncLock) {
+			if (lastSynced >= sequence) {
+				return;
+			}
+			long target;
+			FileChannel channel;
+			synchronized (this) {
+				target = lastWritten;
+				channel = segment;
+			}
+			// Les écritures continuent pendant le fsync et seront couvertes par le suivant.
+			channel.force(false);
+			lastSynced = target;
+		}
+	}
+
+	/**
+	 * Ferme le segment courant s'il contient des enregistrements et en ouvre un nouveau.
+	 * Retourne le dernier numéro écrit, tous segments fermés confondus.
+	 */
+	public long roll() throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (segmentEmpty) {
+					return lastWritten;
+				}
+				segment.force(false);
+				segment.close();
+				lastSynced = lastWritten;
+				closedSegments.add(segmentPath(segmentIndex));
+				openSegment();
+				return lastWritten;
+			}
+		}
+	}
+
+	public synchronized void deleteClosedSegments() throws IOException {
+		for (Path path : closedSegments) {
+			Files.deleteIfExists(path);
+		}
+		closedSegments.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (segment != null) {
+					segment.force(false);
+					segment.close();
+					segment = null;
+					lastSynced = lastWritten;
+				}
+			}
+		}
+	}
+
+	private void openSegment() throws IOException {
+		segmentIndex++;
+		segment = FileChannel.open(segmentPath(segmentIndex),
+				StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		segmentEmpty = true;
+		syncDirectory();
+	}
+
+	// Rend durable la création du fichier ; sans effet sur les systèmes qui ne le permettent pas.
+	private void syncDirectory() {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException ex) {
+			// Windows ne permet pas d'ouvrir un répertoire.
+		}
+	}
+
+	private List<Path> existingSegments() throws IOException {
+		List<Path> paths = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			stream.forEach(paths::add);
+		}
+		paths.sort((left, right) -> Long.compare(indexOf(left), indexOf(right)));
+		return paths;
+	}
+
+	private static List<Entry> read(Path path) throws IOException {
+		// Découpage sur les octets : une fin tronquée peut couper un caractère UTF-8 multi-octets.
+		byte[] content = Files.readAllBytes(path);
+		List<Entry> entries = new ArrayList<>();
+		int start = 0;
+		for (int end = 0; end < content.length; end++) {
+			if (content[end] != '\n') {
+				continue;
+			}
+			String line = new String(content, start, end - start, StandardCharsets.UTF_8);
+			int separator = line.indexOf('\t');
+			if (separator < 0) {
+				throw new IOException("Journal corrompu : " + path);
+			}
+			try {
+				entries.add(new Entry(Long.parseLong(line.substring(0, separator)), line.substring(separator + 1)));
+			} catch (NumberFormatException ex) {
+				throw new IOException("Journal corrompu : " + path, ex);
+			}
+			start = end + 1;
+		}
+		return entries;
+	}
+
+	private Path segmentPath(long index) {
+		return directory.resolve(SEGMENT_PREFIX + index + SEGMENT_SUFFIX);
+	}
+
+	private static long indexOf(Path path) {
+		String name = path.getFileName().toString();
+		try {
+			return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+		} catch (NumberFormatException ex) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.studyplanner.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Table de hachage primitive jour epoch -> minutes (adressage ouvert, sans boxing).
+ */
+public final class EpochDayMinutes {
+
+	private static final long EMPTY = Long.MIN_VALUE;
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private long[] keys;
+	private long[] values;
+	private int size;
+
+	public EpochDayMinutes() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public EpochDayMinutes(int expectedDays) {
+		int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedDays * 2 - 1)) << 1;
+		keys = new long[capacity];
+		values = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	public void add(long epochDay, long minutes) {
+		int slot = slot(keys, epochDay);
+		if (keys[slot] == EMPTY) {
+			keys[slot] = epochDay;
+			size++;
+			if (size * 2 > keys.length) {
+				resize();
+				slot = slot(keys, epochDay);
+			}
+		}
+		values[slot] += minutes;
+	}
+
+	public long get(long epochDay) {
+		int slot = slot(keys, epochDay);
+		return keys[slot] == EMPTY ? 0 : values[slot];
+	}
+
+	public void addAll(EpochDayMinutes other) {
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.keys[i] != EMPTY) {
+				add(other.keys[i], other.values[i]);
+			}
+		}
+	}
+
+	public void forEachValue(LongConsumer consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != EMPTY) {
+				consumer.accept(values[i]);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		keys = new long[oldKeys.length << 1];
+		values = new long[oldValues.length << 1];
+		Arrays.fill(keys, EMPTY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = slot(keys, oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int slot(long[] table, long key) {
+		int mask = table.length - 1;
+		int slot = mix(key) & mask;
+		while (table[slot] != EMPTY && table[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,90 @@
+package com.studyplanner.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Compteur approximatif d'éléments distincts (HyperLogLog, 2^12 registres d'un octet,
+ * erreur type d'environ 1,6 %). Les ajouts concurrents sont sans verrou ; deux compteurs
+ * fusionnent par maximum registre à registre, ce qui donne l'union des deux ensembles.
+ */
+public final class HyperLogLog {
+
+	public static final int PRECISION = 12;
+	public static final int REGISTERS = 1 << PRECISION;
+
+	private static final VarHandle REGISTER = MethodHandles.arrayElementVarHandle(byte[].class);
+	private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+	private final byte[] registers;
+
+	public HyperLogLog() {
+		this.registers = new byte[REGISTERS];
+	}
+
+	private HyperLogLog(byte[] registers) {
+		this.registers = registers;
+	}
+
+	public static HyperLogLog fromBytes(byte[] bytes) {
+		if (bytes == null || bytes.length != REGISTERS) {
+			throw new IllegalArgumentException("Registres HyperLogLog invalides");
+		}
+		return new HyperLogLog(bytes.clone());
+	}
+
+	public void add(long value) {
+		long hash = mix(value);
+		int index = (int) (hash >>> (Long.SIZE - PRECISION));
+		// Bit sentinelle : le rang reste borné même si les bits restants sont tous nuls.
+		byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+		byte current = (byte) REGISTER.getVolatile(registers, index);
+		while (current < rank && !REGISTER.compareAndSet(registers, index, current, rank)) {
+			current = (byte) REGISTER.getVolatile(registers, index);
+		}
+	}
+
+	public void merge(HyperLogLog other) {
+		for (int index = 0; index < REGISTERS; index++) {
+			byte rank = (byte) REGISTER.getVolatile(other.registers, index);
+			byte current = (byte) REGISTER.getVolatile(registers, index);
+			while (current < rank && !REGISTER.compareAndSet(registers, index, current, rank)) {
+				current = (byte) REGISTER.getVolatile(registers, index);
+			}
+		}
+	}
+
+	public long estimate() {
+		double sum = 0;
+		int zeros = 0;
+		for (int index = 0; index < REGISTERS; index++) {
+			byte rank = (byte) REGISTER.getVolatile(registers, index);
+			sum += 1.0 / (1L << rank);
+			if (rank == 0) {
+				zeros++;
+			}
+		}
+		double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+		// Petites cardinalités : comptage linéaire sur les registres vides, bien plus précis.
+		if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+			estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	public byte[] toBytes() {
+		byte[] copy = new byte[REGISTERS];
+		for (int index = 0; index < REGISTERS; index++) {
+			copy[index] = (byte) REGISTER.getVolatile(registers, index);
+		}
+		return copy;
+	}
+
+	// Finaliseur de SplitMix64 : des identifiants consécutifs donnent des hachages bien répartis.
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
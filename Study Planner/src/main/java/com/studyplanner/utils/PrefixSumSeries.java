@@ -0,0 +1,107 @@
+package com.studyplanner.utils;
+
+import com.studyplanner.dto.DailyMinutes;
+
+import java.util.List;
+
+/**
+ * Minutes cumulées par jour (jour epoch) pour un utilisateur. La somme de n'importe quel
+ * intervalle [début, fin] s'obtient par deux lectures du tableau. L'instance est immuable :
+ * une mise à jour produit une nouvelle série, que les lecteurs concurrents voient en entier ou pas du tout.
+ */
+public final class PrefixSumSeries {
+
+	private static final PrefixSumSeries EMPTY = new PrefixSumSeries(0, new long[0]);
+
+	private final long firstDay;
+	private final long[] cumulative;
+
+	private PrefixSumSeries(long firstDay, long[] cumulative) {
+		this.firstDay = firstDay;
+		this.cumulative = cumulative;
+	}
+
+	public static PrefixSumSeries empty() {
+		return EMPTY;
+	}
+
+	/** Construit la série à partir de totaux journaliers triés par date. */
+	public static PrefixSumSeries of(List<DailyMinutes> days) {
+		if (days.isEmpty()) {
+			return EMPTY;
+		}
+		long first = days.get(0).date().toEpochDay();
+		long[] values = new long[(int) (days.get(days.size() - 1).date().toEpochDay() - first + 1)];
+		for (DailyMinutes day : days) {
+			values[(int) (day.date().toEpochDay() - first)] += day.minutes();
+		}
+		return fromDailyValues(first, values);
+	}
+
+	public long sum(long fromDay, long toDay) {
+		if (fromDay > toDay) {
+			return 0;
+		}
+		return cumulativeAt(toDay) - cumulativeAt(fromDay - 1);
+	}
+
+	public int days() {
+		return cumulative.length;
+	}
+
+	/**
+	 * Remplace les valeurs des jours [startDay, endDay] par celles fournies (absentes = 0).
+	 * Les valeurs étant absolues, réappliquer la même mise à jour ne change rien.
+	 */
+	public PrefixSumSeries withRange(long startDay, long endDay, List<DailyMinutes> days) {
+		long first = cumulative.length == 0 ? startDay : Math.min(firstDay, startDay);
+		long last = cumulative.length == 0 ? endDay : Math.max(lastDay(), endDay);
+		long[] values = new long[(int) (last - first + 1)];
+		for (int i = 0; i < cumulative.length; i++) {
+			long day = firstDay + i;
+			if (day < startDay || day > endDay) {
+				values[(int) (day - first)] = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+			}
+		}
+		for (DailyMinutes day : days) {
+			long epochDay = day.date().toEpochDay();
+			if (epochDay >= startDay && epochDay <= endDay) {
+				values[(int) (epochDay - first)] += day.minutes();
+			}
+		}
+		return fromDailyValues(first, values);
+	}
+
+	private long lastDay() {
+		return firstDay + cumulative.length - 1;
+	}
+
+	private long cumulativeAt(long day) {
+		if (cumulative.length == 0 || day < firstDay) {
+			return 0;
+		}
+		return cumulative[(int) Math.min(day - firstDay, cumulative.length - 1L)];
+	}
+
+	// Les jours vides en tête et en queue sont retirés pour que la série ne grossisse pas inutilement.
+	private static PrefixSumSeries fromDailyValues(long first, long[] values) {
+		int start = 0;
+		int end = values.length - 1;
+		while (start <= end && values[start] == 0) {
+			start++;
+		}
+		while (end >= start && values[end] == 0) {
+			end--;
+		}
+		if (start > end) {
+			return EMPTY;
+		}
+		long[] cumulative = new long[end - start + 1];
+		long running = 0;
+		for (int i = start; i <= end; i++) {
+			running += values[i];
+			cumulative[i - start] = running;
+		}
+		return new PrefixSumSeries(first + start, cumulative);
+	}
+}
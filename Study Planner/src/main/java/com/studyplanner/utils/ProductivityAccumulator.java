@@ -0,0 +1,126 @@
+package com.studyplanner.utils;
+
+import com.studyplanner.models.StudySession;
+
+import java.time.LocalDate;
+import java.util.stream.Collector;
+
+/**
+ * Accumulateur en une seule passe des indicateurs de productivité.
+ * Les instances sont fusionnables : des résultats partiels calculés par lots
+ * ou par threads peuvent être combinés avant de produire le rapport.
+ */
+public final class ProductivityAccumulator {
+
+	public static final int HOURS_PER_DAY = 24;
+	static final int LATE_HOUR = 21;
+
+	private final int[] hourHistogram = new int[HOURS_PER_DAY];
+	private final EpochDayMinutes minutesByDay;
+	private long sessionCount;
+	private long totalMinutes;
+	private long lateSessionCount;
+
+	public ProductivityAccumulator() {
+		this.minutesByDay = new EpochDayMinutes();
+	}
+
+	public ProductivityAccumulator(int expectedDays) {
+		this.minutesByDay = new EpochDayMinutes(expectedDays);
+	}
+
+	public static Collector<StudySession, ProductivityAccumulator, ProductivityAccumulator> collector() {
+		return Collector.of(
+				ProductivityAccumulator::new,
+				ProductivityAccumulator::accept,
+				ProductivityAccumulator::combine,
+				Collector.Characteristics.IDENTITY_FINISH,
+				Collector.Characteristics.UNORDERED);
+	}
+
+	public void accept(StudySession session) {
+		accept(session.getDate(), session.getStartHour(), session.getDurationMinutes());
+	}
+
+	public void accept(LocalDate date, Integer startHour, int durationMinutes) {
+		sessionCount++;
+		totalMinutes += durationMinutes;
+		minutesByDay.add(date.toEpochDay(), durationMinutes);
+		if (startHour != null) {
+			if (startHour >= 0 && startHour < HOURS_PER_DAY) {
+				hourHistogram[startHour]++;
+			}
+			if (startHour >= LATE_HOUR) {
+				lateSessionCount++;
+			}
+		}
+	}
+
+	public ProductivityAccumulator combine(ProductivityAccumulator other) {
+		sessionCount += other.sessionCount;
+		totalMinutes += other.totalMinutes;
+		lateSessionCount += other.lateSessionCount;
+		for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+			hourHistogram[hour] += other.hourHistogram[hour];
+		}
+		minutesByDay.addAll(other.minutesByDay);
+		return this;
+	}
+
+	public boolean isEmpty() {
+		return sessionCount == 0;
+	}
+
+	public long getSessionCount() {
+		return sessionCount;
+	}
+
+	public long getTotalMinutes() {
+		return totalMinutes;
+	}
+
+	public long getLateSessionCount() {
+		return lateSessionCount;
+	}
+
+	public int getActiveDays() {
+		return minutesByDay.size();
+	}
+
+	public double getAveragePerSession() {
+		return sessionCount == 0 ? 0 : (double) totalMinutes / sessionCount;
+	}
+
+	/**
+	 * Moyenne et écart type (population) des minutes par jour actif, calculés
+	 * avec l'algorithme de Welford sur les totaux journaliers.
+	 */
+	public DailyStats getDailyStats() {
+		double[] state = new double[3];
+		minutesByDay.forEachValue(minutes -> {
+			state[0]++;
+			double delta = minutes - state[1];
+			state[1] += delta / state[0];
+			state[2] += delta * (minutes - state[1]);
+		});
+		double variance = state[0] == 0 ? 0 : state[2] / state[0];
+		return new DailyStats(state[1], Math.sqrt(variance));
+	}
+
+	public int getMostActiveHour() {
+		int best = 0;
+		for (int hour = 1; hour < HOURS_PER_DAY; hour++) {
+			if (hourHistogram[hour] > hourHistogram[best]) {
+				best = hour;
+			}
+		}
+		return best;
+	}
+
+	public int[] getHourHistogram() {
+		return hourHistogram.clone();
+	}
+
+	public record DailyStats(double mean, double standardDeviation) {
+	}
+}
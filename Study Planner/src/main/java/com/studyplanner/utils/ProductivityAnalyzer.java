@@ -2,69 +2,83 @@ package com.studyplanner.utils;
 
 import com.studyplanner.dto.ProductivityReport;
 import com.studyplanner.models.StudySession;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.IntSummaryStatistics;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 public class ProductivityAnalyzer {
 
-	public ProductivityReport analyze(List<StudySession> sessions) {
-		if (sessions == null || sessions.isEmpty()) {
-			return ProductivityReport.builder()
-					.consistencyScore(0)
-					.productivityScore(0)
-					.mostActiveHour(0)
-					.suggestions(List.of("Commencez à enregistrer vos sessions pour générer un rapport."))
-					.build();
-		}
-
-		IntSummaryStatistics stats = sessions.stream()
-				.collect(Collectors.summarizingInt(StudySession::getDurationMinutes));
+	private final MeterProvider<Timer> analyzeTimers;
+	private final DistributionSummary inputSizes;
+
+	public ProductivityAnalyzer(MeterRegistry meterRegistry) {
+		this.analyzeTimers = Timer.builder("productivity.analyzer")
+				.description("Durée d'analyse d'un historique de sessions")
+				.publishPercentileHistogram()
+				.withRegistry(meterRegistry);
+		this.inputSizes = DistributionSummary.builder("productivity.analyzer.input.size")
+				.description("Nombre de sessions analysées par appel")
+				.baseUnit("sessions")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
 
-		double averagePerSession = stats.getAverage();
+	public ProductivityReport analyze(List<StudySession> sessions) {
+		int size = sessions == null ? 0 : sessions.size();
+		inputSizes.record(size);
+		return analyzeTimers.withTag("size", sizeBucket(size)).record(() -> {
+			if (size == 0) {
+				return emptyReport();
+			}
+			ProductivityAccumulator accumulator = new ProductivityAccumulator();
+			for (StudySession session : sessions) {
+				accumulator.accept(session);
+			}
+			return report(accumulator);
+		});
+	}
 
-		Map<LocalDate, List<StudySession>> sessionsByDay = sessions.stream()
-				.collect(Collectors.groupingBy(StudySession::getDate));
+	// Tranches décimales : un tag à faible cardinalité qui sépare les gros historiques.
+	static String sizeBucket(int size) {
+		if (size == 0) {
+			return "0";
+		}
+		if (size <= 10) {
+			return "1-10";
+		}
+		if (size <= 100) {
+			return "11-100";
+		}
+		if (size <= 1_000) {
+			return "101-1000";
+		}
+		if (size <= 10_000) {
+			return "1001-10000";
+		}
+		return "10001+";
+	}
 
-		double dailyAverage = sessionsByDay.values().stream()
-				.mapToInt(list -> list.stream().mapToInt(StudySession::getDurationMinutes).sum())
-				.average()
-				.orElse(0);
+	public ProductivityReport report(ProductivityAccumulator accumulator) {
+		if (accumulator == null || accumulator.isEmpty()) {
+			return emptyReport();
+		}
 
-		double variance = sessionsByDay.values().stream()
-				.mapToDouble(list -> {
-					int sum = list.stream().mapToInt(StudySession::getDurationMinutes).sum();
-					double diff = sum - dailyAverage;
-					return diff * diff;
-				})
-				.average()
-				.orElse(0);
+		double averagePerSession = accumulator.getAveragePerSession();
+		ProductivityAccumulator.DailyStats dailyStats = accumulator.getDailyStats();
+		double dailyAverage = dailyStats.mean();
+		double stdDeviation = dailyStats.standardDeviation();
 
-		double stdDeviation = Math.sqrt(variance);
-		double consistencyScore = 10 - Math.min(10, stdDeviation / (dailyAverage == 0 ? 1 : dailyAverage) * 10);
+		double consistencyScore = consistencyScore(dailyAverage, stdDeviation);
 		double productivityScore = Math.min(10, averagePerSession / 30 * 10);
 
-		int mostActiveHour = sessions.stream()
-				.filter(session -> session.getStartHour() != null)
-				.collect(Collectors.groupingBy(StudySession::getStartHour, Collectors.counting()))
-				.entrySet()
-				.stream()
-				.max(Map.Entry.comparingByValue())
-				.map(Map.Entry::getKey)
-				.orElse(0);
-
 		List<String> suggestions = new ArrayList<>();
-		long sessionsAfter21 = sessions.stream()
-				.filter(session -> session.getStartHour() != null && session.getStartHour() >= 21)
-				.count();
-
-		if (!sessions.isEmpty() && ((double) sessionsAfter21 / sessions.size()) > 0.7) {
+		if (((double) accumulator.getLateSessionCount() / accumulator.getSessionCount()) > 0.7) {
 			suggestions.add("Vous étudiez majoritairement après 21h : pensez à préserver votre sommeil.");
 		}
 
@@ -83,13 +97,26 @@ public class ProductivityAnalyzer {
 		return ProductivityReport.builder()
 				.consistencyScore(round(consistencyScore))
 				.productivityScore(round(productivityScore))
-				.mostActiveHour(mostActiveHour)
+				.mostActiveHour(accumulator.getMostActiveHour())
 				.suggestions(suggestions)
 				.build();
 	}
 
+	/** Score de régularité /10 à partir de la moyenne et de l'écart type des minutes par jour actif. */
+	public static double consistencyScore(double dailyAverage, double stdDeviation) {
+		return 10 - Math.min(10, stdDeviation / (dailyAverage == 0 ? 1 : dailyAverage) * 10);
+	}
+
+	private ProductivityReport emptyReport() {
+		return ProductivityReport.builder()
+				.consistencyScore(0)
+				.productivityScore(0)
+				.mostActiveHour(0)
+				.suggestions(List.of("Commencez à enregistrer vos sessions pour générer un rapport."))
+				.build();
+	}
+
 	private double round(double value) {
 		return Math.round(value * 10.0) / 10.0;
 	}
 }
-
@@ -0,0 +1,59 @@
+package com.studyplanner.utils;
+
+/**
+ * Histogramme de valeurs entières bornées [0, maxValue] doublé d'un arbre de Fenwick :
+ * ajout, retrait et rang (nombre de valeurs strictement inférieures) en O(log maxValue).
+ * Les valeurs hors domaine sont ramenées aux bornes. L'instance n'est pas synchronisée.
+ */
+public final class RankHistogram {
+
+	private final int maxValue;
+	private final long[] tree;
+	private long total;
+
+	public RankHistogram(int maxValue) {
+		if (maxValue < 0) {
+			throw new IllegalArgumentException("maxValue doit être positif");
+		}
+		this.maxValue = maxValue;
+		this.tree = new long[maxValue + 2];
+	}
+
+	public void add(int value) {
+		add(value, 1);
+	}
+
+	public void remove(int value) {
+		add(value, -1);
+	}
+
+	public void add(int value, long count) {
+		int bucket = clamp(value);
+		total += count;
+		for (int i = bucket + 1; i < tree.length; i += i & -i) {
+			tree[i] += count;
+		}
+	}
+
+	/** Nombre de valeurs strictement inférieures à value. */
+	public long countBelow(int value) {
+		long below = 0;
+		for (int i = clamp(value); i > 0; i -= i & -i) {
+			below += tree[i];
+		}
+		return below;
+	}
+
+	/** Part des valeurs strictement inférieures, en pourcentage (0 si l'histogramme est vide). */
+	public double percentileOf(int value) {
+		return total == 0 ? 0 : 100.0 * countBelow(value) / total;
+	}
+
+	public long total() {
+		return total;
+	}
+
+	private int clamp(int value) {
+		return Math.max(0, Math.min(maxValue, value));
+	}
+}
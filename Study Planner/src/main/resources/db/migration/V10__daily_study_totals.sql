@@ -0,0 +1,51 @@
+-- Cumul quotidien par utilisateur lu par les statistiques, les séries et les rangs de cohorte.
+-- Absent des bases marquées à V1 ; une table créée avant Flyway par ddl-auto=update n'a
+-- pas l'historique : elle est recréée puis remplie depuis study_sessions.
+-- hour_counts = 24 compteurs de sessions par heure de début, séparés par des virgules.
+
+DROP TABLE IF EXISTS daily_study_totals;
+
+CREATE TABLE daily_study_totals (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    date DATE NOT NULL,
+    hour_counts VARCHAR(255) NOT NULL,
+    minutes INTEGER NOT NULL,
+    session_count INTEGER NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_study_totals_user_date UNIQUE (user_id, date),
+    CONSTRAINT fk_daily_study_totals_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+INSERT INTO daily_study_totals (user_id, date, minutes, session_count, hour_counts)
+SELECT user_id,
+       date,
+       SUM(duration_minutes),
+       COUNT(*),
+       CONCAT_WS(',',
+                 SUM(CASE WHEN start_hour = 0 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 1 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 2 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 3 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 4 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 5 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 6 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 7 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 8 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 9 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 10 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 11 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 12 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 13 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 14 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 15 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 16 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 17 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 18 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 19 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 20 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 21 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 22 THEN 1 ELSE 0 END),
+                 SUM(CASE WHEN start_hour = 23 THEN 1 ELSE 0 END))
+FROM study_sessions
+GROUP BY user_id, date;
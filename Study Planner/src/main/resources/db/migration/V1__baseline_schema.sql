@@ -0,0 +1,48 @@
+-- Schéma existant tel que généré jusqu'ici par spring.jpa.hibernate.ddl-auto=update.
+-- Les bases déjà en production sont marquées à cette version (baseline-on-migrate).
+
+CREATE TABLE roles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name ENUM ('ADMIN', 'USER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE subjects (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subjects_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE study_sessions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    date DATE NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    start_hour INTEGER,
+    start_minute INTEGER,
+    subject_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_study_sessions_subject FOREIGN KEY (subject_id) REFERENCES subjects (id),
+    CONSTRAINT fk_study_sessions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
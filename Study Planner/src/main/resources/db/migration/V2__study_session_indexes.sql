@@ -0,0 +1,8 @@
+-- Index alignés sur les requêtes de StudySessionRepository :
+-- plages de dates et pagination par curseur (user_id, date, id),
+-- suppression / contrôle d'appartenance par matière (subject_id),
+-- histogramme horaire par utilisateur (user_id, start_hour).
+
+CREATE INDEX idx_study_sessions_user_date_id ON study_sessions (user_id, date, id);
+CREATE INDEX idx_study_sessions_subject ON study_sessions (subject_id);
+CREATE INDEX idx_study_sessions_user_start_hour ON study_sessions (user_id, start_hour);
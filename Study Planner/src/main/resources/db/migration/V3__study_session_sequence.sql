@@ -0,0 +1,11 @@
+-- StudySession.id passe de IDENTITY à une séquence (émulée par une table sur MySQL)
+-- afin que Hibernate puisse regrouper les INSERT en lots JDBC.
+-- Avec l'optimiseur "pooled" (allocationSize = 50), la valeur stockée est la borne haute
+-- du prochain bloc : on la place 50 au-dessus du plus grand identifiant existant.
+
+CREATE TABLE study_sessions_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO study_sessions_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM study_sessions;
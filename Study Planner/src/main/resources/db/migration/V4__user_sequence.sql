@@ -0,0 +1,9 @@
+-- User.id passe de IDENTITY à une séquence (émulée par une table sur MySQL)
+-- afin que le provisionnement en masse puisse regrouper les INSERT en lots JDBC.
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM users;
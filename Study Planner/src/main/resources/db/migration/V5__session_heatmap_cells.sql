@@ -0,0 +1,21 @@
+-- Histogramme jour de semaine × quart d'heure par utilisateur et par matière.
+-- case = jour (lundi = 0) * 96 + heure * 4 + minute / 15 ; seules les cases non vides sont stockées.
+
+CREATE TABLE session_heatmap_cells (
+    user_id BIGINT NOT NULL,
+    subject_id BIGINT NOT NULL,
+    cell SMALLINT NOT NULL,
+    sessions INTEGER NOT NULL,
+    PRIMARY KEY (user_id, subject_id, cell),
+    CONSTRAINT fk_session_heatmap_cells_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_session_heatmap_cells_subject FOREIGN KEY (subject_id) REFERENCES subjects (id)
+) ENGINE = InnoDB;
+
+INSERT INTO session_heatmap_cells (user_id, subject_id, cell, sessions)
+SELECT user_id,
+       subject_id,
+       WEEKDAY(date) * 96 + start_hour * 4 + LEAST(59, GREATEST(0, COALESCE(start_minute, 0))) DIV 15 AS cell,
+       COUNT(*)
+FROM study_sessions
+WHERE start_hour BETWEEN 0 AND 23
+GROUP BY user_id, subject_id, cell;
@@ -0,0 +1,11 @@
+-- Séries de jours d'étude consécutifs, une ligne par utilisateur.
+-- Les lignes absentes sont calculées depuis daily_study_totals à la première session enregistrée.
+
+CREATE TABLE study_streaks (
+    user_id BIGINT NOT NULL,
+    current_streak INTEGER NOT NULL,
+    longest_streak INTEGER NOT NULL,
+    last_active_epoch_day BIGINT,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_study_streaks_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
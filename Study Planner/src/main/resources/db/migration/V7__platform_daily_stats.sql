@@ -0,0 +1,11 @@
+-- Points de sauvegarde des compteurs d'administration, une ligne par jour.
+-- active_users contient les 4096 registres HyperLogLog des utilisateurs actifs du jour.
+
+CREATE TABLE platform_daily_stats (
+    date DATE NOT NULL,
+    sessions_created BIGINT NOT NULL,
+    minutes_logged BIGINT NOT NULL,
+    users_registered BIGINT NOT NULL,
+    active_users VARBINARY(4096) NOT NULL,
+    PRIMARY KEY (date)
+) ENGINE = InnoDB;
@@ -0,0 +1,8 @@
+-- Progression de l'écriture différée des sessions, une ligne par journal local.
+-- last_sequence est mis à jour dans la transaction qui insère les sessions correspondantes.
+
+CREATE TABLE session_journal_checkpoints (
+    journal_id VARCHAR(64) NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (journal_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,5 @@
+-- Clé d'idempotence fournie par le client à la création d'une session.
+-- Unique par utilisateur ; les sessions sans clé (NULL) ne sont pas concernées.
+
+ALTER TABLE study_sessions ADD COLUMN idempotency_key VARCHAR(64) NULL;
+CREATE UNIQUE INDEX uk_study_sessions_user_idempotency_key ON study_sessions (user_id, idempotency_key);
@@ -0,0 +1,174 @@
+package com.studyplanner.scaling;
+
+import com.studyplanner.security.JwtUtils;
+import com.studyplanner.security.UserDetailsImpl;
+import com.studyplanner.support.SyntheticDataGenerator;
+import com.studyplanner.support.SyntheticDataGenerator.Profile;
+import com.studyplanner.support.SyntheticDataGenerator.Result;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure la latence des mêmes utilisateurs pendant que la base grossit (par défaut 100, 1 000
+ * puis 10 000 utilisateurs avec deux ans d'historique). Les requêtes sont bornées à un utilisateur :
+ * la latence médiane ne doit pas croître de plus de scaling.max-growth par rapport à la première taille.
+ * <p>
+ * Exclu du build par défaut, lancé avec : mvn -Pscaling test
+ */
+@Tag("scaling")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "spring.datasource.url=jdbc:h2:mem:scaling;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+class ScalingSuiteTest {
+
+	private static final List<String> ENDPOINTS = List.of(
+			"/api/sessions",
+			"/api/stats/daily",
+			"/api/stats/weekly",
+			"/api/stats/hourly",
+			"/api/stats/ai-report",
+			"/dashboard");
+
+	private static final int PROBE_USERS = 10;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private JwtUtils jwtUtils;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Value("${scaling.users:100,1000,10000}")
+	private int[] sizes;
+
+	@Value("${scaling.seed:42}")
+	private long seed;
+
+	@Value("${scaling.batch-size:5000}")
+	private int batchSize;
+
+	@Value("${scaling.warmup:30}")
+	private int warmup;
+
+	@Value("${scaling.samples:40}")
+	private int samples;
+
+	@Value("${scaling.max-growth:3.0}")
+	private double maxGrowth;
+
+	@Value("${scaling.min-baseline-ms:2}")
+	private double minBaselineMs;
+
+	@Value("${scaling.report:target/scaling-report.csv}")
+	private Path report;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void latencyGrowth_ShouldStayWithinBudget() throws Exception {
+		// Given
+		int[] userCounts = Arrays.stream(sizes).sorted().toArray();
+		SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate, seed, batchSize);
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < Math.min(PROBE_USERS, userCounts[0]); i++) {
+			tokens.add(token(i));
+		}
+		Map<String, List<Double>> medians = new LinkedHashMap<>();
+		List<String> lines = new ArrayList<>(List.of("users,sessions,endpoint,p50_ms,p95_ms,max_ms"));
+
+		// When
+		int generatedUsers = 0;
+		long sessions = 0;
+		for (int users : userCounts) {
+			Result result = generator.generate(generatedUsers, users, Profile.twoYears(), LocalDate.now());
+			generatedUsers = users;
+			sessions += result.sessions();
+			for (String endpoint : ENDPOINTS) {
+				double[] latencies = measure(endpoint, tokens);
+				double p50 = percentile(latencies, 0.50);
+				medians.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(p50);
+				lines.add("%d,%d,%s,%.2f,%.2f,%.2f".formatted(users, sessions, endpoint,
+						p50, percentile(latencies, 0.95), latencies[latencies.length - 1]));
+			}
+		}
+		Files.createDirectories(Objects.requireNonNullElse(report.toAbsolutePath().getParent(), Path.of(".")));
+		Files.write(report, lines);
+		lines.forEach(System.out::println);
+
+		// Then
+		SoftAssertions softly = new SoftAssertions();
+		medians.forEach((endpoint, values) -> {
+			double budget = Math.max(values.get(0), minBaselineMs) * maxGrowth;
+			for (int i = 1; i < values.size(); i++) {
+				softly.assertThat(values.get(i))
+						.as("p50 de %s à %d utilisateurs (budget %.2f ms)", endpoint, userCounts[i], budget)
+						.isLessThanOrEqualTo(budget);
+			}
+		});
+		softly.assertAll();
+	}
+
+	private double[] measure(String endpoint, List<String> tokens) throws Exception {
+		double[] latencies = new double[samples];
+		for (int i = 0; i < warmup + samples; i++) {
+			// Les caches sont vidés pour mesurer le calcul et non un accès mémoire.
+			cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint))
+					.header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+					.GET()
+					.build();
+			long start = System.nanoTime();
+			HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			long elapsed = System.nanoTime() - start;
+			assertThat(response.statusCode()).as(endpoint).isEqualTo(200);
+			if (i >= warmup) {
+				latencies[i - warmup] = elapsed / 1_000_000.0;
+			}
+		}
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	private String token(int userIndex) {
+		UserDetailsImpl principal = new UserDetailsImpl(SyntheticDataGenerator.userId(userIndex),
+				SyntheticDataGenerator.username(userIndex), SyntheticDataGenerator.username(userIndex) + "@example.com",
+				null, List.of(new SimpleGrantedAuthority("USER")));
+		return jwtUtils.generateJwtToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private static double percentile(double[] sorted, double quantile) {
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+}
@@ -0,0 +1,135 @@
+package com.studyplanner.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthTokenFilterTest {
+
+	@Mock
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Mock
+	private UserAuthStateService userAuthStateService;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private JwtUtils jwtUtils;
+	private AuthTokenFilter authTokenFilter;
+	private UserDetailsImpl principal;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtils = new JwtUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "test-secret");
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000L);
+		jwtUtils.init();
+		authTokenFilter = new AuthTokenFilter(jwtUtils, userDetailsService, userAuthStateService, meterRegistry);
+		ReflectionTestUtils.setField(authTokenFilter, "stateless", true);
+		principal = new UserDetailsImpl(7L, "alice", "alice@example.com", "hash",
+				List.of(new SimpleGrantedAuthority("USER")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void statelessToken_ShouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+		// Given
+		when(userAuthStateService.getState(7L)).thenReturn(new UserAuthState("alice", Set.of("USER")));
+
+		// When
+		filter(token());
+
+		// Then
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertThat(authentication).isNotNull();
+		assertThat(authentication.getName()).isEqualTo("alice");
+		assertThat(((UserDetailsImpl) authentication.getPrincipal()).getId()).isEqualTo(7L);
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("USER");
+		verifyNoInteractions(userDetailsService);
+		assertThat(meterRegistry.get("jwt.validation").tags("mode", "stateless", "outcome", "valid").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void statelessToken_WhenRolesChanged_ShouldNotAuthenticate() throws Exception {
+		// Given
+		when(userAuthStateService.getState(7L)).thenReturn(new UserAuthState("alice", Set.of("ADMIN")));
+
+		// When
+		filter(token());
+
+		// Then
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void statelessToken_WhenUserDeleted_ShouldNotAuthenticate() throws Exception {
+		// Given
+		when(userAuthStateService.getState(7L)).thenReturn(null);
+
+		// When
+		filter(token());
+
+		// Then
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void statefulMode_ShouldLoadUserByUsername() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(authTokenFilter, "stateless", false);
+		when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal);
+
+		// When
+		filter(token());
+
+		// Then
+		assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("alice");
+		verifyNoInteractions(userAuthStateService);
+	}
+
+	@Test
+	void invalidToken_ShouldNotAuthenticate() throws Exception {
+		// When
+		filter(token() + "x");
+
+		// Then
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+		assertThat(meterRegistry.get("jwt.validation").tags("mode", "stateless", "outcome", "invalid").timer().count()).isEqualTo(1);
+	}
+
+	private String token() {
+		return jwtUtils.generateJwtToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private void filter(String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sessions");
+		request.addHeader("Authorization", "Bearer " + token);
+		authTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+	}
+}
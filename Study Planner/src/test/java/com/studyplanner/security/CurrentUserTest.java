@@ -0,0 +1,89 @@
+package com.studyplanner.security;
+
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	private CurrentUser currentUser;
+
+	@BeforeEach
+	void setUp() {
+		currentUser = new CurrentUser(userRepository);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void get_WithPrincipalId_ShouldUseReferenceOnceWithoutUsernameLookup() {
+		// Given
+		UserDetailsImpl principal = new UserDetailsImpl(7L, "alice", null, null,
+				List.of(new SimpleGrantedAuthority("USER")));
+		authenticate(principal);
+		User reference = User.builder().id(7L).build();
+		when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+		// When
+		User first = currentUser.get();
+		User second = currentUser.get();
+
+		// Then
+		assertThat(first).isSameAs(reference).isSameAs(second);
+		assertThat(currentUser.getId()).isEqualTo(7L);
+		verify(userRepository, times(1)).getReferenceById(7L);
+		verify(userRepository, never()).findByUsername(anyString());
+	}
+
+	@Test
+	void get_WithoutPrincipalId_ShouldFallBackToUsername() {
+		// Given
+		authenticate("alice");
+		User user = User.builder().id(7L).username("alice").build();
+		when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+		// When
+		User result = currentUser.get();
+
+		// Then
+		assertThat(result).isSameAs(user);
+	}
+
+	@Test
+	void get_WhenNotAuthenticated_ShouldThrow() {
+		// When/Then
+		assertThatThrownBy(() -> currentUser.get())
+				.isInstanceOf(UsernameNotFoundException.class)
+				.hasMessage("Utilisateur non authentifié");
+		verifyNoInteractions(userRepository);
+	}
+
+	private void authenticate(Object principal) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				principal, null, List.of(new SimpleGrantedAuthority("USER"))));
+	}
+}
@@ -0,0 +1,58 @@
+package com.studyplanner.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTest {
+
+	private LoginAttemptThrottle throttle;
+
+	@BeforeEach
+	void setUp() {
+		throttle = new LoginAttemptThrottle(2, 3, Duration.ofMinutes(5), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void checkAllowed_AfterTooManyFailuresForUsername_ShouldReject() {
+		// Given
+		throttle.recordFailure("Alice", "10.0.0.1");
+		throttle.recordFailure("alice", "10.0.0.2");
+
+		// When/Then
+		assertThatThrownBy(() -> throttle.checkAllowed("alice", "10.0.0.3"))
+				.isInstanceOf(LoginOverloadException.class)
+				.hasFieldOrPropertyWithValue("retryAfterSeconds", 300L);
+		assertThatCode(() -> throttle.checkAllowed("bob", "10.0.0.3")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void checkAllowed_AfterTooManyFailuresFromIp_ShouldRejectAnyUsername() {
+		// Given
+		throttle.recordFailure("a", "10.0.0.1");
+		throttle.recordFailure("b", "10.0.0.1");
+		throttle.recordFailure("c", "10.0.0.1");
+
+		// When/Then
+		assertThatThrownBy(() -> throttle.checkAllowed("d", "10.0.0.1"))
+				.isInstanceOf(LoginOverloadException.class);
+	}
+
+	@Test
+	void recordSuccess_ShouldResetUsernameFailures() {
+		// Given
+		throttle.recordFailure("alice", "10.0.0.1");
+		throttle.recordFailure("alice", "10.0.0.2");
+
+		// When
+		throttle.recordSuccess("alice");
+
+		// Then
+		assertThatCode(() -> throttle.checkAllowed("alice", "10.0.0.3")).doesNotThrowAnyException();
+	}
+}
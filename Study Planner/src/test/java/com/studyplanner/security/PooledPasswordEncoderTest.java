@@ -0,0 +1,110 @@
+package com.studyplanner.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledPasswordEncoderTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private PooledPasswordEncoder encoder;
+
+	@AfterEach
+	void tearDown() {
+		encoder.destroy();
+	}
+
+	@Test
+	void encodeAndMatches_ShouldDelegateAndRecordTimers() {
+		// Given
+		encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, registry);
+
+		// When
+		String hash = encoder.encode("secret");
+
+		// Then
+		assertThat(encoder.matches("secret", hash)).isTrue();
+		assertThat(encoder.matches("wrong", hash)).isFalse();
+		assertThat(registry.get("password.hash.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+		assertThat(registry.get("password.hash.duration").tag("operation", "matches").timer().count()).isEqualTo(2);
+		assertThat(registry.get("password.hash.queue").tag("operation", "matches").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void upgradeEncoding_WhenStrengthIncreased_ShouldRequestRehash() {
+		// Given
+		String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+		encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, registry);
+
+		// When/Then
+		assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+		assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+	}
+
+	@Test
+	void encodeAll_ShouldHashEveryPasswordInOrder() {
+		// Given
+		encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), 2, 1, registry);
+
+		// When
+		List<String> hashes = encoder.encodeAll(List.of("a", "b", "c", "d", "e"));
+
+		// Then
+		assertThat(hashes).hasSize(5);
+		assertThat(encoder.matches("a", hashes.get(0))).isTrue();
+		assertThat(encoder.matches("e", hashes.get(4))).isTrue();
+		assertThat(registry.get("password.hash.rejected").counter().count()).isZero();
+	}
+
+	@Test
+	void encode_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+		// Given
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		encoder = new PooledPasswordEncoder(blockingEncoder(started, release), 1, 1, registry);
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+		while (registry.get("password.hash.queue.size").gauge().value() < 1) {
+			Thread.onSpinWait();
+		}
+
+		// When/Then
+		assertThatThrownBy(() -> encoder.encode("c"))
+				.isInstanceOf(LoginOverloadException.class);
+		assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+	}
+
+	private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return rawPassword.toString().equals(encodedPassword);
+			}
+		};
+	}
+}
@@ -0,0 +1,118 @@
+package com.studyplanner.services;
+
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.SessionHeatmapCell;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SessionHeatmapCellRepository;
+import com.studyplanner.utils.ActivityHeatmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityHeatmapServiceTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+	@Mock
+	private SessionHeatmapCellRepository sessionHeatmapCellRepository;
+
+	@InjectMocks
+	private ActivityHeatmapService activityHeatmapService;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+	}
+
+	@Test
+	void onSessionActivity_Created_ShouldUpsertOncePerCellInKeyOrder() {
+		// Given
+		SessionHeatmapCell.Key morning = key(2L, 9, 0);
+		SessionHeatmapCell.Key evening = key(1L, 21, 30);
+		SessionActivityEvent event = new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED, List.of(
+				new SessionActivityEvent.Activity(MONDAY, 45, 9, 0, 2L),
+				new SessionActivityEvent.Activity(MONDAY, 30, 9, 10, 2L),
+				new SessionActivityEvent.Activity(MONDAY, 60, 21, 30, 1L),
+				new SessionActivityEvent.Activity(MONDAY, 20, null, null, 1L)));
+
+		// When
+		activityHeatmapService.onSessionActivity(event);
+
+		// Then
+		InOrder inOrder = inOrder(sessionHeatmapCellRepository);
+		inOrder.verify(sessionHeatmapCellRepository).upsert(1L, 1L, evening.getCell(), 1);
+		inOrder.verify(sessionHeatmapCellRepository).upsert(1L, 2L, morning.getCell(), 2);
+		verify(sessionHeatmapCellRepository, never()).increment(any(), anyInt());
+		verify(sessionHeatmapCellRepository, never()).deleteIfEmpty(any());
+	}
+
+	@Test
+	void onSessionActivity_DeletedFromMissingCell_ShouldNotDeleteAnything() {
+		// Given
+		SessionHeatmapCell.Key key = key(2L, 9, 0);
+		when(sessionHeatmapCellRepository.increment(key, -1)).thenReturn(0);
+		SessionActivityEvent event = new SessionActivityEvent(1L, SessionActivityEvent.Type.DELETED, List.of(
+				new SessionActivityEvent.Activity(MONDAY, 45, 9, 0, 2L)));
+
+		// When
+		activityHeatmapService.onSessionActivity(event);
+
+		// Then
+		verify(sessionHeatmapCellRepository, never()).deleteIfEmpty(any());
+		verify(sessionHeatmapCellRepository, never()).upsert(any(), any(), anyShort(), anyInt());
+	}
+
+	@Test
+	void onSessionActivity_Deleted_ShouldDecrementAndDropEmptyCell() {
+		// Given
+		SessionHeatmapCell.Key key = key(2L, 9, 0);
+		when(sessionHeatmapCellRepository.increment(key, -1)).thenReturn(1);
+		SessionActivityEvent event = new SessionActivityEvent(1L, SessionActivityEvent.Type.DELETED, List.of(
+				new SessionActivityEvent.Activity(MONDAY, 45, 9, 0, 2L)));
+
+		// When
+		activityHeatmapService.onSessionActivity(event);
+
+		// Then
+		verify(sessionHeatmapCellRepository).deleteIfEmpty(key);
+	}
+
+	@Test
+	void heatmap_ShouldRebuildGridFromStoredCells() {
+		// Given
+		when(sessionHeatmapCellRepository.findByIdUserIdAndIdSubjectId(1L, 2L)).thenReturn(List.of(
+				new SessionHeatmapCell(key(2L, 9, 0), 3),
+				new SessionHeatmapCell(key(2L, 9, 45), 1)));
+
+		// When
+		ActivityHeatmap heatmap = activityHeatmapService.heatmap(testUser, 2L);
+
+		// Then
+		assertThat(heatmap.grid(1)[0][9]).isEqualTo(4);
+		assertThat(heatmap.total()).isEqualTo(4);
+		verify(sessionHeatmapCellRepository, never()).findByIdUserId(any());
+	}
+
+	private static SessionHeatmapCell.Key key(Long subjectId, int hour, int minute) {
+		return new SessionHeatmapCell.Key(1L, subjectId, (short) ActivityHeatmap.cell(MONDAY, hour, minute));
+	}
+}
@@ -0,0 +1,137 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.CohortPercentiles;
+import com.studyplanner.dto.UserActivityTotals;
+import com.studyplanner.dto.UserMinutes;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CohortPercentileServiceTest {
+
+	// Mercredi de la semaine ISO 2025-W12, qui commence le lundi 17 mars.
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 19);
+	private static final LocalDate MONDAY = LocalDate.of(2025, 3, 17);
+	// Utilisateurs 1 à 4 : régularités 10, 5, 0 et 10 ; durées moyennes 30, 80, 50 et 30 minutes.
+	private static final List<UserActivityTotals> ACTIVITY_TOTALS = List.of(
+			new UserActivityTotals(1L, 2L, 120L, 7_200L, 4L),
+			new UserActivityTotals(2L, 2L, 80L, 4_000L, 1L),
+			new UserActivityTotals(3L, 2L, 100L, 10_000L, 2L),
+			new UserActivityTotals(4L, 1L, 30L, 900L, 1L));
+
+	@Mock
+	private DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private CohortPercentileService cohortPercentileService;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		when(dailyStudyTotalRepository.findActivityTotalsByUser()).thenReturn(ACTIVITY_TOTALS);
+		when(dailyStudyTotalRepository.sumMinutesByUserBetween(MONDAY, MONDAY.plusDays(6))).thenReturn(List.of(
+				new UserMinutes(1L, 90L),
+				new UserMinutes(2L, 30L),
+				new UserMinutes(3L, 200L)));
+	}
+
+	@Test
+	void percentiles_ShouldRankUserAgainstCohortBuiltOnFirstUse() {
+		// When
+		CohortPercentiles percentiles = cohortPercentileService.percentiles(testUser, TODAY);
+
+		// Then
+		assertThat(percentiles.week()).isEqualTo("2025-W12");
+		assertThat(percentiles.weeklyMinutes()).isEqualTo(new CohortPercentiles.Rank(90, 50.0, 4));
+		assertThat(percentiles.consistencyScore()).isEqualTo(new CohortPercentiles.Rank(10.0, 50.0, 4));
+		assertThat(percentiles.averageSessionMinutes()).isEqualTo(new CohortPercentiles.Rank(30, 0.0, 4));
+		verify(dailyStudyTotalRepository, times(1)).findActivityTotalsByUser();
+	}
+
+	@Test
+	void onSessionActivity_ShouldMoveUserInDistributionsWithoutRebuilding() {
+		// Given
+		cohortPercentileService.rebuild(TODAY);
+
+		// When
+		cohortPercentileService.onSessionActivity(new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+				List.of(new SessionActivityEvent.Activity(TODAY, 150, 9, 0, 1L))), TODAY);
+		CohortPercentiles percentiles = cohortPercentileService.percentiles(testUser, TODAY);
+
+		// Then
+		assertThat(percentiles.weeklyMinutes().value()).isEqualTo(240);
+		assertThat(percentiles.weeklyMinutes().percentile()).isEqualTo(75.0);
+		assertThat(percentiles.averageSessionMinutes().value()).isEqualTo(54);
+		verify(dailyStudyTotalRepository, times(1)).findActivityTotalsByUser();
+	}
+
+	@Test
+	void rebuild_ShouldReplayWritesCommittedDuringTheRead() {
+		// Given
+		cohortPercentileService.rebuild(TODAY);
+		when(dailyStudyTotalRepository.findActivityTotalsByUser()).thenAnswer(invocation -> {
+			cohortPercentileService.onSessionActivity(new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+					List.of(new SessionActivityEvent.Activity(TODAY, 150, 9, 0, 1L))), TODAY);
+			return ACTIVITY_TOTALS;
+		});
+
+		// When
+		cohortPercentileService.rebuild(TODAY);
+		CohortPercentiles percentiles = cohortPercentileService.percentiles(testUser, TODAY);
+
+		// Then
+		assertThat(percentiles.weeklyMinutes()).isEqualTo(new CohortPercentiles.Rank(240, 75.0, 4));
+		verify(transactionManager, times(2)).commit(any());
+	}
+
+	@Test
+	void onSessionActivity_LastSessionDeleted_ShouldLeaveCohort() {
+		// Given
+		cohortPercentileService.rebuild(TODAY);
+
+		// When
+		cohortPercentileService.onSessionActivity(new SessionActivityEvent(4L, SessionActivityEvent.Type.DELETED,
+				List.of(new SessionActivityEvent.Activity(MONDAY.minusDays(3), 30, 9, 0, 1L))), TODAY);
+		CohortPercentiles percentiles = cohortPercentileService.percentiles(testUser, TODAY);
+
+		// Then
+		assertThat(percentiles.weeklyMinutes()).isEqualTo(new CohortPercentiles.Rank(90, 33.3, 3));
+		assertThat(percentiles.consistencyScore().cohortSize()).isEqualTo(3);
+	}
+
+	@Test
+	void percentiles_InNewWeek_ShouldResetWeeklyMinutes() {
+		// Given
+		cohortPercentileService.rebuild(TODAY);
+
+		// When
+		CohortPercentiles percentiles = cohortPercentileService.percentiles(testUser, MONDAY.plusWeeks(1));
+
+		// Then
+		assertThat(percentiles.week()).isEqualTo("2025-W13");
+		assertThat(percentiles.weeklyMinutes()).isEqualTo(new CohortPercentiles.Rank(0, 0.0, 4));
+	}
+}
@@ -0,0 +1,141 @@
+package com.studyplanner.services;
+
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.DailyStudyTotal;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.repositories.StudySessionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyTotalsServiceTest {
+
+	@Mock
+	private DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	@Mock
+	private StudySessionRepository studySessionRepository;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@InjectMocks
+	private DailyTotalsService dailyTotalsService;
+
+	private User testUser;
+	private Subject testSubject;
+	private LocalDate day;
+
+	@BeforeEach
+	void setUp() {
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		testSubject = Subject.builder()
+				.id(1L)
+				.name("Maths")
+				.user(testUser)
+				.build();
+		day = LocalDate.of(2025, 1, 15);
+	}
+
+	@Test
+	void recordSession_ShouldUpsertRollupAndAddHourCounts() {
+		// Given
+		when(dailyStudyTotalRepository.findHourCounts(1L, day)).thenReturn("0,0,0,0,0,0,0,0,0,0,2,0,0,0,0,0,0,0,0,0,0,0,0,0");
+
+		// When
+		dailyTotalsService.recordSession(session(45, 10));
+
+		// Then
+		verify(dailyStudyTotalRepository).upsert(1L, day, 45, 1, "0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0");
+		verify(dailyStudyTotalRepository).updateHourCounts(1L, day, "0,0,0,0,0,0,0,0,0,0,3,0,0,0,0,0,0,0,0,0,0,0,0,0");
+		verify(dailyStudyTotalRepository, never()).save(any());
+		verify(eventPublisher).publishEvent(new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+				List.of(new SessionActivityEvent.Activity(day, 45, 10, null, 1L))));
+	}
+
+	@Test
+	void recordSessions_WithoutStartHour_ShouldOnlyUpsertTotals() {
+		// When
+		dailyTotalsService.recordSessions(List.of(session(20, null), session(30, null)));
+
+		// Then
+		verify(dailyStudyTotalRepository).upsert(1L, day, 50, 2, "0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0");
+		verify(dailyStudyTotalRepository, never()).findHourCounts(any(), any());
+		verify(dailyStudyTotalRepository, never()).updateHourCounts(any(), any(), any());
+	}
+
+	@Test
+	void removeSession_WithSeveralSessions_ShouldDecrement() {
+		// Given
+		DailyStudyTotal existing = DailyStudyTotal.builder()
+				.user(testUser)
+				.date(day)
+				.minutes(90)
+				.sessionCount(2)
+				.build();
+		existing.getHourCounts()[10] = 2;
+		when(dailyStudyTotalRepository.findByUserAndDate(testUser, day)).thenReturn(Optional.of(existing));
+
+		// When
+		dailyTotalsService.removeSession(session(45, 10));
+
+		// Then
+		assertThat(existing.getMinutes()).isEqualTo(45);
+		assertThat(existing.getSessionCount()).isEqualTo(1);
+		assertThat(existing.getHourCounts()[10]).isEqualTo(1);
+		verify(dailyStudyTotalRepository).save(existing);
+	}
+
+	@Test
+	void removeSession_WithLastSession_ShouldDeleteRollup() {
+		// Given
+		DailyStudyTotal existing = DailyStudyTotal.builder()
+				.user(testUser)
+				.date(day)
+				.minutes(45)
+				.sessionCount(1)
+				.build();
+		when(dailyStudyTotalRepository.findByUserAndDate(testUser, day)).thenReturn(Optional.of(existing));
+
+		// When
+		dailyTotalsService.removeSession(session(45, 10));
+
+		// Then
+		verify(dailyStudyTotalRepository).delete(existing);
+		verify(dailyStudyTotalRepository, never()).save(any());
+		verify(eventPublisher).publishEvent(new SessionActivityEvent(1L, SessionActivityEvent.Type.DELETED,
+				List.of(new SessionActivityEvent.Activity(day, 45, 10, null, 1L))));
+	}
+
+	private StudySession session(int minutes, Integer startHour) {
+		return StudySession.builder()
+				.user(testUser)
+				.subject(testSubject)
+				.durationMinutes(minutes)
+				.date(day)
+				.startHour(startHour)
+				.build();
+	}
+}
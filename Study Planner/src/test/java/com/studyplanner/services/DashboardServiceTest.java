@@ -0,0 +1,226 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.CohortPercentiles;
+import com.studyplanner.dto.DashboardView;
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.StatsPageView;
+import com.studyplanner.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+	private static final Duration PANEL_TIMEOUT = Duration.ofMillis(200);
+
+	@Mock
+	private SubjectService subjectService;
+
+	@Mock
+	private StudySessionService studySessionService;
+
+	@Mock
+	private StatsService statsService;
+
+	@Mock
+	private CohortPercentileService cohortPercentileService;
+
+	private SimpleMeterRegistry meterRegistry;
+	private DashboardService dashboardService;
+	private User testUser;
+	private ProductivityReport report;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		dashboardService = new DashboardService(subjectService, studySessionService, statsService, cohortPercentileService, 4,
+				PANEL_TIMEOUT, meterRegistry);
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		report = ProductivityReport.builder()
+				.productivityScore(72.5)
+				.suggestions(List.of("Continuez ainsi"))
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		SecurityContextHolder.clearContext();
+		dashboardService.destroy();
+	}
+
+	@Test
+	void loadDashboard_ShouldComposeAllPanels() {
+		// Given
+		when(subjectService.countForUser(testUser)).thenReturn(3L);
+		when(studySessionService.countForUser(testUser)).thenReturn(12L);
+		when(statsService.getDailyTotals(testUser, 7)).thenReturn(Map.of("2025-01-10", 45));
+		when(statsService.buildAiReport(testUser)).thenReturn(report);
+
+		// When
+		DashboardView view = dashboardService.loadDashboard(testUser);
+
+		// Then
+		assertThat(view.subjectCount()).isEqualTo(3L);
+		assertThat(view.sessionCount()).isEqualTo(12L);
+		assertThat(view.dailyStats()).containsEntry("2025-01-10", 45);
+		assertThat(view.aiReport()).isSameAs(report);
+		assertThat(view.unavailablePanels()).isEmpty();
+	}
+
+	@Test
+	void loadDashboard_ShouldRunPanelsConcurrently() {
+		// Given
+		CountDownLatch allStarted = new CountDownLatch(4);
+		when(subjectService.countForUser(testUser)).thenAnswer(invocation -> awaitOthers(allStarted, 1L));
+		when(studySessionService.countForUser(testUser)).thenAnswer(invocation -> awaitOthers(allStarted, 2L));
+		when(statsService.getDailyTotals(testUser, 7)).thenAnswer(invocation -> awaitOthers(allStarted, Map.of()));
+		when(statsService.buildAiReport(testUser)).thenAnswer(invocation -> awaitOthers(allStarted, report));
+
+		// When
+		DashboardView view = dashboardService.loadDashboard(testUser);
+
+		// Then
+		assertThat(view.unavailablePanels()).isEmpty();
+		assertThat(view.subjectCount()).isEqualTo(1L);
+		assertThat(view.sessionCount()).isEqualTo(2L);
+	}
+
+	@Test
+	void loadDashboard_WithSlowAndFailingPanels_ShouldDegradeGracefully() {
+		// Given
+		when(subjectService.countForUser(testUser)).thenReturn(3L);
+		when(studySessionService.countForUser(testUser)).thenThrow(new IllegalStateException("base indisponible"));
+		when(statsService.getDailyTotals(testUser, 7)).thenReturn(Map.of());
+		when(statsService.buildAiReport(testUser)).thenAnswer(invocation -> {
+			Thread.sleep(PANEL_TIMEOUT.toMillis() * 10);
+			return report;
+		});
+
+		// When
+		long start = System.nanoTime();
+		DashboardView view = dashboardService.loadDashboard(testUser);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// Then
+		assertThat(elapsedMillis).isLessThan(PANEL_TIMEOUT.toMillis() * 5);
+		assertThat(view.subjectCount()).isEqualTo(3L);
+		assertThat(view.sessionCount()).isNull();
+		assertThat(view.aiReport().getSuggestions()).isNotEmpty();
+		assertThat(view.unavailablePanels()).containsExactly(DashboardService.REPORT, DashboardService.SESSIONS);
+		assertThat(meterRegistry.get("dashboard.panel.degraded").tag("panel", DashboardService.REPORT)
+				.tag("reason", "timeout").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void loadDashboard_WhenPanelTimesOut_ShouldInterruptItsTask() throws Exception {
+		// Given
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(subjectService.countForUser(testUser)).thenReturn(3L);
+		when(studySessionService.countForUser(testUser)).thenReturn(12L);
+		when(statsService.getDailyTotals(testUser, 7)).thenReturn(Map.of());
+		when(statsService.buildAiReport(testUser)).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(PANEL_TIMEOUT.toMillis() * 50);
+			} catch (InterruptedException ex) {
+				interrupted.countDown();
+				throw ex;
+			}
+			return report;
+		});
+
+		// When
+		DashboardView view = dashboardService.loadDashboard(testUser);
+
+		// Then
+		assertThat(view.unavailablePanels()).containsExactly(DashboardService.REPORT);
+		assertThat(interrupted.await(PANEL_TIMEOUT.toMillis() * 5, TimeUnit.MILLISECONDS)).isTrue();
+	}
+
+	@Test
+	void loadDashboard_WhenConcurrencyLimitReached_ShouldDegradeWithoutWaiting() throws Exception {
+		// Given
+		dashboardService.destroy();
+		dashboardService = new DashboardService(subjectService, studySessionService, statsService, cohortPercentileService, 1,
+				PANEL_TIMEOUT, meterRegistry);
+		CountDownLatch release = new CountDownLatch(1);
+		when(subjectService.countForUser(testUser)).thenAnswer(invocation -> {
+			release.await(PANEL_TIMEOUT.toMillis() * 10, TimeUnit.MILLISECONDS);
+			return 3L;
+		});
+
+		// When
+		long start = System.nanoTime();
+		DashboardView view;
+		try {
+			view = dashboardService.loadDashboard(testUser);
+		} finally {
+			release.countDown();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// Then
+		assertThat(elapsedMillis).isLessThan(PANEL_TIMEOUT.toMillis() * 5);
+		assertThat(view.unavailablePanels()).containsExactly(DashboardService.DAILY, DashboardService.REPORT,
+				DashboardService.SESSIONS, DashboardService.SUBJECTS);
+		assertThat(meterRegistry.get("dashboard.panel.degraded").tag("reason", "saturated").counters())
+				.hasSize(3);
+		verifyNoInteractions(studySessionService, statsService);
+	}
+
+	@Test
+	void loadStatsPage_ShouldPropagateSecurityContextToPanels() {
+		// Given
+		Authentication authentication = new TestingAuthenticationToken("testuser", null, "USER");
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+		AtomicReference<Authentication> seenByPanel = new AtomicReference<>();
+		when(statsService.getDailyTotals(testUser, 7)).thenReturn(Map.of());
+		when(statsService.getWeeklyTotals(testUser, 8)).thenAnswer(invocation -> {
+			seenByPanel.set(SecurityContextHolder.getContext().getAuthentication());
+			return Map.of("2025-W02", 120);
+		});
+		when(statsService.buildAiReport(testUser)).thenReturn(report);
+		CohortPercentiles percentiles = new CohortPercentiles("2025-W02",
+				new CohortPercentiles.Rank(120, 72.0, 50), new CohortPercentiles.Rank(6.5, 40.0, 50),
+				new CohortPercentiles.Rank(40, 55.0, 50));
+		when(cohortPercentileService.percentiles(testUser)).thenReturn(percentiles);
+
+		// When
+		StatsPageView view = dashboardService.loadStatsPage(testUser);
+
+		// Then
+		assertThat(seenByPanel.get()).isSameAs(authentication);
+		assertThat(view.weeklyStats()).containsEntry("2025-W02", 120);
+		assertThat(view.percentiles()).isSameAs(percentiles);
+		assertThat(view.unavailablePanels()).isEmpty();
+	}
+
+	private static <T> T awaitOthers(CountDownLatch allStarted, T value) throws InterruptedException {
+		allStarted.countDown();
+		if (!allStarted.await(PANEL_TIMEOUT.toMillis() / 2, TimeUnit.MILLISECONDS)) {
+			throw new IllegalStateException("Panneaux exécutés en série");
+		}
+		return value;
+	}
+}
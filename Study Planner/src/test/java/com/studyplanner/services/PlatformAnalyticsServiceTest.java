@@ -0,0 +1,189 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.PlatformAnalytics;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.PlatformDailyStats;
+import com.studyplanner.repositories.PlatformDailyStatsRepository;
+import com.studyplanner.repositories.UserRepository;
+import com.studyplanner.utils.HyperLogLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformAnalyticsServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 19);
+
+	@Mock
+	private PlatformDailyStatsRepository platformDailyStatsRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private PlatformAnalyticsService platformAnalyticsService;
+
+	private PlatformDailyStats stored;
+
+	@Test
+	void analytics_ShouldAggregateWritesWithoutQueryingDatabase() {
+		// Given
+		platformAnalyticsService.usersRegistered(2, TODAY);
+		platformAnalyticsService.onSessionActivity(created(1L, 45, 30), TODAY);
+		platformAnalyticsService.onSessionActivity(created(2L, 60), TODAY);
+		platformAnalyticsService.onSessionActivity(deleted(2L), TODAY);
+		platformAnalyticsService.onSessionActivity(created(3L, 20), TODAY.minusDays(3));
+		platformAnalyticsService.onSessionActivity(created(4L, 10), TODAY.minusDays(20));
+		platformAnalyticsService.onSessionActivity(created(5L, 10), TODAY.minusDays(40));
+
+		// When
+		PlatformAnalytics analytics = platformAnalyticsService.analytics(TODAY.atTime(10, 0));
+
+		// Then
+		assertThat(analytics.totalUsers()).isEqualTo(2);
+		assertThat(analytics.activeUsersToday()).isEqualTo(2);
+		assertThat(analytics.activeUsers7Days()).isEqualTo(3);
+		assertThat(analytics.activeUsers30Days()).isEqualTo(4);
+		assertThat(analytics.sessionsPerHourToday()).isEqualTo(0.3);
+		assertThat(analytics.days()).hasSize(30);
+		assertThat(analytics.days().get(29)).isEqualTo(new PlatformAnalytics.Day(TODAY, 3, 135, 2, 2));
+		assertThat(analytics.days().get(0).date()).isEqualTo(TODAY.minusDays(29));
+		verifyNoInteractions(platformDailyStatsRepository, userRepository);
+	}
+
+	@Test
+	void load_ShouldAddSavedDaysToCountersUpdatedBeforeStartup() {
+		// Given
+		HyperLogLog saved = new HyperLogLog();
+		saved.add(7L);
+		when(userRepository.count()).thenReturn(40L);
+		when(platformDailyStatsRepository.findByDateGreaterThanEqual(TODAY.minusDays(29)))
+				.thenReturn(List.of(new PlatformDailyStats(TODAY, 4, 100, 1, saved.toBytes())));
+		platformAnalyticsService.onSessionActivity(created(8L, 25), TODAY);
+
+		// When
+		platformAnalyticsService.load(TODAY);
+
+		// Then
+		PlatformAnalytics analytics = platformAnalyticsService.analytics(TODAY.atTime(12, 0));
+		assertThat(analytics.totalUsers()).isEqualTo(40);
+		assertThat(analytics.days().get(29)).isEqualTo(new PlatformAnalytics.Day(TODAY, 5, 125, 1, 2));
+	}
+
+	@Test
+	void checkpoint_ShouldAddOnlyCountsSinceLastCheckpoint() {
+		// Given
+		when(platformDailyStatsRepository.findByDateGreaterThanEqual(any())).thenReturn(List.of());
+		when(platformDailyStatsRepository.lockByDate(TODAY)).thenAnswer(invocation -> Optional.of(stored));
+		platformAnalyticsService.onSessionActivity(created(1L, 30), TODAY);
+		platformAnalyticsService.checkpoint(TODAY);
+		verifyNoInteractions(platformDailyStatsRepository);
+		platformAnalyticsService.load(TODAY);
+
+		// When
+		stored = new PlatformDailyStats(TODAY, 1, 30, 0, new HyperLogLog().toBytes());
+		platformAnalyticsService.checkpoint(TODAY);
+		platformAnalyticsService.checkpoint(TODAY);
+		platformAnalyticsService.onSessionActivity(created(2L, 15), TODAY);
+		stored = new PlatformDailyStats(TODAY, 2, 45, 0, stored.getActiveUsers());
+		platformAnalyticsService.checkpoint(TODAY);
+
+		// Then
+		InOrder inOrder = inOrder(platformDailyStatsRepository);
+		inOrder.verify(platformDailyStatsRepository).addCounters(eq(TODAY), eq(1L), eq(30L), eq(0L), any());
+		inOrder.verify(platformDailyStatsRepository).addCounters(eq(TODAY), eq(1L), eq(15L), eq(0L), any());
+		verify(platformDailyStatsRepository, times(2)).addCounters(any(), anyLong(), anyLong(), anyLong(), any());
+		assertThat(HyperLogLog.fromBytes(stored.getActiveUsers()).estimate()).isEqualTo(2);
+		assertThat(platformAnalyticsService.analytics(TODAY.atTime(12, 0)).days().get(29))
+				.isEqualTo(new PlatformAnalytics.Day(TODAY, 2, 45, 0, 2));
+	}
+
+	@Test
+	void checkpoint_ShouldMergeCountsSavedByOtherInstances() {
+		// Given
+		HyperLogLog otherInstance = new HyperLogLog();
+		otherInstance.add(9L);
+		when(platformDailyStatsRepository.findByDateGreaterThanEqual(any())).thenReturn(List.of());
+		platformAnalyticsService.load(TODAY);
+		platformAnalyticsService.onSessionActivity(created(1L, 30), TODAY);
+		stored = new PlatformDailyStats(TODAY, 5, 130, 2, otherInstance.toBytes());
+		when(platformDailyStatsRepository.lockByDate(TODAY)).thenReturn(Optional.of(stored));
+
+		// When
+		platformAnalyticsService.checkpoint(TODAY);
+
+		// Then
+		assertThat(HyperLogLog.fromBytes(stored.getActiveUsers()).estimate()).isEqualTo(2);
+		assertThat(platformAnalyticsService.analytics(TODAY.atTime(12, 0)).days().get(29))
+				.isEqualTo(new PlatformAnalytics.Day(TODAY, 5, 130, 2, 2));
+	}
+
+	@Test
+	void checkpoint_WhenSaveFails_ShouldKeepCountsToSave() {
+		// Given
+		when(platformDailyStatsRepository.findByDateGreaterThanEqual(any())).thenReturn(List.of());
+		platformAnalyticsService.load(TODAY);
+		platformAnalyticsService.onSessionActivity(created(1L, 30), TODAY);
+		when(platformDailyStatsRepository.addCounters(any(), anyLong(), anyLong(), anyLong(), any()))
+				.thenThrow(new IllegalStateException("Base indisponible"))
+				.thenReturn(1);
+		when(platformDailyStatsRepository.lockByDate(TODAY))
+				.thenReturn(Optional.of(new PlatformDailyStats(TODAY, 1, 30, 0, new HyperLogLog().toBytes())));
+
+		// When
+		assertThatThrownBy(() -> platformAnalyticsService.checkpoint(TODAY)).isInstanceOf(IllegalStateException.class);
+		platformAnalyticsService.checkpoint(TODAY);
+
+		// Then
+		verify(platformDailyStatsRepository, times(2)).addCounters(eq(TODAY), eq(1L), eq(30L), eq(0L), any());
+	}
+
+	@Test
+	void checkpoint_ShouldEvictDaysOutsideRetentionWindow() {
+		// Given
+		when(platformDailyStatsRepository.findByDateGreaterThanEqual(any())).thenReturn(List.of());
+		when(platformDailyStatsRepository.lockByDate(TODAY.minusDays(29))).thenReturn(Optional.of(
+				new PlatformDailyStats(TODAY.minusDays(29), 1, 30, 0, new HyperLogLog().toBytes())));
+		platformAnalyticsService.load(TODAY);
+		platformAnalyticsService.onSessionActivity(created(1L, 30), TODAY.minusDays(29));
+
+		// When
+		platformAnalyticsService.checkpoint(TODAY.plusDays(1));
+
+		// Then
+		PlatformAnalytics analytics = platformAnalyticsService.analytics(TODAY.atTime(12, 0));
+		assertThat(analytics.activeUsers30Days()).isZero();
+	}
+
+	private static SessionActivityEvent created(Long userId, int... durations) {
+		List<SessionActivityEvent.Activity> activities = Arrays.stream(durations)
+				.mapToObj(duration -> new SessionActivityEvent.Activity(TODAY, duration, null, null, 10L))
+				.toList();
+		return new SessionActivityEvent(userId, SessionActivityEvent.Type.CREATED, activities);
+	}
+
+	private static SessionActivityEvent deleted(Long userId) {
+		return new SessionActivityEvent(userId, SessionActivityEvent.Type.DELETED,
+				List.of(new SessionActivityEvent.Activity(TODAY, 60, null, null, 10L)));
+	}
+}
@@ -0,0 +1,130 @@
+package com.studyplanner.services;
+
+import com.studyplanner.config.CacheConfig;
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.utils.ActivityHeatmap;
+import com.studyplanner.utils.ProductivityAnalyzer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, StatsService.class, StudySessionService.class, SimpleMeterRegistry.class})
+class ProductivityReportCacheTest {
+
+	@MockitoBean
+	private StudySessionRepository studySessionRepository;
+
+	@MockitoBean
+	private DailyTotalsService dailyTotalsService;
+
+	@MockitoBean
+	private WeeklyTotalsService weeklyTotalsService;
+
+	@MockitoBean
+	private ActivityHeatmapService activityHeatmapService;
+
+	@MockitoBean
+	private StudyStreakService studyStreakService;
+
+	@MockitoBean
+	private ProductivityAnalyzer productivityAnalyzer;
+
+	@MockitoBean
+	private SessionWriteBehindService sessionWriteBehindService;
+
+	@MockitoBean
+	private SessionBatchService sessionBatchService;
+
+	@MockitoBean
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private StatsService statsService;
+
+	@Autowired
+	private StudySessionService studySessionService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCache(CacheConfig.PRODUCTIVITY_REPORTS).clear();
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		when(studySessionRepository.findByUser(testUser)).thenReturn(List.of());
+		when(productivityAnalyzer.analyze(anyList()))
+				.thenAnswer(invocation -> ProductivityReport.builder().suggestions(List.of()).build());
+		when(activityHeatmapService.heatmap(testUser, null)).thenReturn(new ActivityHeatmap());
+		when(studyStreakService.streaks(testUser)).thenReturn(new StreakStats(0, 0, null));
+	}
+
+	@Test
+	void buildAiReport_ShouldBeServedFromCacheOnSecondCall() {
+		// When
+		ProductivityReport first = statsService.buildAiReport(testUser);
+		ProductivityReport second = statsService.buildAiReport(testUser);
+
+		// Then
+		assertThat(second).isSameAs(first);
+		verify(studySessionRepository, times(1)).findByUser(testUser);
+	}
+
+	@Test
+	void saveSession_ShouldInvalidateUserReport() {
+		// Given
+		Subject subject = Subject.builder().id(1L).name("Maths").user(testUser).build();
+		StudySessionDTO dto = new StudySessionDTO();
+		dto.setDurationMinutes(30);
+		dto.setDate(LocalDate.of(2025, 1, 15));
+		when(studySessionRepository.save(any(StudySession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		ProductivityReport before = statsService.buildAiReport(testUser);
+
+		// When
+		studySessionService.saveSession(testUser, subject, dto);
+		ProductivityReport after = statsService.buildAiReport(testUser);
+
+		// Then
+		assertThat(after).isNotSameAs(before);
+		verify(studySessionRepository, times(2)).findByUser(testUser);
+	}
+
+	@Test
+	void deleteSession_ShouldInvalidateUserReport() {
+		// Given
+		StudySession session = StudySession.builder().id(5L).user(testUser).date(LocalDate.of(2025, 1, 15)).build();
+		when(studySessionRepository.findById(5L)).thenReturn(Optional.of(session));
+		statsService.buildAiReport(testUser);
+
+		// When
+		studySessionService.deleteSession(testUser, 5L);
+		statsService.buildAiReport(testUser);
+
+		// Then
+		verify(studySessionRepository, times(2)).findByUser(testUser);
+	}
+}
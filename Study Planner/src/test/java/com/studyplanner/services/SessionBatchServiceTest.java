@@ -0,0 +1,241 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.SessionBatchReport;
+import com.studyplanner.dto.SessionBatchReport.Status;
+import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionBatchServiceTest {
+
+	@Mock
+	private SubjectRepository subjectRepository;
+
+	@Mock
+	private StudySessionRepository studySessionRepository;
+
+	@Mock
+	private StudySessionBatchWriter batchWriter;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Captor
+	private ArgumentCaptor<List<StudySession>> inserted;
+
+	private SessionBatchService sessionBatchService;
+	private User testUser;
+	private Subject testSubject;
+
+	@BeforeEach
+	void setUp() {
+		sessionBatchService = new SessionBatchService(subjectRepository, studySessionRepository, batchWriter,
+				transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), 3, 1_000, Duration.ofMinutes(10));
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		testSubject = Subject.builder()
+				.id(10L)
+				.name("Maths")
+				.user(testUser)
+				.build();
+	}
+
+	@Test
+	void createAll_ShouldInsertNewKeysOnceAndReportInBatchDuplicates() {
+		// Given
+		when(subjectRepository.findByUserAndIdIn(testUser, Set.of(10L))).thenReturn(List.of(testSubject));
+		assignIdsOnInsert();
+
+		// When
+		SessionBatchReport report = sessionBatchService.createAll(testUser,
+				List.of(dto("a", 1), dto("b", 2), dto("a", 1)));
+
+		// Then
+		assertThat(report.created()).isEqualTo(2);
+		assertThat(report.duplicates()).isEqualTo(1);
+		assertThat(report.rows()).extracting(SessionBatchReport.RowResult::status)
+				.containsExactly(Status.CREATED, Status.CREATED, Status.DUPLICATE);
+		assertThat(report.rows().get(2).session()).isEqualTo(report.rows().get(0).session());
+		verify(batchWriter).insertAll(inserted.capture());
+		assertThat(inserted.getValue()).extracting(StudySession::getIdempotencyKey).containsExactly("a", "b");
+		verify(transactionManager).commit(any());
+	}
+
+	@Test
+	void createAll_ShouldReturnSessionAlreadyStoredForKey() {
+		// Given
+		StudySession stored = StudySession.builder()
+				.id(7L)
+				.user(testUser)
+				.subject(testSubject)
+				.durationMinutes(25)
+				.date(LocalDate.of(2025, 1, 1))
+				.idempotencyKey("a")
+				.build();
+		when(studySessionRepository.findByUserAndIdempotencyKeyIn(eq(testUser), anyCollection())).thenReturn(List.of(stored));
+
+		// When
+		SessionBatchReport report = sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+
+		// Then
+		assertThat(report.rows()).singleElement().satisfies(row -> {
+			assertThat(row.status()).isEqualTo(Status.DUPLICATE);
+			assertThat(row.session().id()).isEqualTo(7L);
+		});
+		verifyNoInteractions(subjectRepository);
+		verify(batchWriter).insertAll(List.of());
+	}
+
+	@Test
+	void createAll_ShouldAnswerRecentKeysWithoutQuery() {
+		// Given
+		when(subjectRepository.findByUserAndIdIn(testUser, Set.of(10L))).thenReturn(List.of(testSubject));
+		assignIdsOnInsert();
+		sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+		clearInvocations(studySessionRepository);
+		clearInvocations(subjectRepository);
+
+		// When
+		SessionBatchReport retry = sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+
+		// Then
+		assertThat(retry.rows()).extracting(SessionBatchReport.RowResult::status).containsExactly(Status.DUPLICATE);
+		verifyNoInteractions(studySessionRepository, subjectRepository);
+	}
+
+	@Test
+	void createAll_AfterSessionDeleted_ShouldRecreateItForSameKey() {
+		// Given
+		when(subjectRepository.findByUserAndIdIn(testUser, Set.of(10L))).thenReturn(List.of(testSubject));
+		assignIdsOnInsert();
+		sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+
+		// When
+		sessionBatchService.forget(testUser, "a");
+		SessionBatchReport retry = sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+
+		// Then
+		assertThat(retry.rows()).extracting(SessionBatchReport.RowResult::status).containsExactly(Status.CREATED);
+		verify(studySessionRepository, times(2)).findByUserAndIdempotencyKeyIn(testUser, Set.of("a"));
+	}
+
+	@Test
+	void createAll_WhenConcurrentRequestWinsKey_ShouldRetryAndReportDuplicate() {
+		// Given
+		StudySession winner = StudySession.builder()
+				.id(9L)
+				.user(testUser)
+				.subject(testSubject)
+				.date(LocalDate.of(2025, 1, 1))
+				.idempotencyKey("a")
+				.build();
+		when(subjectRepository.findByUserAndIdIn(testUser, Set.of(10L))).thenReturn(List.of(testSubject));
+		when(studySessionRepository.findByUserAndIdempotencyKeyIn(eq(testUser), anyCollection()))
+				.thenReturn(List.of())
+				.thenReturn(List.of(winner));
+		when(batchWriter.insertAll(anyList()))
+				.thenThrow(new DataIntegrityViolationException("uk_study_sessions_user_idempotency_key"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When
+		SessionBatchReport report = sessionBatchService.createAll(testUser, List.of(dto("a", 1)));
+
+		// Then
+		assertThat(report.created()).isZero();
+		assertThat(report.rows().get(0).session().id()).isEqualTo(9L);
+		verify(transactionManager).rollback(any());
+	}
+
+	@Test
+	void createAll_WhenAnotherConstraintFails_ShouldNotRetry() {
+		// Given
+		when(subjectRepository.findByUserAndIdIn(testUser, Set.of(10L))).thenReturn(List.of(testSubject));
+		when(batchWriter.insertAll(anyList()))
+				.thenThrow(new DataIntegrityViolationException("fk_study_sessions_subject"));
+
+		// When/Then
+		assertThatThrownBy(() -> sessionBatchService.createAll(testUser, List.of(dto("a", 1))))
+				.isInstanceOf(DataIntegrityViolationException.class);
+		verify(batchWriter, times(1)).insertAll(anyList());
+	}
+
+	@Test
+	void createAll_WithForeignSubject_ShouldRejectWholeBatch() {
+		// Given
+		when(subjectRepository.findByUserAndIdIn(eq(testUser), anyCollection())).thenReturn(List.of());
+
+		// When/Then
+		assertThatThrownBy(() -> sessionBatchService.createAll(testUser, List.of(dto("a", 1))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Matière introuvable");
+		verifyNoInteractions(batchWriter);
+	}
+
+	@Test
+	void createAll_WithInvalidRows_ShouldThrowException() {
+		// Given
+		StudySessionDTO withoutKey = dto(null, 1);
+		StudySessionDTO withoutDuration = dto("b", 1);
+		withoutDuration.setDurationMinutes(0);
+
+		// When/Then
+		assertThatThrownBy(() -> sessionBatchService.createAll(testUser, List.of(withoutKey)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("clé d'idempotence");
+		assertThatThrownBy(() -> sessionBatchService.createAll(testUser, List.of(dto("a", 1), withoutDuration)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Session 2");
+		assertThatThrownBy(() -> sessionBatchService.createAll(testUser,
+				List.of(dto("a", 1), dto("b", 1), dto("c", 1), dto("d", 1))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("maximum 3");
+		verifyNoInteractions(transactionManager);
+	}
+
+	private void assignIdsOnInsert() {
+		AtomicLong ids = new AtomicLong();
+		when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+			List<StudySession> sessions = invocation.getArgument(0);
+			sessions.forEach(session -> session.setId(ids.incrementAndGet()));
+			return sessions;
+		});
+	}
+
+	private StudySessionDTO dto(String idempotencyKey, int day) {
+		StudySessionDTO dto = new StudySessionDTO();
+		dto.setSubjectId(testSubject.getId());
+		dto.setDurationMinutes(25);
+		dto.setDate(LocalDate.of(2025, 1, day));
+		dto.setIdempotencyKey(idempotencyKey);
+		return dto;
+	}
+}
@@ -0,0 +1,97 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionExportServiceTest {
+
+	@Mock
+	private StudySessionRepository studySessionRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SessionExportService sessionExportService;
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		sessionExportService = new SessionExportService(studySessionRepository, transactionManager,
+				JsonMapper.builder().build());
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+	}
+
+	@Test
+	void exportCsv_ShouldWriteHeaderAndEscapedRowsAndCloseStream() throws Exception {
+		// Given
+		AtomicBoolean closed = new AtomicBoolean();
+		when(studySessionRepository.streamViewsByUser(testUser)).thenReturn(Stream.of(
+				new SessionView(1L, LocalDate.of(2025, 1, 10), 9, 30, 45, 10L, "Maths"),
+				new SessionView(2L, LocalDate.of(2025, 1, 11), null, null, 60, 11L, "Physique, \"chimie\""))
+				.onClose(() -> closed.set(true)));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// When
+		sessionExportService.exportCsv(testUser, output);
+
+		// Then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+				subjectId,date,durationMinutes,startHour,startMinute,id,subjectName
+				10,2025-01-10,45,9,30,1,Maths
+				11,2025-01-11,60,,,2,"Physique, ""chimie\"""
+				""");
+		assertThat(closed).isTrue();
+	}
+
+	@Test
+	void exportNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+		// Given
+		when(studySessionRepository.streamViewsByUser(testUser)).thenReturn(Stream.of(
+				new SessionView(1L, LocalDate.of(2025, 1, 10), 9, 30, 45, 10L, "Maths"),
+				new SessionView(2L, LocalDate.of(2025, 1, 11), null, null, 60, 11L, "Physique")));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// When
+		sessionExportService.exportNdjson(testUser, output);
+
+		// Then
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).contains("\"id\":1", "\"date\":\"2025-01-10\"", "\"subjectName\":\"Maths\"");
+		assertThat(lines[1]).contains("\"id\":2", "\"durationMinutes\":60");
+	}
+
+	@Test
+	void exportCsv_WithoutSessions_ShouldWriteHeaderOnly() throws Exception {
+		// Given
+		when(studySessionRepository.streamViewsByUser(testUser)).thenReturn(Stream.empty());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// When
+		sessionExportService.exportCsv(testUser, output);
+
+		// Then
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(SessionExportService.CSV_HEADER + "\n");
+	}
+}
@@ -0,0 +1,172 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.ImportReport;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SubjectRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionImportServiceTest {
+
+	@Mock
+	private SubjectRepository subjectRepository;
+
+	@Mock
+	private StudySessionBatchWriter batchWriter;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SessionImportService sessionImportService;
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		sessionImportService = new SessionImportService(subjectRepository, batchWriter, transactionManager,
+				Validation.buildDefaultValidatorFactory().getValidator(), JsonMapper.builder().build());
+		ReflectionTestUtils.setField(sessionImportService, "chunkSize", 2);
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		when(subjectRepository.findByUser(testUser)).thenReturn(List.of(
+				Subject.builder().id(10L).name("Maths").user(testUser).build(),
+				Subject.builder().id(11L).name("Physique").user(testUser).build()));
+	}
+
+	@Test
+	void importCsv_ShouldImportValidRowsAndReportInvalidOnes() throws Exception {
+		// Given
+		String csv = """
+				subjectId,date,durationMinutes,startHour,startMinute
+				10,2025-01-10,45,9,30
+				99,2025-01-11,30,10,0
+				11,not-a-date,30,10,0
+				11,2025-01-12,60,,
+				10,2025-01-13,0,8,0
+				""";
+
+		// When
+		ImportReport report = sessionImportService.importCsv(testUser, stream(csv));
+
+		// Then
+		assertThat(report.totalRows()).isEqualTo(5);
+		assertThat(report.imported()).isEqualTo(2);
+		assertThat(report.failed()).isEqualTo(3);
+		assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(3L, 4L, 6L);
+		assertThat(report.errors().get(0).message()).contains("Matière introuvable");
+		verify(subjectRepository, times(1)).findByUser(testUser);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<StudySession>> captor = ArgumentCaptor.forClass(List.class);
+		verify(batchWriter).insertAll(captor.capture());
+		assertThat(captor.getValue()).extracting(StudySession::getDate)
+				.containsExactly(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 12));
+	}
+
+	@Test
+	void importCsv_WithoutHeader_ShouldUseDefaultColumnOrder() throws Exception {
+		// When
+		ImportReport report = sessionImportService.importCsv(testUser, stream("10,2025-01-10,45,9,30\n"));
+
+		// Then
+		assertThat(report.imported()).isEqualTo(1);
+		assertThat(report.failed()).isZero();
+	}
+
+	@Test
+	void importNdjson_ShouldInsertInChunks() throws Exception {
+		// Given
+		String ndjson = """
+				{"subjectId":10,"date":"2025-01-10","durationMinutes":30,"startHour":9}
+				{"subjectId":11,"date":"2025-01-11","durationMinutes":45}
+				{"subjectId":10,"date":"2025-01-12","durationMinutes":20,"startHour":21}
+				{not json}
+				{"subjectId":10,"date":"2025-01-13","durationMinutes":50,"startHour":25}
+				""";
+
+		// When
+		ImportReport report = sessionImportService.importNdjson(testUser, stream(ndjson));
+
+		// Then
+		assertThat(report.imported()).isEqualTo(3);
+		assertThat(report.failed()).isEqualTo(2);
+		assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(4L, 5L);
+		verify(batchWriter, times(2)).insertAll(anyList());
+	}
+
+	@Test
+	void importCsv_WhenChunkFails_ShouldRetryRowsAndReportOnlyFailingOne() throws Exception {
+		// Given
+		LocalDate rejected = LocalDate.of(2025, 1, 11);
+		when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+			List<StudySession> sessions = invocation.getArgument(0);
+			if (sessions.stream().anyMatch(session -> session.getDate().equals(rejected))) {
+				throw new DataIntegrityViolationException("insert into study_sessions ... fk_study_sessions_subject");
+			}
+			return sessions;
+		});
+		String csv = """
+				10,2025-01-10,45,9,30
+				10,2025-01-11,45,9,30
+				10,2025-01-12,45,9,30
+				""";
+
+		// When
+		ImportReport report = sessionImportService.importCsv(testUser, stream(csv));
+
+		// Then
+		assertThat(report.imported()).isEqualTo(2);
+		assertThat(report.failed()).isEqualTo(1);
+		assertThat(report.errors()).singleElement().satisfies(error -> {
+			assertThat(error.line()).isEqualTo(2L);
+			assertThat(error.message()).isEqualTo("Échec de l'insertion de la session");
+		});
+	}
+
+	@Test
+	void importCsv_WithQuotedFields_ShouldKeepCommasInsideTheirColumn() throws Exception {
+		// Given
+		String csv = "subjectId,note,date,durationMinutes\n"
+				+ "10,\"révision, chapitre \"\"2\"\"\",2025-01-10,45\n"
+				+ "\"11\",\"sans fin,2025-01-11,30\n";
+
+		// When
+		ImportReport report = sessionImportService.importCsv(testUser, stream(csv));
+
+		// Then
+		assertThat(report.imported()).isEqualTo(1);
+		assertThat(report.errors()).singleElement().satisfies(error -> {
+			assertThat(error.line()).isEqualTo(3L);
+			assertThat(error.message()).contains("guillemet non fermé");
+		});
+		assertThat(SessionImportService.splitCsv("10,\"a, \"\"b\"\"\",,x"))
+				.containsExactly("10", "a, \"b\"", "", "x");
+	}
+
+	private InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,260 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.models.SessionJournalCheckpoint;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.SessionJournalCheckpointRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import com.studyplanner.utils.AppendOnlyJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionWriteBehindServiceTest {
+
+	@TempDir
+	private Path directory;
+
+	@Mock
+	private SubjectRepository subjectRepository;
+
+	@Mock
+	private SessionJournalCheckpointRepository checkpointRepository;
+
+	@Mock
+	private StudySessionBatchWriter batchWriter;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private CacheManager cacheManager;
+
+	private SimpleMeterRegistry meterRegistry;
+	private User testUser;
+	private Subject testSubject;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		testSubject = Subject.builder()
+				.id(10L)
+				.name("Mathématiques")
+				.user(testUser)
+				.build();
+	}
+
+	@Test
+	void append_WhenDisabled_ShouldLeaveWriteToCaller() throws Exception {
+		// Given
+		SessionWriteBehindService service = service(false);
+		service.start();
+
+		// When/Then
+		assertThat(service.append(session(LocalDate.of(2025, 1, 15)))).isFalse();
+		verifyNoInteractions(checkpointRepository);
+	}
+
+	@Test
+	void append_ShouldKeepSessionVisibleToItsAuthorUntilFlushed() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		User otherUser = User.builder().id(2L).build();
+
+		// When
+		boolean journaled = service.append(session(LocalDate.of(2025, 1, 15)));
+
+		// Then
+		assertThat(journaled).isTrue();
+		assertThat(service.pendingSessions(testUser)).containsExactly(new SessionWriteBehindService.PendingSession(1L,
+				new SessionView(null, LocalDate.of(2025, 1, 15), 9, 30, 25, 10L, "Mathématiques")));
+		assertThat(service.pendingCount(testUser)).isEqualTo(1);
+		assertThat(service.pendingSessions(otherUser)).isEmpty();
+		verifyNoInteractions(batchWriter);
+	}
+
+	@Test
+	void append_WithSessionTheDatabaseWouldReject_ShouldFailBeforeAcknowledging() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		StudySession outOfRange = session(LocalDate.of(2025, 1, 15));
+		outOfRange.setStartHour(24);
+		StudySession foreignSubject = session(LocalDate.of(2025, 1, 15));
+		foreignSubject.setSubject(Subject.builder().id(11L).user(User.builder().id(2L).build()).build());
+		StudySession farFuture = session(LocalDate.of(10_000, 1, 1));
+
+		// When/Then
+		assertThatThrownBy(() -> service.append(outOfRange)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.append(foreignSubject)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.append(farFuture)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(service.pendingCount(testUser)).isZero();
+		service.stop();
+		assertThat(new AppendOnlyJournal(directory).recover(0)).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flush_ShouldInsertPendingSessionsAndCheckpointInSameTransaction() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		service.append(session(LocalDate.of(2025, 1, 15)));
+		service.append(session(LocalDate.of(2025, 1, 16)));
+		when(subjectRepository.findAllById(List.of(10L))).thenReturn(List.of(testSubject));
+
+		// When
+		service.flush();
+
+		// Then
+		ArgumentCaptor<List<StudySession>> inserted = ArgumentCaptor.forClass(List.class);
+		verify(batchWriter).insertAll(inserted.capture());
+		assertThat(inserted.getValue()).extracting(StudySession::getDate)
+				.containsExactly(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 16));
+		ArgumentCaptor<SessionJournalCheckpoint> checkpoint = ArgumentCaptor.forClass(SessionJournalCheckpoint.class);
+		verify(checkpointRepository).save(checkpoint.capture());
+		assertThat(checkpoint.getValue().getLastSequence()).isEqualTo(2);
+		verify(transactionManager).commit(any());
+		assertThat(service.pendingSessions(testUser)).isEmpty();
+		service.stop();
+		assertThat(new AppendOnlyJournal(directory).recover(0)).isEmpty();
+	}
+
+	@Test
+	void flush_WhenInsertFails_ShouldKeepSessionsPendingAndJournaled() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		service.append(session(LocalDate.of(2025, 1, 15)));
+		when(subjectRepository.findAllById(anyList())).thenThrow(new IllegalStateException("Base indisponible"));
+
+		// When/Then
+		assertThatThrownBy(service::flush).isInstanceOf(IllegalStateException.class);
+		assertThat(service.pendingCount(testUser)).isEqualTo(1);
+		assertThat(new AppendOnlyJournal(directory).recover(0)).hasSize(1);
+	}
+
+	@Test
+	void flush_WhenRowIsRejected_ShouldDeadLetterItAndInsertTheOthers() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		LocalDate rejected = LocalDate.of(2025, 1, 16);
+		service.append(session(LocalDate.of(2025, 1, 15)));
+		service.append(session(rejected));
+		service.append(session(LocalDate.of(2025, 1, 17)));
+		when(subjectRepository.findAllById(List.of(10L))).thenReturn(List.of(testSubject));
+		List<LocalDate> inserted = new ArrayList<>();
+		when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+			List<StudySession> sessions = invocation.getArgument(0);
+			if (sessions.stream().anyMatch(session -> session.getDate().equals(rejected))) {
+				throw new DataIntegrityViolationException("fk_study_sessions_subject");
+			}
+			sessions.forEach(session -> inserted.add(session.getDate()));
+			return sessions;
+		});
+
+		// When
+		service.flush();
+
+		// Then
+		assertThat(inserted).containsExactly(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 17));
+		assertThat(service.pendingCount(testUser)).isZero();
+		assertThat(meterRegistry.counter("sessions.write_behind.dead_letters").count()).isEqualTo(1);
+		ArgumentCaptor<SessionJournalCheckpoint> checkpoints = ArgumentCaptor.forClass(SessionJournalCheckpoint.class);
+		verify(checkpointRepository, atLeastOnce()).save(checkpoints.capture());
+		assertThat(checkpoints.getValue().getLastSequence()).isEqualTo(3);
+		service.stop();
+		assertThat(new AppendOnlyJournal(directory).recover(0)).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void start_ShouldReplayOnlySessionsAfterCheckpoint() throws Exception {
+		// Given
+		SessionWriteBehindService crashed = started();
+		crashed.append(session(LocalDate.of(2025, 1, 15)));
+		crashed.append(session(LocalDate.of(2025, 1, 16)));
+		when(checkpointRepository.findById("test")).thenReturn(Optional.of(new SessionJournalCheckpoint("test", 1)));
+		when(subjectRepository.findAllById(List.of(10L))).thenReturn(List.of(testSubject));
+
+		// When
+		SessionWriteBehindService restarted = service(true);
+		restarted.start();
+
+		// Then
+		ArgumentCaptor<List<StudySession>> inserted = ArgumentCaptor.forClass(List.class);
+		verify(batchWriter).insertAll(inserted.capture());
+		assertThat(inserted.getValue()).singleElement().satisfies(session -> {
+			assertThat(session.getDate()).isEqualTo(LocalDate.of(2025, 1, 16));
+			assertThat(session.getSubject()).isSameAs(testSubject);
+		});
+		assertThat(restarted.append(session(LocalDate.of(2025, 1, 17)))).isTrue();
+		assertThat(restarted.pendingSessions(testUser)).extracting(SessionWriteBehindService.PendingSession::sequence)
+				.containsExactly(3L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flush_ShouldDropSessionsOfDeletedSubjects() throws Exception {
+		// Given
+		SessionWriteBehindService service = started();
+		service.append(session(LocalDate.of(2025, 1, 15)));
+		when(subjectRepository.findAllById(List.of(10L))).thenReturn(List.of());
+
+		// When
+		service.flush();
+
+		// Then
+		ArgumentCaptor<List<StudySession>> inserted = ArgumentCaptor.forClass(List.class);
+		verify(batchWriter).insertAll(inserted.capture());
+		assertThat(inserted.getValue()).isEmpty();
+		assertThat(service.pendingCount(testUser)).isZero();
+	}
+
+	private SessionWriteBehindService started() throws Exception {
+		SessionWriteBehindService service = service(true);
+		service.start();
+		return service;
+	}
+
+	private SessionWriteBehindService service(boolean enabled) {
+		return new SessionWriteBehindService(subjectRepository, checkpointRepository, batchWriter, transactionManager,
+				cacheManager, JsonMapper.builder().build(), meterRegistry, enabled, directory, "test", 500);
+	}
+
+	private StudySession session(LocalDate date) {
+		return StudySession.builder()
+				.user(testUser)
+				.subject(testSubject)
+				.durationMinutes(25)
+				.date(date)
+				.startHour(9)
+				.startMinute(30)
+				.build();
+	}
+}
@@ -0,0 +1,160 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.SessionBatchReport;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.dto.StudySessionDTO;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import com.studyplanner.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Premières écritures concurrentes d'une même journée : aucune ligne dérivée n'existe encore,
+ * aucun verrou de ligne ne peut donc les sérialiser.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionWriteConcurrencyTest {
+
+	private static final int WRITERS = 8;
+
+	@Autowired
+	private StudySessionService studySessionService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	@Autowired
+	private ActivityHeatmapService activityHeatmapService;
+
+	@Autowired
+	private StudyStreakService studyStreakService;
+
+	@Autowired
+	private SessionBatchService sessionBatchService;
+
+	@Autowired
+	private StudySessionRepository studySessionRepository;
+
+	private User user;
+	private Subject subject;
+	private LocalDate day;
+
+	@BeforeEach
+	void setUp() {
+		String name = "concurrent-" + System.nanoTime();
+		user = userRepository.save(User.builder()
+				.username(name)
+				.email(name + "@example.com")
+				.password("secret")
+				.build());
+		subject = subjectRepository.save(Subject.builder().name("Maths").user(user).build());
+		day = LocalDate.of(2025, 1, 15);
+	}
+
+	@Test
+	void saveSession_WithConcurrentFirstWritesOfADay_ShouldAccumulateIntoOneRollupRow() throws Exception {
+		// When
+		saveConcurrently();
+
+		// Then
+		assertThat(dailyStudyTotalRepository.sumMinutesByDate(user, day, day))
+				.containsExactly(new DailyMinutes(day, (long) WRITERS * 25));
+		assertThat(dailyStudyTotalRepository.findHourCounts(user.getId(), day)).startsWith("0,0,0,0,0,0,0,0,0,0," + WRITERS + ",");
+	}
+
+	@Test
+	void saveSession_WithConcurrentFirstWritesOfAHeatmapCell_ShouldCountEverySession() throws Exception {
+		// When
+		saveConcurrently();
+
+		// Then
+		assertThat(activityHeatmapService.heatmap(user, subject.getId()).total()).isEqualTo(WRITERS);
+	}
+
+	@Test
+	void saveSession_WithConcurrentFirstWritesOfAUser_ShouldCreateOneStreak() throws Exception {
+		// When
+		saveConcurrently();
+
+		// Then
+		assertThat(studyStreakService.streaks(user, day)).isEqualTo(new StreakStats(1, 1, day));
+	}
+
+	@Test
+	void createAll_WithConcurrentRequestsForOneKey_ShouldCreateOneSession() throws Exception {
+		// When
+		List<SessionBatchReport> reports = concurrently(() -> {
+			StudySessionDTO dto = dto();
+			dto.setIdempotencyKey("retried-request");
+			return sessionBatchService.createAll(user, List.of(dto));
+		});
+
+		// Then
+		assertThat(reports).extracting(SessionBatchReport::created).containsOnly(0, 1).contains(1);
+		assertThat(reports.stream().mapToInt(SessionBatchReport::created).sum()).isEqualTo(1);
+		assertThat(studySessionRepository.countByUser(user)).isEqualTo(1);
+	}
+
+	private void saveConcurrently() throws Exception {
+		concurrently(() -> studySessionService.saveSession(user, subject, dto()));
+	}
+
+	private <T> List<T> concurrently(Callable<T> write) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<T>> writes = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				writes.add(executor.submit(() -> {
+					start.await();
+					return write.call();
+				}));
+			}
+			start.countDown();
+			List<T> results = new ArrayList<>();
+			for (Future<T> result : writes) {
+				results.add(result.get(30, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private StudySessionDTO dto() {
+		StudySessionDTO dto = new StudySessionDTO();
+		dto.setSubjectId(subject.getId());
+		dto.setDurationMinutes(25);
+		dto.setDate(day);
+		dto.setStartHour(10);
+		dto.setStartMinute(0);
+		return dto;
+	}
+}
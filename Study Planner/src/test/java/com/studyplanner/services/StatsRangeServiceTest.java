@@ -0,0 +1,121 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.RangeBucket;
+import com.studyplanner.dto.RangeStats;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsRangeServiceTest {
+
+	@Mock
+	private DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	private StatsRangeService statsRangeService;
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		statsRangeService = new StatsRangeService(dailyStudyTotalRepository, 10_000, Duration.ofMinutes(5));
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+	}
+
+	@Test
+	void range_ByMonth_ShouldClipEdgeBucketsAndLoadIndexOnce() {
+		// Given
+		when(dailyStudyTotalRepository.findMinutesByUserId(1L)).thenReturn(List.of(
+				new DailyMinutes(LocalDate.of(2025, 1, 10), 30L),
+				new DailyMinutes(LocalDate.of(2025, 1, 20), 40L),
+				new DailyMinutes(LocalDate.of(2025, 2, 14), 50L),
+				new DailyMinutes(LocalDate.of(2025, 3, 31), 60L)));
+
+		// When
+		RangeStats stats = statsRangeService.range(testUser, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 30),
+				RangeBucket.MONTH);
+		long total = statsRangeService.totalMinutes(testUser, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+		// Then
+		assertThat(stats.totalMinutes()).isEqualTo(90);
+		assertThat(stats.points()).containsExactly(
+				new RangeStats.Point(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 31), 40),
+				new RangeStats.Point(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), 50),
+				new RangeStats.Point(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 30), 0));
+		assertThat(total).isEqualTo(180);
+		verify(dailyStudyTotalRepository, times(1)).findMinutesByUserId(1L);
+	}
+
+	@Test
+	void range_ByWeek_ShouldStartOnMonday() {
+		// Given
+		when(dailyStudyTotalRepository.findMinutesByUserId(1L)).thenReturn(List.of(
+				new DailyMinutes(LocalDate.of(2025, 1, 5), 20L),
+				new DailyMinutes(LocalDate.of(2025, 1, 6), 25L)));
+
+		// When
+		RangeStats stats = statsRangeService.range(testUser, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 12),
+				RangeBucket.WEEK);
+
+		// Then
+		assertThat(stats.points()).extracting(RangeStats.Point::start)
+				.containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 6));
+		assertThat(stats.points()).extracting(RangeStats.Point::minutes).containsExactly(20L, 25L);
+	}
+
+	@Test
+	void onSessionActivity_ShouldRefreshOnlyTouchedDaysOfCachedIndex() {
+		// Given
+		LocalDate day = LocalDate.of(2025, 1, 10);
+		when(dailyStudyTotalRepository.findMinutesByUserId(1L)).thenReturn(List.of(new DailyMinutes(day, 30L)));
+		statsRangeService.totalMinutes(testUser, day, day);
+		when(dailyStudyTotalRepository.findMinutesByUserIdBetween(1L, day.plusDays(1), day.plusDays(1)))
+				.thenReturn(List.of(new DailyMinutes(day.plusDays(1), 45L)));
+
+		// When
+		statsRangeService.onSessionActivity(new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+				List.of(new SessionActivityEvent.Activity(day.plusDays(1), 45, 9, 0, 1L))));
+
+		// Then
+		assertThat(statsRangeService.totalMinutes(testUser, day, day.plusDays(1))).isEqualTo(75);
+		verify(dailyStudyTotalRepository, times(1)).findMinutesByUserId(1L);
+	}
+
+	@Test
+	void onSessionActivity_WithoutCachedIndex_ShouldNotQuery() {
+		// When
+		statsRangeService.onSessionActivity(new SessionActivityEvent(1L, SessionActivityEvent.Type.DELETED,
+				List.of(new SessionActivityEvent.Activity(LocalDate.of(2025, 1, 10), 45, 9, 0, 1L))));
+
+		// Then
+		verifyNoInteractions(dailyStudyTotalRepository);
+	}
+
+	@Test
+	void range_WithReversedDatesOrTooManyPoints_ShouldThrowException() {
+		// When/Then
+		assertThatThrownBy(() -> statsRangeService.range(testUser, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1),
+				RangeBucket.DAY))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> statsRangeService.range(testUser, LocalDate.of(2000, 1, 1), LocalDate.of(2025, 1, 1),
+				RangeBucket.DAY))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining(String.valueOf(StatsRangeService.MAX_POINTS));
+	}
+}
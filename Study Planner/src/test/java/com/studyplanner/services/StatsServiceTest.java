@@ -0,0 +1,126 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.utils.ActivityHeatmap;
+import com.studyplanner.utils.ProductivityAnalyzer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+	@Mock
+	private StudySessionRepository studySessionRepository;
+
+	@Mock
+	private DailyTotalsService dailyTotalsService;
+
+	@Mock
+	private WeeklyTotalsService weeklyTotalsService;
+
+	@Mock
+	private ActivityHeatmapService activityHeatmapService;
+
+	@Mock
+	private StudyStreakService studyStreakService;
+
+	@Mock
+	private ProductivityAnalyzer productivityAnalyzer;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private StatsService statsService;
+
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+	}
+
+	@Test
+	void getDailyTotals_ShouldFillMissingDaysWithZero() {
+		// Given
+		LocalDate today = LocalDate.now();
+		LocalDate start = today.minusDays(6);
+		when(dailyTotalsService.minutesBetween(testUser, start, today))
+				.thenReturn(List.of(new DailyMinutes(today.minusDays(2), 45L), new DailyMinutes(today, 30L)));
+
+		// When
+		Map<String, Integer> result = statsService.getDailyTotals(testUser, 7);
+
+		// Then
+		assertThat(result).hasSize(7);
+		assertThat(result.keySet()).first().isEqualTo(start.toString());
+		assertThat(result.get(today.minusDays(2).toString())).isEqualTo(45);
+		assertThat(result.get(today.toString())).isEqualTo(30);
+		assertThat(result.get(start.toString())).isZero();
+		verify(studySessionRepository, never()).findByUserAndDateBetween(any(), any(), any());
+	}
+
+	@Test
+	void getHourlyCounts_ShouldReturnAllHours() {
+		// Given
+		ActivityHeatmap heatmap = new ActivityHeatmap();
+		heatmap.add(ActivityHeatmap.cell(LocalDate.of(2025, 1, 6), 9, 0), 3);
+		heatmap.add(ActivityHeatmap.cell(LocalDate.of(2025, 1, 8), 9, 45), 1);
+		heatmap.add(ActivityHeatmap.cell(LocalDate.of(2025, 1, 12), 21, 30), 2);
+		when(activityHeatmapService.heatmap(testUser, null)).thenReturn(heatmap);
+
+		// When
+		Map<Integer, Long> result = statsService.getHourlyCounts(testUser);
+
+		// Then
+		assertThat(result).hasSize(24);
+		assertThat(result.get(9)).isEqualTo(4L);
+		assertThat(result.get(21)).isEqualTo(2L);
+		assertThat(result.get(0)).isZero();
+	}
+
+	@Test
+	void buildAiReport_ShouldTakeHourAndStreaksFromIndexes() {
+		// Given
+		when(studySessionRepository.findByUser(testUser)).thenReturn(List.of());
+		when(productivityAnalyzer.analyze(List.of())).thenReturn(ProductivityReport.builder()
+				.mostActiveHour(9)
+				.suggestions(List.of())
+				.build());
+		ActivityHeatmap heatmap = new ActivityHeatmap();
+		heatmap.add(ActivityHeatmap.cell(LocalDate.of(2025, 1, 6), 18, 15), 5);
+		heatmap.add(ActivityHeatmap.cell(LocalDate.of(2025, 1, 7), 9, 0), 2);
+		when(activityHeatmapService.heatmap(testUser, null)).thenReturn(heatmap);
+		when(studyStreakService.streaks(testUser)).thenReturn(new StreakStats(3, 12, LocalDate.now()));
+
+		// When
+		ProductivityReport report = statsService.buildAiReport(testUser);
+
+		// Then
+		assertThat(report.getMostActiveHour()).isEqualTo(18);
+		assertThat(report.getCurrentStreak()).isEqualTo(3);
+		assertThat(report.getLongestStreak()).isEqualTo(12);
+	}
+}
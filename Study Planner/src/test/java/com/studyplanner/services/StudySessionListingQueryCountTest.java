@@ -0,0 +1,120 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.CursorPage;
+import com.studyplanner.dto.SessionView;
+import com.studyplanner.models.StudySession;
+import com.studyplanner.models.Subject;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.StudySessionRepository;
+import com.studyplanner.repositories.SubjectRepository;
+import com.studyplanner.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class StudySessionListingQueryCountTest {
+
+	private static final int SESSION_COUNT = 1_000;
+	private static final int SUBJECT_COUNT = 25;
+
+	@Autowired
+	private StudySessionService studySessionService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private StudySessionRepository studySessionRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private User user;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(User.builder()
+				.username("query-count")
+				.email("query-count@example.com")
+				.password("secret")
+				.build());
+		List<Subject> subjects = new ArrayList<>();
+		for (int i = 0; i < SUBJECT_COUNT; i++) {
+			subjects.add(subjectRepository.save(Subject.builder().name("Matière " + i).user(user).build()));
+		}
+		List<StudySession> sessions = new ArrayList<>();
+		LocalDate origin = LocalDate.of(2024, 1, 1);
+		for (int i = 0; i < SESSION_COUNT; i++) {
+			sessions.add(StudySession.builder()
+					.user(user)
+					.subject(subjects.get(i % SUBJECT_COUNT))
+					.durationMinutes(30 + i % 60)
+					.date(origin.plusDays(i / 3))
+					.startHour(8 + i % 12)
+					.startMinute(0)
+					.build());
+		}
+		studySessionRepository.saveAll(sessions);
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findPage_ShouldUseOneStatementPerPage() {
+		// When
+		CursorPage<SessionView> page = studySessionService.findPage(user, null, StudySessionService.MAX_PAGE_SIZE);
+
+		// Then
+		assertThat(page.items()).hasSize(StudySessionService.MAX_PAGE_SIZE);
+		assertThat(page.items()).allSatisfy(view -> assertThat(view.subjectName()).startsWith("Matière"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void findPage_WalkingFullHistory_ShouldStayBounded() {
+		// When
+		List<SessionView> all = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			CursorPage<SessionView> page = studySessionService.findPage(user, cursor, StudySessionService.MAX_PAGE_SIZE);
+			all.addAll(page.items());
+			cursor = page.nextCursor();
+			pages++;
+		} while (cursor != null);
+
+		// Then
+		assertThat(all).hasSize(SESSION_COUNT);
+		assertThat(all).extracting(SessionView::id).doesNotHaveDuplicates();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+		assertThat(pages).isEqualTo(SESSION_COUNT / StudySessionService.MAX_PAGE_SIZE);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+}
@@ -1,5 +1,8 @@
 package com.studyplanner.services;
 
+import com.studyplanner.dto.CursorPage;
+import com.studyplanner.dto.SessionCursor;
+import com.studyplanner.dto.SessionView;
 import com.studyplanner.dto.StudySessionDTO;
 import com.studyplanner.models.StudySession;
 import com.studyplanner.models.Subject;
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -21,6 +26,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +35,18 @@ class StudySessionServiceTest {
 	@Mock
 	private StudySessionRepository studySessionRepository;
 
+	@Mock
+	private DailyTotalsService dailyTotalsService;
+
+	@Mock
+	private SessionWriteBehindService sessionWriteBehindService;
+
+	@Mock
+	private SessionBatchService sessionBatchService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
 	@InjectMocks
 	private StudySessionService studySessionService;
 
@@ -81,45 +99,108 @@ class StudySessionServiceTest {
 		assertThat(result.getSubject()).isEqualTo(testSubject);
 		assertThat(result.getDurationMinutes()).isEqualTo(60);
 		verify(studySessionRepository).save(any(StudySession.class));
+		verify(dailyTotalsService).recordSession(savedSession);
 	}
 
 	@Test
-	void findForUser_ShouldReturnSortedSessions() {
+	void saveSession_WithWriteBehind_ShouldJournalWithoutTouchingDatabase() {
 		// Given
-		LocalDate date1 = LocalDate.of(2025, 1, 15);
-		LocalDate date2 = LocalDate.of(2025, 1, 20);
-		LocalDate date3 = LocalDate.of(2025, 1, 10);
+		StudySessionDTO dto = new StudySessionDTO();
+		dto.setDurationMinutes(25);
+		dto.setDate(LocalDate.of(2025, 1, 15));
+		when(sessionWriteBehindService.append(any(StudySession.class))).thenReturn(true);
 
-		StudySession session1 = StudySession.builder()
-				.id(1L)
-				.user(testUser)
-				.subject(testSubject)
-				.date(date1)
-				.build();
-		StudySession session2 = StudySession.builder()
-				.id(2L)
-				.user(testUser)
-				.subject(testSubject)
-				.date(date2)
-				.build();
-		StudySession session3 = StudySession.builder()
-				.id(3L)
-				.user(testUser)
-				.subject(testSubject)
-				.date(date3)
-				.build();
+		// When
+		StudySession result = studySessionService.saveSession(testUser, testSubject, dto);
+
+		// Then
+		assertThat(result.getId()).isNull();
+		assertThat(result.getDurationMinutes()).isEqualTo(25);
+		verifyNoInteractions(studySessionRepository, dailyTotalsService, transactionManager);
+	}
+
+	@Test
+	void findPage_ShouldMergePendingSessionsBeforeSavedOnesOfSameDate() {
+		// Given
+		SessionView saved = view(3L, LocalDate.of(2025, 1, 20));
+		SessionView older = view(2L, LocalDate.of(2025, 1, 15));
+		SessionView pendingNewest = view(null, LocalDate.of(2025, 1, 21));
+		SessionView pendingSameDay = view(null, LocalDate.of(2025, 1, 20));
+		when(sessionWriteBehindService.pendingSessions(testUser)).thenReturn(List.of(
+				new SessionWriteBehindService.PendingSession(8L, pendingNewest),
+				new SessionWriteBehindService.PendingSession(7L, pendingSameDay)));
+		when(studySessionRepository.findLatest(testUser, Limit.of(3))).thenReturn(List.of(saved, older));
+		when(studySessionRepository.findOlderThan(testUser, LocalDate.of(2025, 1, 20), Long.MAX_VALUE, Limit.of(3)))
+				.thenReturn(List.of(saved, older));
+
+		// When
+		CursorPage<SessionView> first = studySessionService.findPage(testUser, null, 2);
+		CursorPage<SessionView> second = studySessionService.findPage(testUser, first.nextCursor(), 2);
+
+		// Then
+		assertThat(first.items()).containsExactly(pendingNewest, pendingSameDay);
+		assertThat(SessionCursor.decode(first.nextCursor())).isEqualTo(SessionCursor.pending(LocalDate.of(2025, 1, 20), 7L));
+		assertThat(second.items()).containsExactly(saved, older);
+		assertThat(second.hasMore()).isFalse();
+	}
 
-		when(studySessionRepository.findByUser(testUser))
-				.thenReturn(Arrays.asList(session1, session2, session3));
+	@Test
+	void findPage_WithoutCursor_ShouldReturnLatestPageAndCursor() {
+		// Given
+		SessionView newest = view(3L, LocalDate.of(2025, 1, 20));
+		SessionView middle = view(2L, LocalDate.of(2025, 1, 15));
+		SessionView oldest = view(1L, LocalDate.of(2025, 1, 10));
+
+		when(studySessionRepository.findLatest(eq(testUser), eq(Limit.of(3))))
+				.thenReturn(Arrays.asList(newest, middle, oldest));
+
+		// When
+		CursorPage<SessionView> result = studySessionService.findPage(testUser, null, 2);
+
+		// Then
+		assertThat(result.items()).containsExactly(newest, middle);
+		assertThat(result.hasMore()).isTrue();
+		assertThat(SessionCursor.decode(result.nextCursor()))
+				.isEqualTo(new SessionCursor(LocalDate.of(2025, 1, 15), 2L));
+		verify(studySessionRepository, never()).findByUser(any());
+	}
+
+	@Test
+	void findPage_WithCursor_ShouldSeekPastPosition() {
+		// Given
+		LocalDate date = LocalDate.of(2025, 1, 15);
+		String cursor = new SessionCursor(date, 2L).encode();
+		SessionView oldest = view(1L, LocalDate.of(2025, 1, 10));
+
+		when(studySessionRepository.findOlderThan(eq(testUser), eq(date), eq(2L), any(Limit.class)))
+				.thenReturn(Collections.singletonList(oldest));
+
+		// When
+		CursorPage<SessionView> result = studySessionService.findPage(testUser, cursor, 2);
+
+		// Then
+		assertThat(result.items()).containsExactly(oldest);
+		assertThat(result.hasMore()).isFalse();
+		assertThat(result.nextCursor()).isNull();
+	}
+
+	@Test
+	void findPage_ShouldCapPageSize() {
+		// Given
+		when(studySessionRepository.findLatest(eq(testUser), any(Limit.class))).thenReturn(List.of());
 
 		// When
-		List<StudySession> result = studySessionService.findForUser(testUser);
+		studySessionService.findPage(testUser, null, 10_000);
 
 		// Then
-		assertThat(result).hasSize(3);
-		assertThat(result.get(0).getDate()).isEqualTo(date2); // Most recent first
-		assertThat(result.get(1).getDate()).isEqualTo(date1);
-		assertThat(result.get(2).getDate()).isEqualTo(date3);
+		verify(studySessionRepository).findLatest(testUser, Limit.of(StudySessionService.MAX_PAGE_SIZE + 1));
+	}
+
+	@Test
+	void findPage_WithInvalidCursor_ShouldThrowException() {
+		assertThatThrownBy(() -> studySessionService.findPage(testUser, "not-a-cursor", 10))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Curseur");
 	}
 
 	@Test
@@ -181,6 +262,7 @@ class StudySessionServiceTest {
 				.id(sessionId)
 				.user(testUser)
 				.subject(testSubject)
+				.idempotencyKey("a")
 				.build();
 
 		when(studySessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
@@ -191,6 +273,22 @@ class StudySessionServiceTest {
 
 		// Then
 		verify(studySessionRepository).delete(session);
+		verify(dailyTotalsService).removeSession(session);
+		verify(sessionBatchService).forget(testUser, "a");
+	}
+
+	@Test
+	void countForUser_ShouldUseCountQuery() {
+		// Given
+		when(studySessionRepository.countByUser(testUser)).thenReturn(42L);
+
+		// When
+		long result = studySessionService.countForUser(testUser);
+
+		// Then
+		assertThat(result).isEqualTo(42L);
+		verify(sessionWriteBehindService).pendingCount(testUser);
+		verify(studySessionRepository, never()).findByUser(any());
 	}
 
 	@Test
@@ -216,4 +314,8 @@ class StudySessionServiceTest {
 		assertThat(result).hasSize(1);
 		verify(studySessionRepository).findByUserAndDateBetween(testUser, start, end);
 	}
+
+	private SessionView view(Long id, LocalDate date) {
+		return new SessionView(id, date, 10, 0, 45, testSubject.getId(), testSubject.getName());
+	}
 }
@@ -0,0 +1,222 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.dto.StreakStats;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.StudyStreak;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.DailyStudyTotalRepository;
+import com.studyplanner.repositories.StudyStreakRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudyStreakServiceTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 20);
+
+	@Mock
+	private StudyStreakRepository studyStreakRepository;
+
+	@Mock
+	private DailyStudyTotalRepository dailyStudyTotalRepository;
+
+	@InjectMocks
+	private StudyStreakService studyStreakService;
+
+	// Jours présents dans daily_study_totals, déjà à jour quand l'événement arrive.
+	private final TreeSet<LocalDate> activeDays = new TreeSet<>();
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+		// Chaque scénario ne lit qu'une partie du rollup : bouchons indulgents.
+		lenient().when(dailyStudyTotalRepository.findMinutesByUserId(1L))
+				.thenAnswer(invocation -> rows(activeDays));
+		lenient().when(dailyStudyTotalRepository.findMinutesByUserIdBetween(eq(1L), any(), any()))
+				.thenAnswer(invocation -> rows(activeDays.subSet(invocation.getArgument(1), true, invocation.getArgument(2), true)));
+		lenient().when(dailyStudyTotalRepository.findLastDateByUserId(1L))
+				.thenAnswer(invocation -> Optional.ofNullable(activeDays.isEmpty() ? null : activeDays.last()));
+	}
+
+	@Test
+	void onSessionActivity_NextDay_ShouldExtendStreakWithoutReadingRollup() {
+		// Given
+		StudyStreak streak = new StudyStreak(1L, 4, 4, day(-1).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+		activeDays.add(day(0));
+
+		// When
+		studyStreakService.onSessionActivity(created(day(0)));
+
+		// Then
+		assertThat(streak.getCurrentStreak()).isEqualTo(5);
+		assertThat(streak.getLongestStreak()).isEqualTo(5);
+		assertThat(streak.getLastActiveEpochDay()).isEqualTo(day(0).toEpochDay());
+		verifyNoInteractions(dailyStudyTotalRepository);
+	}
+
+	@Test
+	void onSessionActivity_PastDayFillingGap_ShouldMergeRuns() {
+		// Given
+		addRange(-9, -6);
+		addRange(-4, 0);
+		StudyStreak streak = new StudyStreak(1L, 5, 5, day(0).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+		activeDays.add(day(-5));
+
+		// When
+		studyStreakService.onSessionActivity(created(day(-5)));
+
+		// Then
+		assertThat(streak.getCurrentStreak()).isEqualTo(10);
+		assertThat(streak.getLongestStreak()).isEqualTo(10);
+	}
+
+	@Test
+	void onSessionActivity_MidStreakDeletion_ShouldSplitCurrentRun() {
+		// Given
+		addRange(-40, -31);
+		addRange(-6, 0);
+		StudyStreak streak = new StudyStreak(1L, 7, 10, day(0).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+		activeDays.remove(day(-3));
+
+		// When
+		studyStreakService.onSessionActivity(deleted(day(-3)));
+
+		// Then
+		assertThat(streak.getCurrentStreak()).isEqualTo(3);
+		assertThat(streak.getLongestStreak()).isEqualTo(10);
+		verify(dailyStudyTotalRepository, never()).findMinutesByUserId(any());
+	}
+
+	@Test
+	void onSessionActivity_CuttingLongestRun_ShouldRecomputeLongest() {
+		// Given
+		addRange(-40, -31);
+		addRange(-6, 0);
+		StudyStreak streak = new StudyStreak(1L, 7, 10, day(0).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+		activeDays.remove(day(-35));
+
+		// When
+		studyStreakService.onSessionActivity(deleted(day(-35)));
+
+		// Then
+		assertThat(streak.getCurrentStreak()).isEqualTo(7);
+		assertThat(streak.getLongestStreak()).isEqualTo(7);
+	}
+
+	@Test
+	void onSessionActivity_LastDayDeleted_ShouldFallBackToPreviousRun() {
+		// Given
+		addRange(-10, -8);
+		StudyStreak streak = new StudyStreak(1L, 1, 3, day(0).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+
+		// When
+		studyStreakService.onSessionActivity(deleted(day(0)));
+
+		// Then
+		assertThat(streak.getLastActiveEpochDay()).isEqualTo(day(-8).toEpochDay());
+		assertThat(streak.getCurrentStreak()).isEqualTo(3);
+		assertThat(streak.getLongestStreak()).isEqualTo(3);
+	}
+
+	@Test
+	void onSessionActivity_DayStillActive_ShouldKeepStreak() {
+		// Given
+		addRange(-2, 0);
+		StudyStreak streak = new StudyStreak(1L, 3, 3, day(0).toEpochDay());
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(streak));
+
+		// When
+		studyStreakService.onSessionActivity(deleted(day(-1)));
+
+		// Then
+		assertThat(streak.getCurrentStreak()).isEqualTo(3);
+		assertThat(streak.getLongestStreak()).isEqualTo(3);
+	}
+
+	@Test
+	void onSessionActivity_WithoutState_ShouldRebuildFromRollup() {
+		// Given
+		addRange(-20, -15);
+		addRange(-1, 0);
+		StudyStreak fresh = new StudyStreak(1L, 0, 0, null);
+		when(studyStreakRepository.lockByUserId(1L)).thenReturn(Optional.of(fresh));
+
+		// When
+		studyStreakService.onSessionActivity(created(day(0)));
+
+		// Then
+		InOrder inOrder = inOrder(studyStreakRepository);
+		inOrder.verify(studyStreakRepository).insertIfAbsent(1L);
+		inOrder.verify(studyStreakRepository).lockByUserId(1L);
+		assertThat(fresh.getCurrentStreak()).isEqualTo(2);
+		assertThat(fresh.getLongestStreak()).isEqualTo(6);
+		assertThat(fresh.getLastActiveEpochDay()).isEqualTo(day(0).toEpochDay());
+	}
+
+	@Test
+	void streaks_ShouldResetCurrentStreakAfterAMissedDay() {
+		// Given
+		when(studyStreakRepository.findById(1L))
+				.thenReturn(Optional.of(new StudyStreak(1L, 4, 9, day(-2).toEpochDay())));
+
+		// When
+		StreakStats stats = studyStreakService.streaks(testUser, TODAY);
+
+		// Then
+		assertThat(stats.currentStreak()).isZero();
+		assertThat(stats.longestStreak()).isEqualTo(9);
+		assertThat(stats.lastActiveDay()).isEqualTo(day(-2));
+	}
+
+	private void addRange(int from, int to) {
+		for (int offset = from; offset <= to; offset++) {
+			activeDays.add(day(offset));
+		}
+	}
+
+	private static LocalDate day(int offset) {
+		return TODAY.plusDays(offset);
+	}
+
+	private static List<DailyMinutes> rows(Collection<LocalDate> days) {
+		return days.stream()
+				.map(date -> new DailyMinutes(date, 30L))
+				.toList();
+	}
+
+	private static SessionActivityEvent created(LocalDate date) {
+		return new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+				List.of(new SessionActivityEvent.Activity(date, 30, 9, 0, 1L)));
+	}
+
+	private static SessionActivityEvent deleted(LocalDate date) {
+		return new SessionActivityEvent(1L, SessionActivityEvent.Type.DELETED,
+				List.of(new SessionActivityEvent.Activity(date, 30, 9, 0, 1L)));
+	}
+}
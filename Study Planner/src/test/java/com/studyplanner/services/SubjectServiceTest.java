@@ -107,6 +107,19 @@ class SubjectServiceTest {
 		verify(subjectRepository, times(2)).save(any(Subject.class));
 	}
 
+	@Test
+	void countForUser_ShouldUseCountQuery() {
+		// Given
+		when(subjectRepository.countByUser(testUser)).thenReturn(3L);
+
+		// When
+		long result = subjectService.countForUser(testUser);
+
+		// Then
+		assertThat(result).isEqualTo(3L);
+		verify(subjectRepository, never()).findByUser(any());
+	}
+
 	@Test
 	void getOwnedSubject_WithValidId_ShouldReturnSubject() {
 		// Given
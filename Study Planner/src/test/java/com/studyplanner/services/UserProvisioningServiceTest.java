@@ -0,0 +1,183 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.ProvisioningReport;
+import com.studyplanner.dto.ProvisioningReport.RowResult;
+import com.studyplanner.dto.ProvisioningReport.Status;
+import com.studyplanner.dto.SignupRequest;
+import com.studyplanner.dto.UserIdentity;
+import com.studyplanner.models.ERole;
+import com.studyplanner.models.Role;
+import com.studyplanner.models.User;
+import com.studyplanner.repositories.RoleRepository;
+import com.studyplanner.repositories.UserRepository;
+import com.studyplanner.security.PooledPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private RoleRepository roleRepository;
+
+	@Mock
+	private PooledPasswordEncoder passwordEncoder;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private Session session;
+
+	@Mock
+	private PlatformAnalyticsService platformAnalyticsService;
+
+	private UserProvisioningService userProvisioningService;
+	private final Role userRole = Role.builder().id(2L).name(ERole.USER).build();
+
+	@BeforeEach
+	void setUp() {
+		userProvisioningService = new UserProvisioningService(userRepository, roleRepository, passwordEncoder,
+				transactionManager, entityManager, Validation.buildDefaultValidatorFactory().getValidator(),
+				platformAnalyticsService);
+		ReflectionTestUtils.setField(userProvisioningService, "maxRows", 100);
+		ReflectionTestUtils.setField(userProvisioningService, "batchSize", 2);
+	}
+
+	@Test
+	void provision_ShouldReportEachRowAndCheckDuplicatesOnce() {
+		// Given
+		List<SignupRequest> requests = List.of(
+				request("alice", "alice@school.fr", "pw1"),
+				request("bob", "not-an-email", "pw2"),
+				request("ALICE", "alice2@school.fr", "pw3"),
+				request("carol", "carol@school.fr", "pw4"),
+				request("dave", "dave@school.fr", "pw5"),
+				request("erin", "erin@school.fr", "pw6"));
+		when(userRepository.findIdentities(anyList(), anyList()))
+				.thenReturn(List.of(new UserIdentity("Carol", "other@school.fr")));
+		when(roleRepository.findByName(ERole.USER)).thenReturn(Optional.of(userRole));
+		when(passwordEncoder.encodeAll(List.of("pw1", "pw5", "pw6"))).thenReturn(List.of("h1", "h5", "h6"));
+		when(entityManager.unwrap(Session.class)).thenReturn(session);
+		AtomicLong ids = new AtomicLong(100);
+		doAnswer(invocation -> {
+			invocation.<User>getArgument(0).setId(ids.incrementAndGet());
+			return null;
+		}).when(entityManager).persist(any(User.class));
+
+		// When
+		ProvisioningReport report = userProvisioningService.provision(requests);
+
+		// Then
+		assertThat(report.totalRows()).isEqualTo(6);
+		assertThat(report.created()).isEqualTo(3);
+		assertThat(report.failed()).isEqualTo(3);
+		assertThat(report.rows()).extracting(RowResult::status).containsExactly(
+				Status.CREATED, Status.INVALID, Status.DUPLICATE, Status.DUPLICATE, Status.CREATED, Status.CREATED);
+		assertThat(report.rows()).extracting(RowResult::userId).containsExactly(101L, null, null, null, 102L, 103L);
+		verify(userRepository, times(1)).findIdentities(anyList(), anyList());
+		verify(roleRepository, times(1)).findByName(ERole.USER);
+		verify(entityManager, times(2)).flush();
+		verify(platformAnalyticsService).usersRegistered(2);
+		verify(platformAnalyticsService).usersRegistered(1);
+	}
+
+	@Test
+	void provision_WhenChunkCollides_ShouldReportCollidingRowAndInsertTheOthers() {
+		// Given
+		List<SignupRequest> requests = List.of(
+				request("a", "a@school.fr", "p"),
+				request("b", "b@school.fr", "p"),
+				request("c", "c@school.fr", "p"));
+		when(roleRepository.findByName(ERole.USER)).thenReturn(Optional.of(userRole));
+		when(passwordEncoder.encodeAll(anyList())).thenReturn(List.of("h", "h", "h"));
+		when(entityManager.unwrap(Session.class)).thenReturn(session);
+		failPersistOf("b", new ConstraintViolationException("could not execute statement",
+				new SQLException("Duplicate entry 'b' for key 'uk_users_username'"), "uk_users_username"));
+
+		// When
+		ProvisioningReport report = userProvisioningService.provision(requests);
+
+		// Then
+		assertThat(report.rows()).extracting(RowResult::status)
+				.containsExactly(Status.CREATED, Status.DUPLICATE, Status.CREATED);
+		assertThat(report.rows().get(1).message()).doesNotContain("uk_users_username", "Duplicate entry");
+		verify(platformAnalyticsService, times(2)).usersRegistered(1);
+		verifyNoMoreInteractions(platformAnalyticsService);
+	}
+
+	@Test
+	void provision_WhenRowFailsForAnotherReason_ShouldNotExposeTheError() {
+		// Given
+		List<SignupRequest> requests = List.of(
+				request("a", "a@school.fr", "p"),
+				request("b", "b@school.fr", "p"));
+		when(roleRepository.findByName(ERole.USER)).thenReturn(Optional.of(userRole));
+		when(passwordEncoder.encodeAll(anyList())).thenReturn(List.of("h", "h"));
+		when(entityManager.unwrap(Session.class)).thenReturn(session);
+		failPersistOf("b", new IllegalStateException("insert into users (email, password, username) values (?, ?, ?)"));
+
+		// When
+		ProvisioningReport report = userProvisioningService.provision(requests);
+
+		// Then
+		assertThat(report.rows()).extracting(RowResult::status).containsExactly(Status.CREATED, Status.FAILED);
+		assertThat(report.rows().get(1).message()).isEqualTo("Échec de l'insertion du compte");
+		verify(platformAnalyticsService).usersRegistered(1);
+	}
+
+	@Test
+	void provision_WhenTooManyRows_ShouldThrow() {
+		// Given
+		ReflectionTestUtils.setField(userProvisioningService, "maxRows", 1);
+		List<SignupRequest> requests = List.of(request("a", "a@school.fr", "p"), request("b", "b@school.fr", "p"));
+
+		// When/Then
+		assertThatThrownBy(() -> userProvisioningService.provision(requests))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(userRepository, passwordEncoder);
+	}
+
+	private void failPersistOf(String username, RuntimeException failure) {
+		doAnswer(invocation -> {
+			if (invocation.<User>getArgument(0).getUsername().equals(username)) {
+				throw failure;
+			}
+			return null;
+		}).when(entityManager).persist(any(User.class));
+	}
+
+	private SignupRequest request(String username, String email, String password) {
+		SignupRequest request = new SignupRequest();
+		request.setUsername(username);
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
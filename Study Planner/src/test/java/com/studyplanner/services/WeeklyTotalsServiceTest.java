@@ -0,0 +1,108 @@
+package com.studyplanner.services;
+
+import com.studyplanner.dto.DailyMinutes;
+import com.studyplanner.events.SessionActivityEvent;
+import com.studyplanner.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklyTotalsServiceTest {
+
+	// Mercredi de la semaine ISO 2025-W02 (lundi 6 janvier).
+	private static final LocalDate TODAY = LocalDate.of(2025, 1, 8);
+	private static final LocalDate CURRENT_MONDAY = LocalDate.of(2025, 1, 6);
+
+	@Mock
+	private DailyTotalsService dailyTotalsService;
+
+	private WeeklyTotalsService weeklyTotalsService;
+	private User testUser;
+
+	@BeforeEach
+	void setUp() {
+		weeklyTotalsService = new WeeklyTotalsService(dailyTotalsService, 1_000, new SimpleMeterRegistry());
+		testUser = User.builder()
+				.id(1L)
+				.username("testuser")
+				.build();
+	}
+
+	@Test
+	void weeklyTotals_ShouldUseIsoWeeksInChronologicalOrder() {
+		// Given
+		when(dailyTotalsService.minutesBetween(testUser, LocalDate.of(2024, 12, 16), LocalDate.of(2025, 1, 5)))
+				.thenReturn(List.of(
+						new DailyMinutes(LocalDate.of(2024, 12, 22), 30L),
+						new DailyMinutes(LocalDate.of(2024, 12, 30), 45L),
+						new DailyMinutes(LocalDate.of(2025, 1, 5), 15L)));
+		when(dailyTotalsService.minutesBetween(testUser, CURRENT_MONDAY, TODAY))
+				.thenReturn(List.of(new DailyMinutes(TODAY, 20L)));
+
+		// When
+		Map<String, Integer> totals = weeklyTotalsService.weeklyTotals(testUser, 4, TODAY);
+
+		// Then
+		assertThat(totals).containsExactly(
+				Map.entry("2024-W51", 30),
+				Map.entry("2024-W52", 0),
+				Map.entry("2025-W01", 60),
+				Map.entry("2025-W02", 20));
+	}
+
+	@Test
+	void weeklyTotals_ShouldServeClosedWeeksFromCacheAndRecomputeCurrentWeek() {
+		// Given
+		when(dailyTotalsService.minutesBetween(testUser, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 5)))
+				.thenReturn(List.of(new DailyMinutes(LocalDate.of(2025, 1, 2), 45L)));
+		when(dailyTotalsService.minutesBetween(testUser, CURRENT_MONDAY, TODAY))
+				.thenReturn(List.of(new DailyMinutes(TODAY, 20L)))
+				.thenReturn(List.of(new DailyMinutes(TODAY, 50L)));
+
+		// When
+		weeklyTotalsService.weeklyTotals(testUser, 2, TODAY);
+		Map<String, Integer> totals = weeklyTotalsService.weeklyTotals(testUser, 2, TODAY);
+
+		// Then
+		assertThat(totals).containsExactly(Map.entry("2025-W01", 45), Map.entry("2025-W02", 50));
+		verify(dailyTotalsService, times(1)).minutesBetween(testUser, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 5));
+		verify(dailyTotalsService, times(2)).minutesBetween(testUser, CURRENT_MONDAY, TODAY);
+	}
+
+	@Test
+	void onSessionActivity_ShouldEvictOnlyTouchedClosedWeek() {
+		// Given
+		when(dailyTotalsService.minutesBetween(eq(testUser), any(), any())).thenReturn(List.of());
+		weeklyTotalsService.weeklyTotals(testUser, 3, TODAY);
+		clearInvocations(dailyTotalsService);
+
+		// When
+		weeklyTotalsService.onSessionActivity(new SessionActivityEvent(1L, SessionActivityEvent.Type.CREATED,
+				List.of(new SessionActivityEvent.Activity(LocalDate.of(2024, 12, 31), 45, 9, 0, 1L))));
+		weeklyTotalsService.weeklyTotals(testUser, 3, TODAY);
+
+		// Then
+		verify(dailyTotalsService).minutesBetween(testUser, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 5));
+		verify(dailyTotalsService).minutesBetween(testUser, CURRENT_MONDAY, TODAY);
+		verifyNoMoreInteractions(dailyTotalsService);
+	}
+
+	@Test
+	void isoWeekKey_ShouldFollowIsoWeekBasedYear() {
+		// When/Then
+		assertThat(WeeklyTotalsService.isoWeekKey(LocalDate.of(2024, 12, 30))).isEqualTo(202501);
+		assertThat(WeeklyTotalsService.isoWeekKey(LocalDate.of(2021, 1, 3))).isEqualTo(202053);
+		assertThat(WeeklyTotalsService.label(202501)).isEqualTo("2025-W01");
+	}
+}
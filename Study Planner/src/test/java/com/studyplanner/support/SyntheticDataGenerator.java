@@ -0,0 +1,187 @@
+package com.studyplanner.support;
+
+import com.studyplanner.models.DailyStudyTotal;
+import com.studyplanner.models.ERole;
+import com.studyplanner.utils.ActivityHeatmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Remplit users, subjects, study_sessions et les tables dérivées daily_study_totals et
+ * session_heatmap_cells par lots JDBC.
+ * Chaque utilisateur a son propre générateur dérivé de la graine : le même index produit
+ * toujours les mêmes données, quel que soit le nombre d'utilisateurs générés avant lui.
+ * Les identifiants utilisateur sont dérivés de l'index : la base doit être vide au départ.
+ */
+public class SyntheticDataGenerator {
+
+	public static final String PASSWORD = "password";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long seed;
+	private final int batchSize;
+	private final String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+	public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed, int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.seed = seed;
+		this.batchSize = batchSize;
+	}
+
+	public record Profile(int subjectsPerUser, int days, double studyDayRatio, int maxSessionsPerDay) {
+
+		/** Deux ans d'historique, environ un jour sur trois travaillé. */
+		public static Profile twoYears() {
+			return new Profile(6, 730, 0.35, 2);
+		}
+	}
+
+	public record Result(int users, long subjects, long sessions, long dailyTotals, long heatmapCells) {
+	}
+
+	public static String username(int userIndex) {
+		return "synthetic%06d".formatted(userIndex);
+	}
+
+	public static long userId(int userIndex) {
+		return userIndex + 1L;
+	}
+
+	/**
+	 * Génère les utilisateurs d'index [fromUser, toUser). Les séquences et colonnes d'identité
+	 * sont repositionnées après coup pour que les insertions JPA suivantes ne collisionnent pas.
+	 */
+	public Result generate(int fromUser, int toUser, Profile profile, LocalDate end) {
+		long roleId = userRoleId();
+		Batch users = new Batch("INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, ?)");
+		Batch userRoles = new Batch("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)");
+		Batch subjects = new Batch("INSERT INTO subjects (id, name, user_id) VALUES (?, ?, ?)");
+		Batch sessions = new Batch("INSERT INTO study_sessions (id, subject_id, user_id, duration_minutes, date, start_hour, start_minute)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?)");
+		Batch totals = new Batch("INSERT INTO daily_study_totals (user_id, date, minutes, session_count, hour_counts)"
+				+ " VALUES (?, ?, ?, ?, ?)");
+		Batch heatmapCells = new Batch("INSERT INTO session_heatmap_cells (user_id, subject_id, cell, sessions)"
+				+ " VALUES (?, ?, ?, ?)");
+
+		long subjectId = nextId("subjects");
+		long sessionId = nextId("study_sessions");
+		LocalDate start = end.minusDays(profile.days() - 1L);
+		for (int userIndex = fromUser; userIndex < toUser; userIndex++) {
+			Random random = new Random(seed * 1_000_003L + userIndex);
+			long userId = userId(userIndex);
+			String username = username(userIndex);
+			users.add(userId, username, username + "@example.com", passwordHash);
+			userRoles.add(userId, roleId);
+
+			long firstSubject = subjectId;
+			for (int s = 0; s < profile.subjectsPerUser(); s++) {
+				subjects.add(subjectId++, "Matière " + (s + 1), userId);
+			}
+			// Sessions par (matière, case), comme ActivityHeatmapService les compte.
+			Map<Long, int[]> cells = new TreeMap<>();
+
+			for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+				if (random.nextDouble() >= profile.studyDayRatio()) {
+					continue;
+				}
+				int count = 1 + random.nextInt(profile.maxSessionsPerDay());
+				int minutes = 0;
+				int[] hourCounts = new int[DailyStudyTotal.HOURS_PER_DAY];
+				for (int n = 0; n < count; n++) {
+					int duration = 15 + random.nextInt(166);
+					int hour = 7 + random.nextInt(16);
+					long subject = firstSubject + random.nextInt(profile.subjectsPerUser());
+					int minute = random.nextInt(4) * 15;
+					sessions.add(sessionId++, subject, userId, duration, Date.valueOf(date), hour, minute);
+					cells.computeIfAbsent(subject, key -> new int[ActivityHeatmap.CELLS])[ActivityHeatmap.cell(date, hour, minute)]++;
+					minutes += duration;
+					hourCounts[hour]++;
+				}
+				totals.add(userId, Date.valueOf(date), minutes, count, hourCounts(hourCounts));
+			}
+			for (Map.Entry<Long, int[]> subjectCells : cells.entrySet()) {
+				int[] counts = subjectCells.getValue();
+				for (int cell = 0; cell < counts.length; cell++) {
+					if (counts[cell] > 0) {
+						heatmapCells.add(userId, subjectCells.getKey(), cell, counts[cell]);
+					}
+				}
+			}
+			// Les clés étrangères imposent l'ordre : un utilisateur complet avant de vider les lots.
+			if (sessions.size() >= batchSize) {
+				flush(users, userRoles, subjects, sessions, totals, heatmapCells);
+			}
+		}
+		flush(users, userRoles, subjects, sessions, totals, heatmapCells);
+
+		jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH " + nextId("users"));
+		jdbcTemplate.execute("ALTER SEQUENCE study_sessions_seq RESTART WITH " + sessionId);
+		jdbcTemplate.execute("ALTER TABLE subjects ALTER COLUMN id RESTART WITH " + subjectId);
+		return new Result(toUser - fromUser, subjects.written, sessions.written, totals.written, heatmapCells.written);
+	}
+
+	private void flush(Batch... batches) {
+		for (Batch batch : batches) {
+			batch.flush();
+		}
+	}
+
+	private long userRoleId() {
+		List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM roles WHERE name = ?", Long.class, ERole.USER.name());
+		if (!ids.isEmpty()) {
+			return ids.get(0);
+		}
+		jdbcTemplate.update("INSERT INTO roles (name) VALUES (?)", ERole.USER.name());
+		return jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, ERole.USER.name());
+	}
+
+	private long nextId(String table) {
+		Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+		return max == null ? 1 : max + 1;
+	}
+
+	private static String hourCounts(int[] counts) {
+		StringJoiner joiner = new StringJoiner(",");
+		for (int count : counts) {
+			joiner.add(Integer.toString(count));
+		}
+		return joiner.toString();
+	}
+
+	private final class Batch {
+
+		private final String sql;
+		private final List<Object[]> rows = new ArrayList<>();
+		private long written;
+
+		private Batch(String sql) {
+			this.sql = sql;
+		}
+
+		private void add(Object... row) {
+			rows.add(row);
+		}
+
+		private int size() {
+			return rows.size();
+		}
+
+		private void flush() {
+			if (rows.isEmpty()) {
+				return;
+			}
+			jdbcTemplate.batchUpdate(sql, rows);
+			written += rows.size();
+			rows.clear();
+		}
+	}
+}
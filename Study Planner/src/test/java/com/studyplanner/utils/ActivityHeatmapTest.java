@@ -0,0 +1,57 @@
+package com.studyplanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityHeatmapTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+	private static final LocalDate SUNDAY = LocalDate.of(2025, 1, 12);
+
+	@Test
+	void cell_ShouldMapWeekdayAndQuarterHourAndRejectMissingHour() {
+		// When/Then
+		assertThat(ActivityHeatmap.cell(MONDAY, 0, null)).isZero();
+		assertThat(ActivityHeatmap.cell(MONDAY, 9, 44)).isEqualTo(9 * 4 + 2);
+		assertThat(ActivityHeatmap.cell(SUNDAY, 23, 59)).isEqualTo(ActivityHeatmap.CELLS - 1);
+		assertThat(ActivityHeatmap.cell(MONDAY, null, 30)).isEqualTo(-1);
+		assertThat(ActivityHeatmap.cell(MONDAY, 24, 0)).isEqualTo(-1);
+	}
+
+	@Test
+	void grid_ShouldMergeQuartersIntoHours() {
+		// Given
+		ActivityHeatmap heatmap = new ActivityHeatmap();
+		heatmap.add(ActivityHeatmap.cell(MONDAY, 9, 0), 2);
+		heatmap.add(ActivityHeatmap.cell(MONDAY, 9, 50), 1);
+		heatmap.add(ActivityHeatmap.cell(SUNDAY, 21, 15), 4);
+
+		// When
+		int[][] hours = heatmap.grid(1);
+		int[][] quarters = heatmap.grid(ActivityHeatmap.QUARTERS_PER_HOUR);
+
+		// Then
+		assertThat(hours).hasDimensions(7, 24);
+		assertThat(hours[0][9]).isEqualTo(3);
+		assertThat(hours[6][21]).isEqualTo(4);
+		assertThat(quarters).hasDimensions(7, 96);
+		assertThat(quarters[0][36]).isEqualTo(2);
+		assertThat(quarters[0][39]).isEqualTo(1);
+		assertThat(heatmap.hourTotals()[9]).isEqualTo(3);
+		assertThat(heatmap.mostActiveHour()).isEqualTo(21);
+		assertThat(heatmap.total()).isEqualTo(7);
+	}
+
+	@Test
+	void emptyHeatmap_ShouldReportHourZero() {
+		// Given
+		ActivityHeatmap heatmap = new ActivityHeatmap();
+
+		// When/Then
+		assertThat(heatmap.isEmpty()).isTrue();
+		assertThat(heatmap.mostActiveHour()).isZero();
+	}
+}
@@ -0,0 +1,118 @@
+package com.studyplanner.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppendOnlyJournalTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void recover_ShouldReturnSyncedEntriesAfterRestart() throws Exception {
+		// Given
+		AppendOnlyJournal journal = new AppendOnlyJournal(directory);
+		journal.recover(0);
+		journal.sync(journal.write("un"));
+		journal.sync(journal.write("deux"));
+		journal.close();
+
+		// When
+		AppendOnlyJournal reopened = new AppendOnlyJournal(directory);
+		List<AppendOnlyJournal.Entry> entries = reopened.recover(0);
+
+		// Then
+		assertThat(entries).containsExactly(new AppendOnlyJournal.Entry(1, "un"), new AppendOnlyJournal.Entry(2, "deux"));
+		assertThat(reopened.write("trois")).isEqualTo(3);
+	}
+
+	@Test
+	void recover_ShouldSkipCheckpointedEntriesAndTornTail() throws Exception {
+		// Given
+		AppendOnlyJournal journal = new AppendOnlyJournal(directory);
+		journal.recover(0);
+		journal.write("un");
+		journal.write("deux");
+		journal.close();
+		Files.write(directory.resolve("segment-1.log"), "3\tmatiè".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		// When
+		List<AppendOnlyJournal.Entry> entries = new AppendOnlyJournal(directory).recover(1);
+
+		// Then
+		assertThat(entries).containsExactly(new AppendOnlyJournal.Entry(2, "deux"));
+	}
+
+	@Test
+	void recover_ShouldContinueNumberingAfterCheckpointWhenJournalIsEmpty() throws Exception {
+		// When
+		AppendOnlyJournal journal = new AppendOnlyJournal(directory);
+		List<AppendOnlyJournal.Entry> entries = journal.recover(41);
+
+		// Then
+		assertThat(entries).isEmpty();
+		assertThat(journal.write("suivant")).isEqualTo(42);
+	}
+
+	@Test
+	void deleteClosedSegments_ShouldKeepOnlyEntriesWrittenAfterRoll() throws Exception {
+		// Given
+		AppendOnlyJournal journal = new AppendOnlyJournal(directory);
+		journal.recover(0);
+		journal.write("un");
+		assertThat(journal.roll()).isEqualTo(1);
+		journal.write("deux");
+
+		// When
+		journal.deleteClosedSegments();
+		journal.close();
+
+		// Then
+		assertThat(new AppendOnlyJournal(directory).recover(0)).containsExactly(new AppendOnlyJournal.Entry(2, "deux"));
+	}
+
+	@Test
+	void write_ShouldNumberConcurrentWritersWithoutGapsOrDuplicates() throws Exception {
+		// Given
+		AppendOnlyJournal journal = new AppendOnlyJournal(directory);
+		journal.recover(0);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		// When
+		List<Future<?>> writers = new ArrayList<>();
+		for (int writer = 0; writer < 8; writer++) {
+			writers.add(executor.submit(() -> {
+				for (int i = 0; i < 100; i++) {
+					journal.sync(journal.write("session"));
+				}
+				return null;
+			}));
+		}
+		for (Future<?> writer : writers) {
+			writer.get();
+		}
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+		journal.close();
+
+		// Then
+		assertThat(new AppendOnlyJournal(directory).recover(0))
+				.extracting(AppendOnlyJournal.Entry::sequence)
+				.containsExactlyElementsOf(LongStream.rangeClosed(1, 800).boxed().toList());
+	}
+}
@@ -0,0 +1,76 @@
+package com.studyplanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+	@Test
+	void estimate_ShouldStayCloseToDistinctCountAndIgnoreDuplicates() {
+		// Given
+		HyperLogLog counter = new HyperLogLog();
+
+		// When
+		for (long id = 1; id <= 10_000; id++) {
+			counter.add(id);
+			counter.add(id);
+		}
+
+		// Then
+		assertThat(counter.estimate()).isCloseTo(10_000L, within(500L));
+	}
+
+	@Test
+	void estimate_ShouldBeExactEnoughForSmallCardinalities() {
+		// Given
+		HyperLogLog counter = new HyperLogLog();
+
+		// When
+		for (long id = 1; id <= 20; id++) {
+			counter.add(id);
+		}
+
+		// Then
+		assertThat(new HyperLogLog().estimate()).isZero();
+		assertThat(counter.estimate()).isEqualTo(20);
+	}
+
+	@Test
+	void merge_ShouldEstimateUnionOfBothSets() {
+		// Given
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		for (long id = 1; id <= 3_000; id++) {
+			first.add(id);
+		}
+		for (long id = 2_001; id <= 5_000; id++) {
+			second.add(id);
+		}
+
+		// When
+		first.merge(second);
+
+		// Then
+		assertThat(first.estimate()).isCloseTo(5_000L, within(250L));
+	}
+
+	@Test
+	void fromBytes_ShouldRestoreSavedRegisters() {
+		// Given
+		HyperLogLog counter = new HyperLogLog();
+		for (long id = 1; id <= 1_000; id++) {
+			counter.add(id);
+		}
+
+		// When
+		HyperLogLog restored = HyperLogLog.fromBytes(counter.toBytes());
+
+		// Then
+		assertThat(restored.estimate()).isEqualTo(counter.estimate());
+		assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[16]))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,84 @@
+package com.studyplanner.utils;
+
+import com.studyplanner.dto.DailyMinutes;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixSumSeriesTest {
+
+	private static final LocalDate ORIGIN = LocalDate.of(2025, 1, 1);
+
+	@Test
+	void sum_ShouldAnswerAnyRangeIncludingOutsideTheSeries() {
+		// Given
+		PrefixSumSeries series = PrefixSumSeries.of(List.of(minutes(0, 30), minutes(2, 45), minutes(5, 60)));
+
+		// When/Then
+		assertThat(series.sum(day(0), day(5))).isEqualTo(135);
+		assertThat(series.sum(day(1), day(2))).isEqualTo(45);
+		assertThat(series.sum(day(3), day(4))).isZero();
+		assertThat(series.sum(day(-10), day(100))).isEqualTo(135);
+		assertThat(series.sum(day(6), day(100))).isZero();
+		assertThat(series.sum(day(5), day(0))).isZero();
+		assertThat(series.days()).isEqualTo(6);
+	}
+
+	@Test
+	void withRange_ShouldReplaceDaysAndExtendOnBothSides() {
+		// Given
+		PrefixSumSeries series = PrefixSumSeries.of(List.of(minutes(2, 45), minutes(5, 60)));
+
+		// When
+		PrefixSumSeries updated = series
+				.withRange(day(-3), day(-3), List.of(minutes(-3, 10)))
+				.withRange(day(5), day(5), List.of(minutes(5, 20)))
+				.withRange(day(9), day(9), List.of(minutes(9, 15)));
+
+		// Then
+		assertThat(updated.sum(day(-3), day(9))).isEqualTo(10 + 45 + 20 + 15);
+		assertThat(updated.sum(day(5), day(5))).isEqualTo(20);
+		assertThat(updated.days()).isEqualTo(13);
+		assertThat(series.sum(day(5), day(5))).isEqualTo(60);
+	}
+
+	@Test
+	void withRange_AppliedTwice_ShouldNotDoubleCount() {
+		// Given
+		PrefixSumSeries series = PrefixSumSeries.of(List.of(minutes(0, 30)));
+		List<DailyMinutes> fresh = List.of(minutes(0, 30), minutes(1, 40));
+
+		// When
+		PrefixSumSeries updated = series.withRange(day(0), day(1), fresh).withRange(day(0), day(1), fresh);
+
+		// Then
+		assertThat(updated.sum(day(0), day(1))).isEqualTo(70);
+	}
+
+	@Test
+	void withRange_RemovingAllDays_ShouldTrimToEmpty() {
+		// Given
+		PrefixSumSeries series = PrefixSumSeries.of(List.of(minutes(0, 30), minutes(4, 10)));
+
+		// When
+		PrefixSumSeries trimmed = series.withRange(day(4), day(4), List.of());
+		PrefixSumSeries empty = trimmed.withRange(day(0), day(0), List.of());
+
+		// Then
+		assertThat(trimmed.days()).isEqualTo(1);
+		assertThat(trimmed.sum(day(0), day(10))).isEqualTo(30);
+		assertThat(empty.days()).isZero();
+		assertThat(empty.sum(day(0), day(10))).isZero();
+	}
+
+	private static DailyMinutes minutes(int offset, long value) {
+		return new DailyMinutes(ORIGIN.plusDays(offset), value);
+	}
+
+	private static long day(int offset) {
+		return ORIGIN.plusDays(offset).toEpochDay();
+	}
+}
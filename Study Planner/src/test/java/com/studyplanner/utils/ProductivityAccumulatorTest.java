@@ -0,0 +1,170 @@
+package com.studyplanner.utils;
+
+import com.studyplanner.dto.ProductivityReport;
+import com.studyplanner.models.StudySession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductivityAccumulatorTest {
+
+	private ProductivityAnalyzer analyzer;
+
+	@BeforeEach
+	void setUp() {
+		analyzer = new ProductivityAnalyzer(new SimpleMeterRegistry());
+	}
+
+	@ParameterizedTest
+	@CsvSource({"1, 1", "7, 5", "42, 50", "2025, 2000", "99, 20000"})
+	void analyze_ShouldMatchLegacyImplementation(long seed, int size) {
+		// Given
+		List<StudySession> sessions = randomSessions(seed, size);
+
+		// When
+		ProductivityReport report = analyzer.analyze(sessions);
+
+		// Then
+		assertSameReport(report, sessions);
+	}
+
+	@ParameterizedTest
+	@CsvSource({"3, 1000, 4", "11, 5000, 7"})
+	void combine_ShouldMatchSinglePassResult(long seed, int size, int chunks) {
+		// Given
+		List<StudySession> sessions = randomSessions(seed, size);
+		ProductivityAccumulator merged = new ProductivityAccumulator();
+		int chunkSize = (size + chunks - 1) / chunks;
+
+		// When
+		for (int from = 0; from < size; from += chunkSize) {
+			ProductivityAccumulator partial = new ProductivityAccumulator();
+			sessions.subList(from, Math.min(size, from + chunkSize)).forEach(partial::accept);
+			merged.combine(partial);
+		}
+		ProductivityAccumulator parallel = sessions.parallelStream()
+				.collect(ProductivityAccumulator.collector());
+
+		// Then
+		assertSameReport(analyzer.report(merged), sessions);
+		assertSameReport(analyzer.report(parallel), sessions);
+		assertThat(merged.getSessionCount()).isEqualTo(size);
+		assertThat(parallel.getHourHistogram()).isEqualTo(merged.getHourHistogram());
+	}
+
+	private void assertSameReport(ProductivityReport report, List<StudySession> sessions) {
+		ProductivityReport legacy = legacyAnalyze(sessions);
+		assertThat(report.getConsistencyScore()).isEqualTo(legacy.getConsistencyScore());
+		assertThat(report.getProductivityScore()).isEqualTo(legacy.getProductivityScore());
+		assertThat(report.getSuggestions()).isEqualTo(legacy.getSuggestions());
+		// L'ancienne implémentation départageait les ex aequo selon l'ordre d'un HashMap.
+		assertThat(tiedMostActiveHours(sessions)).contains(report.getMostActiveHour());
+		assertThat(tiedMostActiveHours(sessions)).contains(legacy.getMostActiveHour());
+	}
+
+	private Set<Integer> tiedMostActiveHours(List<StudySession> sessions) {
+		Map<Integer, Long> counts = sessions.stream()
+				.filter(session -> session.getStartHour() != null)
+				.collect(Collectors.groupingBy(StudySession::getStartHour, Collectors.counting()));
+		if (counts.isEmpty()) {
+			return Set.of(0);
+		}
+		long max = counts.values().stream().mapToLong(Long::longValue).max().orElse(0);
+		return counts.entrySet().stream()
+				.filter(entry -> entry.getValue() == max)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet());
+	}
+
+	private List<StudySession> randomSessions(long seed, int size) {
+		Random random = new Random(seed);
+		LocalDate origin = LocalDate.of(2025, 1, 1);
+		List<StudySession> sessions = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			sessions.add(StudySession.builder()
+					.durationMinutes(5 + random.nextInt(176))
+					.date(origin.plusDays(random.nextInt(Math.max(1, size / 3))))
+					.startHour(random.nextInt(10) == 0 ? null : random.nextInt(24))
+					.startMinute(random.nextInt(60))
+					.build());
+		}
+		return sessions;
+	}
+
+	/**
+	 * Copie de l'implémentation multi-passes d'origine, conservée comme référence.
+	 */
+	private ProductivityReport legacyAnalyze(List<StudySession> sessions) {
+		IntSummaryStatistics stats = sessions.stream()
+				.collect(Collectors.summarizingInt(StudySession::getDurationMinutes));
+
+		double averagePerSession = stats.getAverage();
+
+		Map<LocalDate, List<StudySession>> sessionsByDay = sessions.stream()
+				.collect(Collectors.groupingBy(StudySession::getDate));
+
+		double dailyAverage = sessionsByDay.values().stream()
+				.mapToInt(list -> list.stream().mapToInt(StudySession::getDurationMinutes).sum())
+				.average()
+				.orElse(0);
+
+		double variance = sessionsByDay.values().stream()
+				.mapToDouble(list -> {
+					int sum = list.stream().mapToInt(StudySession::getDurationMinutes).sum();
+					double diff = sum - dailyAverage;
+					return diff * diff;
+				})
+				.average()
+				.orElse(0);
+
+		double stdDeviation = Math.sqrt(variance);
+		double consistencyScore = 10 - Math.min(10, stdDeviation / (dailyAverage == 0 ? 1 : dailyAverage) * 10);
+		double productivityScore = Math.min(10, averagePerSession / 30 * 10);
+
+		int mostActiveHour = sessions.stream()
+				.filter(session -> session.getStartHour() != null)
+				.collect(Collectors.groupingBy(StudySession::getStartHour, Collectors.counting()))
+				.entrySet()
+				.stream()
+				.max(Map.Entry.comparingByValue())
+				.map(Map.Entry::getKey)
+				.orElse(0);
+
+		List<String> suggestions = new ArrayList<>();
+		long sessionsAfter21 = sessions.stream()
+				.filter(session -> session.getStartHour() != null && session.getStartHour() >= 21)
+				.count();
+
+		if (((double) sessionsAfter21 / sessions.size()) > 0.7) {
+			suggestions.add("Vous étudiez majoritairement après 21h : pensez à préserver votre sommeil.");
+		}
+		if (consistencyScore < 5) {
+			suggestions.add("Vos sessions manquent de régularité : fixez un créneau quotidien.");
+		}
+		if (productivityScore < 6) {
+			suggestions.add("Augmentez progressivement la durée de vos sessions pour plus d'efficacité.");
+		}
+		if (suggestions.isEmpty()) {
+			suggestions.add("Excellent rythme ! Continuez à suivre vos progrès.");
+		}
+
+		return ProductivityReport.builder()
+				.consistencyScore(Math.round(consistencyScore * 10.0) / 10.0)
+				.productivityScore(Math.round(productivityScore * 10.0) / 10.0)
+				.mostActiveHour(mostActiveHour)
+				.suggestions(suggestions)
+				.build();
+	}
+}
@@ -4,6 +4,7 @@ import com.studyplanner.dto.ProductivityReport;
 import com.studyplanner.models.StudySession;
 import com.studyplanner.models.Subject;
 import com.studyplanner.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -16,13 +17,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class ProductivityAnalyzerTest {
 
+	private SimpleMeterRegistry meterRegistry;
 	private ProductivityAnalyzer analyzer;
 	private User testUser;
 	private Subject testSubject;
 
 	@BeforeEach
 	void setUp() {
-		analyzer = new ProductivityAnalyzer();
+		meterRegistry = new SimpleMeterRegistry();
+		analyzer = new ProductivityAnalyzer(meterRegistry);
 		testUser = User.builder()
 				.id(1L)
 				.username("testuser")
@@ -131,4 +134,28 @@ class ProductivityAnalyzerTest {
 		assertThat(report.getSuggestions())
 				.anyMatch(s -> s.contains("régularité") || s.contains("régulier"));
 	}
+
+	@Test
+	void analyze_ShouldRecordTimerTaggedBySizeBucketAndInputSize() {
+		// Given
+		List<StudySession> sessions = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			sessions.add(StudySession.builder()
+					.user(testUser)
+					.subject(testSubject)
+					.durationMinutes(30)
+					.date(LocalDate.of(2025, 1, 1).plusDays(i))
+					.startHour(9)
+					.build());
+		}
+
+		// When
+		analyzer.analyze(sessions);
+		analyzer.analyze(Collections.emptyList());
+
+		// Then
+		assertThat(meterRegistry.get("productivity.analyzer").tag("size", "11-100").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("productivity.analyzer").tag("size", "0").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("productivity.analyzer.input.size").summary().max()).isEqualTo(12);
+	}
 }
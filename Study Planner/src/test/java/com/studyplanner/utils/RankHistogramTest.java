@@ -0,0 +1,57 @@
+package com.studyplanner.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankHistogramTest {
+
+	@Test
+	void countBelow_ShouldCountStrictlySmallerValues() {
+		// Given
+		RankHistogram histogram = new RankHistogram(100);
+		histogram.add(0, 3);
+		histogram.add(10);
+		histogram.add(10);
+		histogram.add(55);
+		histogram.add(100);
+
+		// When/Then
+		assertThat(histogram.total()).isEqualTo(7);
+		assertThat(histogram.countBelow(0)).isZero();
+		assertThat(histogram.countBelow(10)).isEqualTo(3);
+		assertThat(histogram.countBelow(11)).isEqualTo(5);
+		assertThat(histogram.countBelow(100)).isEqualTo(6);
+		assertThat(histogram.percentileOf(56)).isEqualTo(100.0 * 6 / 7);
+	}
+
+	@Test
+	void remove_ShouldUndoAdd() {
+		// Given
+		RankHistogram histogram = new RankHistogram(10);
+		histogram.add(3);
+		histogram.add(7);
+
+		// When
+		histogram.remove(3);
+
+		// Then
+		assertThat(histogram.total()).isEqualTo(1);
+		assertThat(histogram.countBelow(8)).isEqualTo(1);
+		assertThat(histogram.countBelow(7)).isZero();
+	}
+
+	@Test
+	void valuesOutOfRange_ShouldBeClampedOnBothSides() {
+		// Given
+		RankHistogram histogram = new RankHistogram(10);
+		histogram.add(-5);
+		histogram.add(50);
+
+		// When/Then
+		assertThat(histogram.countBelow(1)).isEqualTo(1);
+		assertThat(histogram.countBelow(10)).isEqualTo(1);
+		assertThat(histogram.countBelow(1_000)).isEqualTo(1);
+		assertThat(new RankHistogram(10).percentileOf(5)).isZero();
+	}
+}